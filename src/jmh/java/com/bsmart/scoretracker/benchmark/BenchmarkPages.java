@@ -0,0 +1,112 @@
+package com.bsmart.scoretracker.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Full-size provider pages for the parsing benchmarks.
+ *
+ * A captured page is used when its path is given (-Dbench.livescore.page=..., -Dbench.onefootball.page=...).
+ * Otherwise a page of the requested size is generated with the layout of the real ones: a large
+ * head (inline CSS), the server-rendered markup the Jsoup providers select, and a __NEXT_DATA__
+ * script whose match fields come first, followed by a commentary feed that makes up most of
+ * its weight.
+ */
+final class BenchmarkPages {
+
+    private BenchmarkPages() {
+    }
+
+    static String liveScore(int bytes) {
+        String captured = captured("bench.livescore.page");
+        if (captured != null) {
+            return captured;
+        }
+        String event = "\"event\":{\"id\":\"1234567\",\"homeTeamName\":\"Mali\",\"awayTeamName\":\"Tunisia\","
+            + "\"homeTeamScore\":\"2\",\"awayTeamScore\":\"1\",\"penaltyHomeScore\":\"4\",\"penaltyAwayScore\":\"3\","
+            + "\"eventStatus\":\"LIVE\",\"status\":\"Pen\",\"stageName\":\"Africa Cup of Nations\"}";
+        String markup = "<div id=\"score-or-time\">2 - 1</div><div id=\"SEV__status\">Pen</div>";
+        return page("Mali vs Tunisia", markup, "{\"props\":{\"pageProps\":{\"initialEventData\":{" + event + ","
+            + filler("incident", bytes / 2) + "}}}}", bytes);
+    }
+
+    static String oneFootball(int bytes) {
+        String captured = captured("bench.onefootball.page");
+        if (captured != null) {
+            return captured;
+        }
+        String match = "\"matchScore\":{\"homeTeam\":{\"name\":\"Mali\",\"score\":\"1\"},"
+            + "\"awayTeam\":{\"name\":\"Zambia\",\"score\":\"0\"},\"timePeriod\":\"67'\",\"liveBadge\":\"LIVE\"}";
+        String markup = "<div class=\"matchHeader__status\">67'</div><div class=\"matchHeader__status\">Live</div>"
+            + "<span class=\"title-2-bold MatchScore_numeric__ke8YT\">1 : 0</span>"
+            + "<span data-testid=\"home-score\">1</span><span data-testid=\"away-score\">0</span>";
+        return page("Mali vs Zambia", markup, "{\"props\":{\"pageProps\":{\"containers\":[{" + match + ","
+            + filler("entry", bytes / 2) + "}]}}}", bytes);
+    }
+
+    /**
+     * HTML page of about {@code bytes}: a quarter head, a quarter markup, half __NEXT_DATA__
+     */
+    private static String page(String title, String markup, String nextData, int bytes) {
+        Random random = new Random(42);
+        StringBuilder html = new StringBuilder(bytes + 4096);
+        html.append("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\"><title>")
+            .append(title).append("</title><style>");
+        int headBytes = bytes / 4;
+        while (html.length() < headBytes) {
+            html.append(".c").append(random.nextInt(100000))
+                .append("{display:flex;margin:").append(random.nextInt(32)).append("px;color:#")
+                .append(Integer.toHexString(random.nextInt(0xffffff))).append("}");
+        }
+        html.append("</style></head><body><div id=\"__next\">");
+
+        int bodyBytes = bytes - nextData.length();
+        while (html.length() < bodyBytes) {
+            html.append("<div class=\"row r").append(random.nextInt(1000)).append("\"><span class=\"t\">")
+                .append("Team ").append(random.nextInt(500)).append("</span><a href=\"/match/")
+                .append(random.nextInt(9999999)).append("\">").append(random.nextInt(5)).append(" - ")
+                .append(random.nextInt(5)).append("</a></div>");
+        }
+        html.append(markup).append("</div>")
+            .append("<script id=\"__NEXT_DATA__\" type=\"application/json\">").append(nextData).append("</script>")
+            .append("</body></html>");
+        return html.toString();
+    }
+
+    /**
+     * Array of commentary-like objects: the bulk of a real payload, none of the extracted fields
+     */
+    private static String filler(String name, int bytes) {
+        Random random = new Random(7);
+        StringBuilder json = new StringBuilder(bytes + 256).append('"').append(name).append("s\":[");
+        int i = 0;
+        while (json.length() < bytes) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i++)
+                .append(",\"time\":\"").append(random.nextInt(90)).append("'\"")
+                .append(",\"type\":\"").append(random.nextBoolean() ? "SHOT" : "PASS").append('"')
+                .append(",\"player\":{\"name\":\"Player ").append(random.nextInt(30))
+                .append("\",\"number\":").append(random.nextInt(99)).append('}')
+                .append(",\"text\":\"Lorem ipsum dolor sit amet, consectetur adipiscing elit ")
+                .append(random.nextInt()).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String captured(String property) {
+        String path = System.getProperty(property);
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.readString(Path.of(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read captured page " + path, e);
+        }
+    }
+}
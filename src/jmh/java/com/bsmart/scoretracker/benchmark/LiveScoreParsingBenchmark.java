@@ -0,0 +1,93 @@
+package com.bsmart.scoretracker.benchmark;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.scraper.parsing.NextDataExtractor;
+import com.bsmart.scoretracker.scraper.providers.LiveScoreScraperProvider;
+import com.bsmart.scoretracker.scraper.providers.jsoup.LiveScoreJsoupProvider;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LiveScore page parsing: throughput and latency per page, allocation with -prof gc.
+ *
+ * regexPerField is the extraction the Selenium provider used before NextDataExtractor,
+ * kept as the baseline.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LiveScoreParsingBenchmark {
+
+    private static final List<String> FIELDS = List.of("status", "eventStatus", "homeTeamScore", "awayTeamScore",
+        "penaltyHomeScore", "penaltyAwayScore");
+    private static final Set<String> FIELD_SET = Set.copyOf(FIELDS);
+
+    @Param({"300000", "2000000"})
+    private int pageBytes;
+
+    private String page;
+    private LiveScoreJsoupProvider jsoupProvider;
+    private MethodHandle seleniumExtractSnapshot;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        page = BenchmarkPages.liveScore(pageBytes);
+        // Only parse() is measured: no fetcher needed
+        jsoupProvider = new LiveScoreJsoupProvider(null, new SimpleMeterRegistry());
+
+        LiveScoreScraperProvider seleniumProvider = new LiveScoreScraperProvider(() -> null,
+            new PayloadCapture("next-data", List.of()), new SimpleMeterRegistry());
+        seleniumExtractSnapshot = MethodHandles.privateLookupIn(LiveScoreScraperProvider.class, MethodHandles.lookup())
+            .findVirtual(LiveScoreScraperProvider.class, "extractSnapshot",
+                MethodType.methodType(MatchSnapshot.class, String.class))
+            .bindTo(seleniumProvider);
+    }
+
+    @Benchmark
+    public void regexPerField(Blackhole blackhole) {
+        for (String field : FIELDS) {
+            Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*\"([^\"]+)\"").matcher(page);
+            blackhole.consume(matcher.find() ? matcher.group(1) : null);
+        }
+    }
+
+    @Benchmark
+    public NextDataExtractor.NextData nextDataExtractor() {
+        return NextDataExtractor.extract(page, FIELD_SET);
+    }
+
+    @Benchmark
+    public MatchSnapshot seleniumProvider() throws Throwable {
+        return (MatchSnapshot) seleniumExtractSnapshot.invokeExact(page);
+    }
+
+    @Benchmark
+    public MatchSnapshot jsoupProvider() {
+        return jsoupProvider.parse(Jsoup.parse(page));
+    }
+}
@@ -0,0 +1,78 @@
+package com.bsmart.scoretracker.benchmark;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.scraper.parsing.NextDataExtractor;
+import com.bsmart.scoretracker.scraper.providers.jsoup.OneFootballJsoupProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OneFootball page parsing: throughput and latency per page, allocation with -prof gc.
+ *
+ * The Selenium provider reads scores from the live DOM, so only its JSON part (timePeriod and
+ * status indicators) is measured; regexPerField is that part as it was before NextDataExtractor.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OneFootballParsingBenchmark {
+
+    private static final Set<String> FIELDS = Set.of("timePeriod", "status", "liveBadge", "matchScore");
+    private static final List<String> STATUS_MARKERS = List.of("\"matchScore\"", "\"liveBadge\":\"LIVE\"",
+        "\"liveBadge\":\"En direct\"", "\"status\":\"LIVE\"", "\"status\":\"IN_PLAY\"", "\"status\":\"PAUSED\"",
+        "\"status\":\"HT\"", "\"timePeriod\":\"HT\"", "\"status\":\"FINISHED\"", "\"status\":\"FULL_TIME\"",
+        "\"status\":\"FT\"", "\"timePeriod\":\"FT\"", "\"status\":\"SCHEDULED\"", "\"status\":\"PREMATCH\"");
+
+    @Param({"300000", "2000000"})
+    private int pageBytes;
+
+    private String page;
+    private OneFootballJsoupProvider jsoupProvider;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkPages.oneFootball(pageBytes);
+        // Only parse() is measured: no fetcher needed
+        jsoupProvider = new OneFootballJsoupProvider(null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void regexPerField(Blackhole blackhole) {
+        Matcher matcher = Pattern.compile("\"timePeriod\"\\s*:\\s*\"([^\"]+)\"").matcher(page);
+        blackhole.consume(matcher.find() ? matcher.group(1) : null);
+        for (String marker : STATUS_MARKERS) {
+            blackhole.consume(page.contains(marker));
+        }
+    }
+
+    @Benchmark
+    public NextDataExtractor.NextData nextDataExtractor() {
+        return NextDataExtractor.extract(page, FIELDS);
+    }
+
+    @Benchmark
+    public MatchSnapshot jsoupProvider() {
+        return jsoupProvider.parse(Jsoup.parse(page));
+    }
+}
@@ -0,0 +1,98 @@
+package com.bsmart.scoretracker.benchmark;
+
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status classification on every poll, run with -prof gc: the classifier must show a
+ * gc.alloc.rate.norm of ~0 B/op once its memo is warm.
+ *
+ * legacyCascade is the upper-case + contains/regex cascade TrackingEngineServiceImpl ran before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusClassifierBenchmark {
+
+    // What the providers actually emit, scraped text included
+    private static final String[] STATUSES = {"LIVE", "HT", "FT", "SCHEDULED", "67'", "Half Time", "Pen", "AET"};
+
+    @Param({"LIVE_SCORE", "ONE_FOOTBALL"})
+    private ProviderType provider;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (String status : STATUSES) {
+            MatchStatusClassifier.classify(status, provider);
+        }
+    }
+
+    @Benchmark
+    public MatchStatus classifier() {
+        return MatchStatusClassifier.classify(nextStatus(), provider);
+    }
+
+    @Benchmark
+    public MatchStatus legacyCascade() {
+        String status = nextStatus().toUpperCase().trim();
+        if (provider == ProviderType.ONE_FOOTBALL) {
+            if (status.contains("FT") || status.contains("FINISHED") ||
+                status.contains("FULL TIME") || status.contains("FULLTIME")) {
+                return MatchStatus.FINISHED;
+            }
+            if (status.contains("HT") || status.contains("HALF TIME") || status.contains("HALFTIME")) {
+                return MatchStatus.PAUSED;
+            }
+            if (status.contains("LIVE") || status.contains("'") || status.matches(".*\\d+.*")) {
+                return MatchStatus.IN_PLAY;
+            }
+            return MatchStatus.SCHEDULED;
+        }
+        if (status.contains("HALFTIME") || status.contains("HALF TIME") || status.contains("HT")) {
+            return MatchStatus.PAUSED;
+        }
+        if (status.contains("AET") || status.contains("AFTER EXTRA TIME")) {
+            return MatchStatus.FINISHED;
+        }
+        if (status.contains("AP") || status.contains("AFTER PENALTIES")) {
+            return MatchStatus.FINISHED;
+        }
+        if (status.contains("EXTRA TIME") || status.matches(".*\\bET\\b.*")) {
+            return MatchStatus.IN_PLAY;
+        }
+        if (status.contains("PEN") || status.contains("PENALTIES")) {
+            return MatchStatus.IN_PLAY;
+        }
+        if (status.contains("FT") || status.contains("FINISHED") || status.contains("FULL TIME")) {
+            return MatchStatus.FINISHED;
+        }
+        if (status.contains("LIVE") || status.matches(".*\\d+'.*")) {
+            return MatchStatus.IN_PLAY;
+        }
+        return MatchStatus.SCHEDULED;
+    }
+
+    private String nextStatus() {
+        next = (next + 1) & 7;
+        return STATUSES[next];
+    }
+}
@@ -0,0 +1,52 @@
+package com.bsmart.scoretracker.config;
+
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.LiveUpdateSource;
+import com.bsmart.scoretracker.scraper.push.JsonSnapshotFrameParser;
+import com.bsmart.scoretracker.scraper.push.SseLiveUpdateSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class LiveUpdateConfig {
+
+    /**
+     * Flux de mises à jour en direct (Server-Sent Events), un par provider
+     * tracking.push.live-score.stream-url   : URL du flux LiveScore, {url} = URL du match encodée (vide = désactivé)
+     * tracking.push.one-football.stream-url : idem pour OneFootball
+     * tracking.push.reconnect-delay         : délai avant reconnexion après une coupure (ms)
+     * tracking.push.idle-timeout            : un flux muet (même sans heartbeat) depuis ce délai est reconnecté (ms)
+     */
+    @Bean
+    @ConditionalOnExpression("!'${tracking.push.live-score.stream-url:}'.isEmpty()")
+    public LiveUpdateSource liveScoreLiveUpdates(ObjectMapper objectMapper,
+                                                 @Value("${tracking.push.live-score.stream-url}") String streamUrl,
+                                                 @Value("${tracking.push.reconnect-delay:5000}") long reconnectDelayMs,
+                                                 @Value("${tracking.push.idle-timeout:60000}") long idleTimeoutMs) {
+        return sseSource(ProviderType.LIVE_SCORE, streamUrl, objectMapper, reconnectDelayMs, idleTimeoutMs);
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${tracking.push.one-football.stream-url:}'.isEmpty()")
+    public LiveUpdateSource oneFootballLiveUpdates(ObjectMapper objectMapper,
+                                                   @Value("${tracking.push.one-football.stream-url}") String streamUrl,
+                                                   @Value("${tracking.push.reconnect-delay:5000}") long reconnectDelayMs,
+                                                   @Value("${tracking.push.idle-timeout:60000}") long idleTimeoutMs) {
+        return sseSource(ProviderType.ONE_FOOTBALL, streamUrl, objectMapper, reconnectDelayMs, idleTimeoutMs);
+    }
+
+    private static LiveUpdateSource sseSource(ProviderType provider, String streamUrl,
+                                              ObjectMapper objectMapper, long reconnectDelayMs, long idleTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        return new SseLiveUpdateSource(provider, httpClient, streamUrl,
+            new JsonSnapshotFrameParser(objectMapper), Duration.ofMillis(reconnectDelayMs), Duration.ofMillis(idleTimeoutMs));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bsmart.scoretracker.config;
+
+import com.bsmart.scoretracker.scraper.http.PageFetcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("jsoup")
+public class PageFetchConfig {
+
+    /**
+     * Client HTTP partagé des providers Jsoup (HTTP/2, connexions réutilisées, réponses compressées)
+     * scraper.http.connect-timeout : délai d'établissement d'une connexion (ms)
+     * scraper.http.request-timeout : délai maximum d'une requête, corps compris (ms)
+     * scraper.http.threads         : threads traitant les réponses de toutes les requêtes en cours
+     * scraper.http.user-agent      : User-Agent envoyé aux sites
+     */
+    @Bean
+    public PageFetcher pageFetcher(MeterRegistry meterRegistry,
+                                   @Value("${scraper.http.connect-timeout:5000}") long connectTimeoutMs,
+                                   @Value("${scraper.http.request-timeout:10000}") long requestTimeoutMs,
+                                   @Value("${scraper.http.threads:4}") int threads,
+                                   @Value("${scraper.http.user-agent:Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36}")
+                                   String userAgent) {
+        return new PageFetcher(meterRegistry, userAgent, Duration.ofMillis(connectTimeoutMs),
+            Duration.ofMillis(requestTimeoutMs), threads);
+    }
+}
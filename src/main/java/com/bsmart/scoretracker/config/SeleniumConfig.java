@@ -1,18 +1,38 @@
 package com.bsmart.scoretracker.config;
 
+import com.bsmart.scoretracker.scraper.webdriver.BoundedWebDriverPool;
+import com.bsmart.scoretracker.scraper.webdriver.BrowserProcessTracker;
+import com.bsmart.scoretracker.scraper.webdriver.GridCapacity;
+import com.bsmart.scoretracker.scraper.webdriver.LiveTabSessionManager;
+import com.bsmart.scoretracker.scraper.webdriver.WebDriverPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @Slf4j
@@ -44,20 +64,142 @@ public class SeleniumConfig {
     @Value("${selenium.chrome.window-size:1920,1080}")
     private String windowSize;
 
+    /**
+     * selenium.lean.enabled      : mode "lean scrape" (page load EAGER, pas d'images, ressources bloquées)
+     * selenium.lean.blocked-urls : motifs d'URL bloqués via CDP Network.setBlockedURLs (ChromeDriver local uniquement)
+     */
+    @Value("${selenium.lean.enabled:true}")
+    private boolean lean;
+
+    @Value("${selenium.lean.blocked-urls:*.png,*.jpg,*.jpeg,*.gif,*.webp,*.avif,*.svg,*.ico,*.woff,*.woff2,*.ttf,*.otf,*.mp4,*.webm,"
+        + "*googletagmanager.com*,*google-analytics.com*,*doubleclick.net*,*googlesyndication.com*,*adservice.google.*,"
+        + "*facebook.net*,*hotjar.com*,*scorecardresearch.com*,*amazon-adsystem.com*,*criteo.*,*taboola.com*,*outbrain.com*}")
+    private List<String> blockedUrls;
+
+    /**
+     * selenium.fleet.profile-dir : profils Chrome des sessions locales, un sous-répertoire par session ;
+     *                              seuls les Chrome lancés avec un profil sous ce répertoire sont reconnus comme les nôtres
+     */
+    @Value("${selenium.fleet.profile-dir:${java.io.tmpdir}/score-tracker-chrome}")
+    private String profileDir;
+
     @Bean
     @Scope("prototype")
     @ConditionalOnProperty(name = "selenium.enabled", havingValue = "true", matchIfMissing = true)
-    public WebDriver webDriver() {
+    public WebDriver webDriver(ObjectProvider<GridCapacity> gridCapacity, MeterRegistry meterRegistry) {
         ChromeOptions options = buildChromeOptions();
+        long start = System.nanoTime();
+        String capacity = "local";
+        WebDriver driver;
 
         if ("remote".equalsIgnoreCase(mode)) {
-            return buildRemoteWebDriver(options);
+            GridCapacity grid = gridCapacity.getIfAvailable();
+            if (grid == null) {
+                capacity = "unknown";
+                driver = buildRemoteWebDriver(options);
+            } else {
+                try (GridCapacity.Placement placement = grid.place()) {
+                    placement.capabilities().forEach(options::setCapability);
+                    capacity = placement.isQueued() ? "queued" : "free";
+                    driver = buildRemoteWebDriver(options);
+                }
+            }
+        } else {
+            driver = buildLocalChromeDriver(options);
         }
 
-        return buildLocalChromeDriver(options);
+        // Création de session (file d'attente du Grid comprise), mesurée à part du temps de scrape
+        Timer.builder("webdriver.session.create")
+            .description("Time to start a browser session, Grid queueing included")
+            .tag("mode", mode.toLowerCase())
+            .tag("capacity", capacity)
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return driver;
+    }
+
+    /**
+     * Mode remote : placement des sessions selon la capacité du Grid (GET {remote-url}/status)
+     * selenium.grid.capacity-aware  : lit /status avant de créer une session (noeud le moins chargé)
+     * selenium.grid.node-capability : capability personnalisée du stéréotype de chaque noeud (ex: bsmart:node),
+     *                                 recopiée dans la demande pour cibler le noeud choisi (vide = pas de ciblage)
+     * selenium.grid.status-ttl      : durée de validité du dernier /status lu (ms)
+     */
+    @Bean
+    @ConditionalOnExpression("'${selenium.enabled:true}' == 'true' and '${selenium.mode:local}'.equalsIgnoreCase('remote')"
+        + " and '${selenium.grid.capacity-aware:true}' == 'true'")
+    public GridCapacity gridCapacity(ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${selenium.grid.node-capability:}") String nodeCapability,
+                                     @Value("${selenium.grid.status-ttl:2000}") long statusTtlMs) {
+        if (remoteUrl == null || remoteUrl.isBlank()) {
+            throw new IllegalStateException("selenium.mode=remote mais selenium.remote-url est vide.");
+        }
+        URI statusUri = URI.create(remoteUrl.replaceAll("/+$", "") + "/status");
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        return new GridCapacity(httpClient, statusUri, objectMapper, meterRegistry, nodeCapability,
+            Duration.ofMillis(statusTtlMs));
     }
 
-    private ChromeOptions buildChromeOptions() {
+    /**
+     * Pool de sessions Chrome réutilisées entre les scrapes (au lieu d'un Chrome par fetch)
+     * selenium.pool.max-size       : nombre max de sessions simultanées
+     * selenium.pool.max-uses       : une session est recyclée après ce nombre de scrapes
+     * selenium.pool.idle-timeout   : une session inutilisée est fermée après ce délai (ms)
+     * selenium.pool.borrow-timeout : attente max d'une session libre (ms)
+     * selenium.pool.min-idle       : sessions démarrées au lancement et gardées chaudes
+     * selenium.pool.max-memory-mb  : une session dont Chrome dépasse cette mémoire résidente est recyclée (0 = sans limite, local uniquement)
+     * selenium.fleet.kill-orphans  : tue les chromedriver/Chrome orphelins lancés par ce service (profil sous
+     *                                selenium.fleet.profile-dir) après un crash de la JVM ou de chromedriver
+     */
+    @Bean
+    @ConditionalOnProperty(name = "selenium.enabled", havingValue = "true", matchIfMissing = true)
+    public WebDriverPool webDriverPool(ObjectProvider<WebDriver> webDriverFactory,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${selenium.pool.max-size:8}") int maxSize,
+                                       @Value("${selenium.pool.min-idle:1}") int minIdle,
+                                       @Value("${selenium.pool.max-uses:50}") int maxUses,
+                                       @Value("${selenium.pool.max-memory-mb:1024}") long maxMemoryMb,
+                                       @Value("${selenium.pool.idle-timeout:300000}") long idleTimeoutMs,
+                                       @Value("${selenium.pool.borrow-timeout:30000}") long borrowTimeoutMs,
+                                       @Value("${selenium.fleet.kill-orphans:false}") boolean killOrphans) {
+        // Les process Chrome ne sont visibles qu'en local ; en remote c'est le Grid qui les gère
+        BrowserProcessTracker processes = null;
+        if ("local".equalsIgnoreCase(mode)) {
+            processes = new BrowserProcessTracker(meterRegistry, killOrphans, Path.of(profileDir));
+            int killed = processes.killOrphans();
+            if (killed > 0) {
+                log.warn("Killed {} orphaned browser processes left by a previous run", killed);
+            }
+        }
+
+        BoundedWebDriverPool pool = new BoundedWebDriverPool(webDriverFactory::getObject, processes, meterRegistry,
+            maxSize, minIdle, maxUses, maxMemoryMb * 1024 * 1024,
+            Duration.ofMillis(idleTimeoutMs), Duration.ofMillis(borrowTimeoutMs));
+        pool.prewarm();
+        return pool;
+    }
+
+    /**
+     * Chrome longue durée gardant un onglet ouvert par match en direct (lecture du DOM au lieu d'un rechargement)
+     * selenium.live-tabs.enabled      : active le mode onglets live
+     * selenium.live-tabs.max-tabs     : nombre max d'onglets ouverts
+     * selenium.live-tabs.idle-timeout : un onglet non lu depuis ce délai est fermé (ms)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "selenium.enabled", havingValue = "true", matchIfMissing = true)
+    public LiveTabSessionManager liveTabSessionManager(ObjectProvider<WebDriver> webDriverFactory,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${selenium.live-tabs.enabled:false}") boolean enabled,
+                                                       @Value("${selenium.live-tabs.max-tabs:20}") int maxTabs,
+                                                       @Value("${selenium.live-tabs.idle-timeout:180000}") long idleTimeoutMs) {
+        return new LiveTabSessionManager(webDriverFactory::getObject, meterRegistry, enabled, maxTabs,
+            Duration.ofMillis(idleTimeoutMs));
+    }
+
+    ChromeOptions buildChromeOptions() {
         ChromeOptions options = new ChromeOptions();
 
         // ⚠️ IMPORTANT: Ne PAS définir le binaire Chrome en mode REMOTE
@@ -69,6 +211,8 @@ public class SeleniumConfig {
                 options.setBinary(chromeBin);
                 log.info("Using LOCAL Chrome binary: {}", chromeBin);
             }
+            // Profil propre à la session : c'est ce chemin qui identifie nos Chrome pour le nettoyage des orphelins
+            options.addArguments("--user-data-dir=" + Path.of(profileDir, "session-" + UUID.randomUUID()).toAbsolutePath());
         } else {
             log.info("REMOTE mode: Selenium Grid will use its own Chrome installation");
         }
@@ -98,8 +242,15 @@ public class SeleniumConfig {
         options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
                 "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
 
-        log.info("Chrome options prepared: headless={}, noSandbox={}, disableDevShmUsage={}",
-                headless, noSandbox, disableDevShmUsage);
+        if (lean) {
+            // On ne lit qu'un blob JSON et quelques noeuds de score : inutile d'attendre images et sous-ressources
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+
+        log.info("Chrome options prepared: headless={}, noSandbox={}, disableDevShmUsage={}, lean={}",
+                headless, noSandbox, disableDevShmUsage, lean);
 
         return options;
     }
@@ -127,6 +278,9 @@ public class SeleniumConfig {
         try {
             log.info("Initializing LOCAL ChromeDriver");
             ChromeDriver driver = new ChromeDriver(options);
+            if (lean) {
+                blockResources(driver);
+            }
             log.info("Local ChromeDriver initialized successfully");
             return driver;
         } catch (Exception e) {
@@ -134,4 +288,22 @@ public class SeleniumConfig {
             throw e;
         }
     }
+
+    /**
+     * Bloque les pubs, trackers, polices et médias pour toute la durée de la session.
+     * Le blocage est conservé d'une navigation à l'autre, donc aussi pour les sessions du pool.
+     */
+    void blockResources(HasCdp driver) {
+        if (blockedUrls == null || blockedUrls.isEmpty()) {
+            return;
+        }
+        try {
+            driver.executeCdpCommand("Network.enable", Map.of());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+            log.info("Blocking {} resource patterns in Chrome session", blockedUrls.size());
+        } catch (Exception e) {
+            // Le scrape fonctionne sans : on perd seulement le gain de bande passante
+            log.warn("Could not enable resource blocking: {}", e.getMessage());
+        }
+    }
 }
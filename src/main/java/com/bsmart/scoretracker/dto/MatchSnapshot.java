@@ -1,12 +1,13 @@
 package com.bsmart.scoretracker.dto;
 
+import com.bsmart.scoretracker.model.enums.MatchStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MatchSnapshot {
@@ -19,4 +20,6 @@ public class MatchSnapshot {
     private boolean found;       // Was match data found
     private Integer penaltyHome; // Penalty shootout home score
     private Integer penaltyAway; // Penalty shootout away score
+    private MatchStatus matchStatus; // Status already classified by the provider, null to classify status
+    private boolean unchanged;   // Same page as the previous poll: nothing new to apply
 }
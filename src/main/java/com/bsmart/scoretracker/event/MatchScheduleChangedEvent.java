@@ -0,0 +1,39 @@
+package com.bsmart.scoretracker.event;
+
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever something that decides if and when a match is tracked changes:
+ * creation, kickoff or tracking flag update, external sync, status transition, deletion.
+ * Listeners receive it after the surrounding transaction has committed.
+ *
+ * @param matchId         Match id
+ * @param kickoffUtc      Kickoff after the change
+ * @param status          Status after the change, null when the match was deleted
+ * @param trackingEnabled Tracking flag after the change
+ */
+public record MatchScheduleChangedEvent(Long matchId,
+                                        LocalDateTime kickoffUtc,
+                                        MatchStatus status,
+                                        boolean trackingEnabled) {
+
+    public static MatchScheduleChangedEvent of(Match match) {
+        return new MatchScheduleChangedEvent(match.getId(), match.getKickoffUtc(),
+            match.getStatus(), Boolean.TRUE.equals(match.getTrackingEnabled()));
+    }
+
+    public static MatchScheduleChangedEvent deleted(Long matchId) {
+        return new MatchScheduleChangedEvent(matchId, null, null, false);
+    }
+
+    /**
+     * @return true if the match should be polled at some point (deleted, finished
+     *         or untracked matches are not)
+     */
+    public boolean isTrackable() {
+        return trackingEnabled && status != null && status != MatchStatus.FINISHED;
+    }
+}
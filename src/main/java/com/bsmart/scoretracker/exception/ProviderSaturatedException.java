@@ -0,0 +1,12 @@
+package com.bsmart.scoretracker.exception;
+
+/**
+ * Thrown when a provider has no free slot for another fetch. The match was not
+ * scraped at all, so this must not count as a scrape error.
+ */
+public class ProviderSaturatedException extends ScraperException {
+
+    public ProviderSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
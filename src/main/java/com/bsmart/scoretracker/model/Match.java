@@ -15,7 +15,8 @@ import java.util.List;
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_kickoff", columnList = "kickoff_utc"),
     @Index(name = "idx_tracking", columnList = "tracking_enabled"),
-    @Index(name = "idx_external_id", columnList = "external_id")
+    @Index(name = "idx_external_id", columnList = "external_id"),
+    @Index(name = "idx_next_poll", columnList = "next_poll_utc")
 })
 @Getter
 @Setter
@@ -141,6 +142,17 @@ public class Match {
     @Builder.Default
     private Boolean halfTimeSeen = false;
 
+    // Distributed polling queue (tracking.queue.mode=lease)
+    // Written only through MatchRepository native queries, never by entity saves
+    @Column(name = "next_poll_utc", insertable = false, updatable = false)
+    private LocalDateTime nextPollUtc;
+
+    @Column(name = "lease_owner", length = 100, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_utc", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresUtc;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -3,11 +3,13 @@ package com.bsmart.scoretracker.repository;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.MatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,9 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     List<Match> findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
         MatchStatus status, LocalDateTime start, LocalDateTime end);
 
+    List<Match> findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(
+        MatchStatus status, LocalDateTime after);
+
     @Query("SELECT m FROM Match m WHERE m.trackingEnabled = true AND m.status = :status " +
            "AND m.kickoffUtc BETWEEN :start AND :end")
     List<Match> findTrackableMatches(
@@ -37,4 +42,89 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
         @Param("end") LocalDateTime end);
 
     List<Match> findByPhaseIdOrderByKickoffUtcAsc(Long phaseId);
+
+    // ===== Distributed polling queue (lease mode) =====
+
+    /**
+     * Locks due matches that are not leased (or whose lease expired), most valuable first:
+     * IN_PLAY before PAUSED before SCHEDULED, then matches at a critical minute (around half
+     * time, stoppage time, from the 85th minute, extra time, penalties), then the longest overdue.
+     * Same ranking as the head of MatchPriority.ORDER, so that an overloaded replica claims
+     * the polls that matter instead of the oldest ones.
+     * Rows locked by another replica are skipped instead of waited for.
+     */
+    @Query(value = "SELECT id AS \"id\", next_poll_utc AS \"nextPollUtc\" FROM matches " +
+                   "WHERE tracking_enabled = true AND status <> 'FINISHED' " +
+                   "AND next_poll_utc <= :now " +
+                   "AND (lease_expires_utc IS NULL OR lease_expires_utc < :now) " +
+                   "ORDER BY CASE status WHEN 'IN_PLAY' THEN 0 WHEN 'PAUSED' THEN 1 ELSE 2 END, " +
+                   "CASE WHEN minute LIKE '%+%' " +
+                   "OR CAST(substring(minute from '[0-9]{1,3}') AS INTEGER) BETWEEN 40 AND 50 " +
+                   "OR CAST(substring(minute from '[0-9]{1,3}') AS INTEGER) >= 85 " +
+                   "OR (substring(minute from '[0-9]') IS NULL AND (upper(minute) LIKE 'ET%' " +
+                   "OR upper(minute) LIKE 'PEN%' OR upper(minute) LIKE '%EXTRA%')) " +
+                   "THEN 0 ELSE 1 END, " +
+                   "next_poll_utc " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DueMatchRow> lockDueMatches(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Fetches matches with their phase and competition, which are needed to rank
+     * them outside of any persistence context
+     */
+    @Query("SELECT m FROM Match m LEFT JOIN FETCH m.phase p LEFT JOIN FETCH p.competition " +
+           "WHERE m.id IN :ids")
+    List<Match> findAllWithCompetitionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE matches SET lease_owner = :owner, lease_expires_utc = :leaseUntil " +
+                   "WHERE id IN (:ids)", nativeQuery = true)
+    int leaseMatches(@Param("ids") List<Long> ids,
+                     @Param("owner") String owner,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Sets the next due time and releases the lease, unless another replica holds a live lease
+     */
+    @Modifying
+    @Query(value = "UPDATE matches SET next_poll_utc = :due, lease_owner = NULL, lease_expires_utc = NULL " +
+                   "WHERE id = :id AND (lease_owner IS NULL OR lease_owner = :owner OR lease_expires_utc < :now)",
+           nativeQuery = true)
+    int scheduleNextPoll(@Param("id") Long id,
+                         @Param("due") LocalDateTime due,
+                         @Param("owner") String owner,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the next due time unless the match is already due at or before it; leases are left as they are
+     */
+    @Modifying
+    @Query(value = "UPDATE matches SET next_poll_utc = :due " +
+                   "WHERE id = :id AND (next_poll_utc IS NULL OR next_poll_utc > :due)", nativeQuery = true)
+    int admitNextPoll(@Param("id") Long id,
+                      @Param("due") LocalDateTime due);
+
+    @Modifying
+    @Query(value = "UPDATE matches SET next_poll_utc = NULL, lease_owner = NULL, lease_expires_utc = NULL " +
+                   "WHERE id = :id AND (lease_owner IS NULL OR lease_owner = :owner OR lease_expires_utc < :now)",
+           nativeQuery = true)
+    int clearNextPoll(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Records a fetch that changed nothing else, without writing the whole row
+     */
+    @Modifying
+    @Query(value = "UPDATE matches SET last_fetch_utc = :now WHERE id = :id", nativeQuery = true)
+    int touchLastFetch(@Param("id") Long id,
+                       @Param("now") LocalDateTime now);
+
+    long countByNextPollUtcIsNotNull();
+
+    interface DueMatchRow {
+        Long getId();
+
+        LocalDateTime getNextPollUtc();
+    }
 }
@@ -0,0 +1,173 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Computes when a match should be polled next, from its status, minute,
+ * kickoff and recent error history.
+ *
+ * - IN_PLAY: every 10s, every 5s around 45' and from 85' (stoppage, extra time, penalties)
+ * - PAUSED: every 45s at the start of half-time, 10s when the second half is about to start
+ * - SCHEDULED: every 10 min when far from kickoff, 30s from 10 min before kickoff
+ * - Failures: exponential back-off capped at tracking.polling.max-backoff
+ */
+@Component
+public class AdaptivePollingPolicy {
+
+    // Scan windows inherited from the former fixed loops
+    static final Duration LOOK_BEHIND = Duration.ofHours(4);
+    static final Duration LOOK_AHEAD = Duration.ofDays(1);
+
+    private static final Duration NEAR_KICKOFF = Duration.ofMinutes(10);
+    // Kickoff + 45' + stoppage + 15' break: second half usually restarts around here
+    private static final Duration SECOND_HALF_RESTART = Duration.ofMinutes(58);
+
+    private final Duration inPlayInterval;
+    private final Duration criticalInterval;
+    private final Duration halfTimeInterval;
+    private final Duration nearKickoffInterval;
+    private final Duration farKickoffInterval;
+    private final Duration maxBackoff;
+
+    public AdaptivePollingPolicy(
+            @Value("${tracking.polling.in-play-interval:10000}") long inPlayIntervalMs,
+            @Value("${tracking.polling.critical-interval:5000}") long criticalIntervalMs,
+            @Value("${tracking.polling.half-time-interval:45000}") long halfTimeIntervalMs,
+            @Value("${tracking.polling.near-kickoff-interval:30000}") long nearKickoffIntervalMs,
+            @Value("${tracking.polling.far-kickoff-interval:600000}") long farKickoffIntervalMs,
+            @Value("${tracking.polling.max-backoff:300000}") long maxBackoffMs) {
+        this.inPlayInterval = Duration.ofMillis(inPlayIntervalMs);
+        this.criticalInterval = Duration.ofMillis(criticalIntervalMs);
+        this.halfTimeInterval = Duration.ofMillis(halfTimeIntervalMs);
+        this.nearKickoffInterval = Duration.ofMillis(nearKickoffIntervalMs);
+        this.farKickoffInterval = Duration.ofMillis(farKickoffIntervalMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+    }
+
+    /**
+     * First due time for a match entering the polling queue
+     * @return due time, or null if the match does not need polling
+     */
+    public LocalDateTime initialPoll(Match match, LocalDateTime now) {
+        LocalDateTime next = nextPoll(match, now);
+        if (next == null || match.getLastFetchUtc() == null) {
+            return next == null ? null : now;
+        }
+        // Keep the cadence of the last fetch instead of polling everything at once
+        LocalDateTime fromLastFetch = match.getLastFetchUtc().plus(Duration.between(now, next));
+        return fromLastFetch.isBefore(now) ? now : fromLastFetch;
+    }
+
+    /**
+     * Next due time after a poll
+     * @return due time, or null if the match no longer needs polling
+     */
+    public LocalDateTime nextPoll(Match match, LocalDateTime now) {
+        if (!Boolean.TRUE.equals(match.getTrackingEnabled()) || match.getStatus() == MatchStatus.FINISHED) {
+            return null;
+        }
+
+        Duration interval = baseInterval(match, now);
+        if (interval == null) {
+            return null;
+        }
+
+        int errors = match.getErrorCount() != null ? match.getErrorCount() : 0;
+        if (errors > 0) {
+            interval = backoff(interval, errors);
+        }
+
+        return now.plus(interval);
+    }
+
+    private Duration baseInterval(Match match, LocalDateTime now) {
+        MatchStatus status = match.getStatus() != null ? match.getStatus() : MatchStatus.SCHEDULED;
+        LocalDateTime kickoff = match.getKickoffUtc();
+
+        switch (status) {
+            case IN_PLAY:
+                return isCriticalMinute(match.getMinute()) ? criticalInterval : inPlayInterval;
+            case PAUSED:
+                if (kickoff != null && now.isAfter(kickoff.plus(SECOND_HALF_RESTART))) {
+                    return inPlayInterval;
+                }
+                return halfTimeInterval;
+            default:
+                if (kickoff == null) {
+                    return farKickoffInterval;
+                }
+                if (kickoff.isBefore(now.minus(LOOK_BEHIND)) || kickoff.isAfter(now.plus(LOOK_AHEAD))) {
+                    return null;
+                }
+                if (kickoff.isAfter(now.plus(NEAR_KICKOFF))) {
+                    // Never sleep past the moment the match enters the near-kickoff window
+                    Duration untilWindow = Duration.between(now, kickoff.minus(NEAR_KICKOFF));
+                    return untilWindow.compareTo(farKickoffInterval) < 0 ? untilWindow : farKickoffInterval;
+                }
+                return nearKickoffInterval;
+        }
+    }
+
+    private Duration backoff(Duration interval, int errors) {
+        long factor = 1L << Math.min(errors, 10);
+        Duration backedOff = interval.multipliedBy(factor);
+        return backedOff.compareTo(maxBackoff) > 0 ? maxBackoff : backedOff;
+    }
+
+    /**
+     * Polls that can be deferred under load: SCHEDULED matches outside the near-kickoff window
+     */
+    public boolean isLowValue(Match match, LocalDateTime now) {
+        MatchStatus status = match.getStatus() != null ? match.getStatus() : MatchStatus.SCHEDULED;
+        return status == MatchStatus.SCHEDULED
+            && match.getKickoffUtc() != null
+            && match.getKickoffUtc().isAfter(now.plus(NEAR_KICKOFF));
+    }
+
+    /**
+     * Around half-time, after 85', during stoppage time, extra time and penalties
+     */
+    static boolean isCriticalMinute(String minute) {
+        if (minute == null || minute.isEmpty()) {
+            return false;
+        }
+        if (minute.indexOf('+') >= 0) {
+            return true;
+        }
+
+        int value = minuteValue(minute);
+        if (value < 0) {
+            String upper = minute.toUpperCase();
+            return upper.startsWith("ET") || upper.startsWith("PEN") || upper.contains("EXTRA");
+        }
+        return (value >= 40 && value <= 50) || value >= 85;
+    }
+
+    /**
+     * Leading number of a minute label ("67'", "45+2"), or -1 if there is none
+     */
+    static int minuteValue(String minute) {
+        if (minute == null) {
+            return -1;
+        }
+
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < minute.length() && digits < 3; i++) {
+            char c = minute.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (digits > 0) {
+                break;
+            }
+        }
+        return digits == 0 ? -1 : value;
+    }
+}
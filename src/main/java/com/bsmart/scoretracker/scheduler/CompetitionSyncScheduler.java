@@ -22,12 +22,17 @@ import org.springframework.stereotype.Component;
 public class CompetitionSyncScheduler {
 
     private final CompetitionSyncService syncService;
+    private final SchedulerLeaderElection leaderElection;
 
     /**
-     * Synchronisation automatique toutes les 6 heures
+     * Synchronisation automatique toutes les 6 heures, sur le seul nœud leader
      */
     @Scheduled(fixedDelayString = "${sync.competitions.interval:21600000}") // 6 heures par défaut
     public void scheduledSync() {
+        leaderElection.runIfLeader("competition-sync", this::synchronize);
+    }
+
+    private void synchronize() {
         log.info("Starting scheduled competition synchronization");
 
         try {
@@ -0,0 +1,9 @@
+package com.bsmart.scoretracker.scheduler;
+
+import java.time.LocalDateTime;
+
+/**
+ * A match taken out of the {@link PollingQueue}, with the time its poll was due
+ */
+public record DuePoll(Long matchId, LocalDateTime due) {
+}
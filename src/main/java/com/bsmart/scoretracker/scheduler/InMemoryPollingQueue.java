@@ -0,0 +1,115 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory priority queue of match ids ordered by next due time.
+ * Re-scheduling a match replaces its previous entry (lazy deletion in the heap).
+ * Suitable for a single instance; use tracking.queue.mode=lease when scaling out.
+ */
+@Component
+@ConditionalOnProperty(name = "tracking.queue.mode", havingValue = "local", matchIfMissing = true)
+public class InMemoryPollingQueue implements PollingQueue {
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long sequence;
+
+    @Override
+    public synchronized void schedule(Long matchId, LocalDateTime due) {
+        Entry previous = entries.get(matchId);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        Entry entry = new Entry(matchId, due, sequence++);
+        entries.put(matchId, entry);
+        heap.add(entry);
+    }
+
+    @Override
+    public synchronized void admit(Long matchId, LocalDateTime due) {
+        Entry current = entries.get(matchId);
+        if (current == null || current.due.isAfter(due)) {
+            schedule(matchId, due);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long matchId) {
+        Entry entry = entries.remove(matchId);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    @Override
+    public synchronized boolean isQueued(Match match) {
+        return contains(match.getId());
+    }
+
+    public synchronized boolean contains(Long matchId) {
+        return entries.containsKey(matchId);
+    }
+
+    @Override
+    public synchronized List<DuePoll> pollDue(LocalDateTime now) {
+        List<DuePoll> due = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            Entry head = heap.peek();
+            if (head.cancelled) {
+                heap.poll();
+                continue;
+            }
+            if (head.due.isAfter(now)) {
+                break;
+            }
+            heap.poll();
+            entries.remove(head.matchId);
+            due.add(new DuePoll(head.matchId, head.due));
+        }
+        return due;
+    }
+
+    /**
+     * @return earliest due time, or null if the queue is empty
+     */
+    public synchronized LocalDateTime nextDue() {
+        while (!heap.isEmpty() && heap.peek().cancelled) {
+            heap.poll();
+        }
+        return heap.isEmpty() ? null : heap.peek().due;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final Long matchId;
+        private final LocalDateTime due;
+        private final long sequence;
+        private boolean cancelled;
+
+        private Entry(Long matchId, LocalDateTime due, long sequence) {
+            this.matchId = matchId;
+            this.due = due;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byDue = due.compareTo(other.due);
+            return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+        }
+    }
+}
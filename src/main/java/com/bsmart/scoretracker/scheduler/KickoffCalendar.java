@@ -0,0 +1,94 @@
+package com.bsmart.scoretracker.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of SCHEDULED matches whose tracking window has not opened yet,
+ * sorted by kickoff.
+ *
+ * Loaded once from the database, then kept current from {@code MatchScheduleChangedEvent}s,
+ * so that waiting for the next kickoff costs a map lookup instead of a query.
+ */
+@Component
+public class KickoffCalendar {
+
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Long>> byKickoff = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDateTime> kickoffById = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a match, or moves it if its kickoff changed
+     */
+    public synchronized void put(Long matchId, LocalDateTime kickoff) {
+        LocalDateTime previous = kickoffById.put(matchId, kickoff);
+        if (previous != null) {
+            unindex(matchId, previous);
+        }
+        byKickoff.computeIfAbsent(kickoff, k -> ConcurrentHashMap.newKeySet()).add(matchId);
+    }
+
+    public synchronized void remove(Long matchId) {
+        LocalDateTime previous = kickoffById.remove(matchId);
+        if (previous != null) {
+            unindex(matchId, previous);
+        }
+    }
+
+    /**
+     * Replaces the whole calendar content
+     */
+    public synchronized void reload(Map<Long, LocalDateTime> kickoffs) {
+        byKickoff.clear();
+        kickoffById.clear();
+        kickoffs.forEach(this::put);
+    }
+
+    /**
+     * Removes and returns the matches kicking off at or before {@code horizon}, earliest first
+     */
+    public synchronized List<Long> pollUntil(LocalDateTime horizon) {
+        NavigableMap<LocalDateTime, Set<Long>> opened = byKickoff.headMap(horizon, true);
+        if (opened.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> matchIds = new ArrayList<>();
+        for (Set<Long> ids : opened.values()) {
+            matchIds.addAll(ids);
+        }
+        opened.clear();
+        matchIds.forEach(kickoffById::remove);
+        return matchIds;
+    }
+
+    /**
+     * @return earliest kickoff in the calendar, or null if it is empty
+     */
+    public LocalDateTime nextKickoff() {
+        Map.Entry<LocalDateTime, Set<Long>> first = byKickoff.firstEntry();
+        return first != null ? first.getKey() : null;
+    }
+
+    public boolean contains(Long matchId) {
+        return kickoffById.containsKey(matchId);
+    }
+
+    public int size() {
+        return kickoffById.size();
+    }
+
+    private void unindex(Long matchId, LocalDateTime kickoff) {
+        byKickoff.computeIfPresent(kickoff, (k, ids) -> {
+            ids.remove(matchId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * PostgreSQL-backed polling queue shared by all replicas.
+ *
+ * Due times live in matches.next_poll_utc. Each tick a replica claims a batch of
+ * due matches with SELECT ... FOR UPDATE SKIP LOCKED and stamps them with a lease,
+ * so every due match is tracked by exactly one replica. Re-scheduling releases the
+ * lease; if a replica dies mid-poll its leases expire and another replica takes over.
+ */
+@Component
+@ConditionalOnProperty(name = "tracking.queue.mode", havingValue = "lease")
+@Slf4j
+public class LeasePollingQueue implements PollingQueue {
+
+    private final MatchRepository matchRepository;
+    private final String nodeId;
+    private final int claimBatchSize;
+    private final Duration leaseDuration;
+
+    public LeasePollingQueue(MatchRepository matchRepository,
+                             NodeIdentity nodeIdentity,
+                             @Value("${tracking.queue.claim-batch-size:20}") int claimBatchSize,
+                             @Value("${tracking.queue.lease-duration:120000}") long leaseDurationMs) {
+        this.matchRepository = matchRepository;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.claimBatchSize = claimBatchSize;
+        this.leaseDuration = Duration.ofMillis(leaseDurationMs);
+
+        log.info("Lease polling queue enabled: node={}, claimBatchSize={}, leaseDuration={}",
+            this.nodeId, claimBatchSize, leaseDuration);
+    }
+
+    @Override
+    @Transactional
+    public void schedule(Long matchId, LocalDateTime due) {
+        int updated = matchRepository.scheduleNextPoll(matchId, due, nodeId, LocalDateTime.now());
+        if (updated == 0) {
+            log.debug("Match {} is leased by another replica, next poll not changed", matchId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void admit(Long matchId, LocalDateTime due) {
+        if (matchRepository.admitNextPoll(matchId, due) == 0) {
+            log.debug("Match {} is already due by {}, not re-admitted", matchId, due);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void remove(Long matchId) {
+        matchRepository.clearNextPoll(matchId, nodeId, LocalDateTime.now());
+    }
+
+    @Override
+    public boolean isQueued(Match match) {
+        return match.getNextPollUtc() != null;
+    }
+
+    @Override
+    @Transactional
+    public List<DuePoll> pollDue(LocalDateTime now) {
+        List<MatchRepository.DueMatchRow> claimed = matchRepository.lockDueMatches(now, claimBatchSize);
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = claimed.stream().map(MatchRepository.DueMatchRow::getId).toList();
+        matchRepository.leaseMatches(ids, nodeId, now.plus(leaseDuration));
+        log.debug("Node {} claimed {} due matches", nodeId, ids.size());
+        return claimed.stream()
+            .map(row -> new DuePoll(row.getId(), row.getNextPollUtc()))
+            .toList();
+    }
+
+    @Override
+    public int size() {
+        return (int) matchRepository.countByNextPollUtcIsNotNull();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.repository.MatchRepository;
+import com.bsmart.scoretracker.scraper.webdriver.LiveTabSessionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Opens live tabs a few minutes before kickoff, so the first polls of a match already
+ * read an open page. Tabs of matches already in play are opened by the providers themselves.
+ * Only OneFootball follows matches in live tabs: its score nodes update in place.
+ */
+@Component
+@Profile("selenium")
+@ConditionalOnProperty(name = "selenium.live-tabs.enabled", havingValue = "true")
+@Slf4j
+public class LiveTabWarmer {
+
+    private final MatchRepository matchRepository;
+    private final LiveTabSessionManager liveTabs;
+    private final Duration lead;
+
+    public LiveTabWarmer(MatchRepository matchRepository,
+                         LiveTabSessionManager liveTabs,
+                         @Value("${selenium.live-tabs.lead:300000}") long leadMs) {
+        this.matchRepository = matchRepository;
+        this.liveTabs = liveTabs;
+        this.lead = Duration.ofMillis(leadMs);
+    }
+
+    @Scheduled(fixedDelayString = "${selenium.live-tabs.warm-interval:60000}")
+    public void openUpcomingTabs() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Match match : matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
+                MatchStatus.SCHEDULED, now, now.plus(lead))) {
+            if (match.getProvider() == ProviderType.ONE_FOOTBALL && !liveTabs.isOpen(match.getMatchUrl())) {
+                log.debug("Opening live tab ahead of kickoff for match {}", match.getId());
+                liveTabs.open(match.getMatchUrl());
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.repository.MatchRepository;
+import com.bsmart.scoretracker.scraper.LiveUpdateSource;
+import com.bsmart.scoretracker.service.TrackingEngineService;
+import com.bsmart.scoretracker.service.impl.TrackingSingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a live-update subscription open for every match in play (or kicking off within
+ * tracking.push.lead) whose provider has a {@link LiveUpdateSource}, and feeds each pushed
+ * snapshot to the tracking engine.
+ *
+ * Only the leader for "live-updates" subscribes, so a frame is applied once across replicas.
+ * Polling continues as a safety net, at a slower pace while the stream is connected.
+ */
+@Component
+@Slf4j
+public class LiveUpdateSubscriber implements DisposableBean {
+
+    static final String JOB = "live-updates";
+
+    private final Map<ProviderType, LiveUpdateSource> sources = new EnumMap<>(ProviderType.class);
+    private final MatchRepository matchRepository;
+    private final TrackingEngineService trackingEngineService;
+    private final TrackingSingleFlight trackingSingleFlight;
+    private final SchedulerLeaderElection leaderElection;
+    private final Duration lead;
+
+    private final Map<Long, LiveUpdateSource.Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final Counter frames;
+
+    public LiveUpdateSubscriber(ObjectProvider<LiveUpdateSource> liveUpdateSources,
+                                MatchRepository matchRepository,
+                                TrackingEngineService trackingEngineService,
+                                TrackingSingleFlight trackingSingleFlight,
+                                SchedulerLeaderElection leaderElection,
+                                MeterRegistry meterRegistry,
+                                @Value("${tracking.push.lead:300000}") long leadMs) {
+        liveUpdateSources.orderedStream().forEach(source -> sources.put(source.supports(), source));
+        this.matchRepository = matchRepository;
+        this.trackingEngineService = trackingEngineService;
+        this.trackingSingleFlight = trackingSingleFlight;
+        this.leaderElection = leaderElection;
+        this.lead = Duration.ofMillis(leadMs);
+
+        this.frames = Counter.builder("tracking.push.frames")
+            .description("Snapshots received from live-update streams")
+            .register(meterRegistry);
+        Gauge.builder("tracking.push.subscriptions", subscriptions, Map::size)
+            .description("Matches with an open live-update subscription")
+            .register(meterRegistry);
+
+        if (!sources.isEmpty()) {
+            log.info("Live updates available for providers {}", sources.keySet());
+        }
+    }
+
+    /**
+     * @return true if pushed updates are currently flowing for the match
+     */
+    public boolean isStreaming(Long matchId) {
+        LiveUpdateSource.Subscription subscription = subscriptions.get(matchId);
+        return subscription != null && subscription.isConnected();
+    }
+
+    /**
+     * Opens the missing subscriptions and closes the ones no longer needed
+     */
+    @Scheduled(fixedDelayString = "${tracking.push.sweep-interval:60000}")
+    public void refreshSubscriptions() {
+        if (sources.isEmpty()) {
+            return;
+        }
+        if (!leaderElection.runIfLeader(JOB, this::synchronize)) {
+            // Leadership moved: another replica streams these matches now
+            closeAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchScheduleChanged(MatchScheduleChangedEvent event) {
+        if (!subscriptions.containsKey(event.matchId())) {
+            if (isLive(event.status()) && event.trackingEnabled() && !sources.isEmpty()) {
+                leaderElection.runIfLeader(JOB, () ->
+                    matchRepository.findById(event.matchId()).ifPresent(this::subscribe));
+            }
+            return;
+        }
+        if (!event.isTrackable()) {
+            unsubscribe(event.matchId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closeAll();
+    }
+
+    private void synchronize() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Match> wanted = new ArrayList<>(matchRepository.findByTrackingEnabledTrueAndStatusIn(
+            List.of(MatchStatus.IN_PLAY, MatchStatus.PAUSED)));
+        wanted.addAll(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
+            MatchStatus.SCHEDULED, now.minus(AdaptivePollingPolicy.LOOK_BEHIND), now.plus(lead)));
+
+        Set<Long> wantedIds = new HashSet<>();
+        for (Match match : wanted) {
+            if (sources.containsKey(match.getProvider())) {
+                wantedIds.add(match.getId());
+                subscribe(match);
+            }
+        }
+        for (Long matchId : new ArrayList<>(subscriptions.keySet())) {
+            if (!wantedIds.contains(matchId)) {
+                unsubscribe(matchId);
+            }
+        }
+    }
+
+    private void subscribe(Match match) {
+        LiveUpdateSource source = sources.get(match.getProvider());
+        if (source == null || subscriptions.containsKey(match.getId())) {
+            return;
+        }
+        Long matchId = match.getId();
+        subscriptions.computeIfAbsent(matchId, id -> {
+            log.info("Subscribing to live updates for match {}", id);
+            return source.subscribe(match.getMatchUrl(), snapshot -> onSnapshot(id, snapshot));
+        });
+    }
+
+    private void unsubscribe(Long matchId) {
+        LiveUpdateSource.Subscription subscription = subscriptions.remove(matchId);
+        if (subscription != null) {
+            log.info("Closing live updates for match {}", matchId);
+            subscription.close();
+        }
+    }
+
+    private void closeAll() {
+        new ArrayList<>(subscriptions.keySet()).forEach(this::unsubscribe);
+    }
+
+    private void onSnapshot(Long matchId, MatchSnapshot snapshot) {
+        frames.increment();
+        matchRepository.findById(matchId).ifPresent(match ->
+            // Waits for a poll of the same match in flight instead of racing its save(), then applies
+            // the frame on the state that poll saved: joining the poll would drop the frame
+            trackingSingleFlight.trackAfterInFlight(match, () -> {
+                Match current = matchRepository.findById(matchId).orElse(null);
+                if (current == null) {
+                    return match;
+                }
+                trackingEngineService.applySnapshot(current, snapshot);
+                return current;
+            }));
+    }
+
+    private static boolean isLive(MatchStatus status) {
+        return status == MatchStatus.IN_PLAY || status == MatchStatus.PAUSED;
+    }
+}
@@ -0,0 +1,58 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Competition;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+
+import java.util.Comparator;
+
+/**
+ * Dispatch order of due matches, most valuable first:
+ * IN_PLAY before PAUSED before SCHEDULED, critical minutes and late minutes first,
+ * then monetized matches, featured competitions and competitions with the most users.
+ *
+ * Reads the match's phase and competition: load them eagerly before sorting.
+ */
+final class MatchPriority {
+
+    static final Comparator<Match> ORDER = Comparator
+        .comparingInt(MatchPriority::statusRank)
+        .thenComparing((Match m) -> !AdaptivePollingPolicy.isCriticalMinute(m.getMinute()))
+        .thenComparing((Match m) -> AdaptivePollingPolicy.minuteValue(m.getMinute()), Comparator.reverseOrder())
+        .thenComparing((Match m) -> !isMonetized(m))
+        .thenComparing((Match m) -> !isFeatured(m))
+        .thenComparing(MatchPriority::nbUsers, Comparator.reverseOrder())
+        .thenComparing(Match::getKickoffUtc, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private MatchPriority() {
+    }
+
+    private static int statusRank(Match match) {
+        if (match.getStatus() == MatchStatus.IN_PLAY) {
+            return 0;
+        }
+        if (match.getStatus() == MatchStatus.PAUSED) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static boolean isMonetized(Match match) {
+        return Boolean.TRUE.equals(match.getIsMonetized())
+            || (match.getPhase() != null && Boolean.TRUE.equals(match.getPhase().getIsMonetized()));
+    }
+
+    private static boolean isFeatured(Match match) {
+        Competition competition = competition(match);
+        return competition != null && Boolean.TRUE.equals(competition.getIsFeatured());
+    }
+
+    private static int nbUsers(Match match) {
+        Competition competition = competition(match);
+        return competition != null && competition.getNbUsers() != null ? competition.getNbUsers() : 0;
+    }
+
+    private static Competition competition(Match match) {
+        return match.getPhase() != null ? match.getPhase().getCompetition() : null;
+    }
+}
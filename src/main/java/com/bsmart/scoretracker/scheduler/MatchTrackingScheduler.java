@@ -1,167 +1,329 @@
 package com.bsmart.scoretracker.scheduler;
 
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.repository.MatchRepository;
-import com.bsmart.scoretracker.service.TrackingEngineService;
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Adaptive match tracking: every match sits in a {@link PollingQueue} with its own
+ * due time computed by {@link AdaptivePollingPolicy}. A short tick dispatches due
+ * matches to the {@link TrackingExecutor} and re-schedules them once tracked.
+ *
+ * SCHEDULED matches whose tracking window has not opened yet wait in the
+ * {@link KickoffCalendar}; the tick moves them to the queue when their window opens,
+ * so idle days cost no database queries at all.
+ *
+ * With tracking.queue.mode=lease the queue lives in PostgreSQL and replicas share
+ * the work: each due match is claimed by exactly one replica per poll.
+ *
+ * Due matches whose scores share a listing page (same competition or day) are fetched
+ * with one request to that page instead of one per match.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class MatchTrackingScheduler {
 
     private final MatchRepository matchRepository;
-    private final TrackingEngineService trackingEngine;
+    private final TrackingExecutor trackingExecutor;
+    private final AdaptivePollingPolicy pollingPolicy;
+    private final PollingQueue pollingQueue;
+    private final KickoffCalendar kickoffCalendar;
+    private final LiveUpdateSubscriber liveUpdates;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter shedPolls;
+
+    @Value("${tracking.shedding.lag-threshold:5000}")
+    private long sheddingLagThresholdMs = 5000;
+
+    @Value("${tracking.shedding.defer:60000}")
+    private long sheddingDeferMs = 60000;
+
+    @Value("${tracking.push.safety-poll-interval:60000}")
+    private long pushSafetyPollMs = 60000;
+
+    public MatchTrackingScheduler(MatchRepository matchRepository,
+                                  TrackingExecutor trackingExecutor,
+                                  AdaptivePollingPolicy pollingPolicy,
+                                  PollingQueue pollingQueue,
+                                  KickoffCalendar kickoffCalendar,
+                                  LiveUpdateSubscriber liveUpdates,
+                                  MeterRegistry meterRegistry) {
+        this.matchRepository = matchRepository;
+        this.trackingExecutor = trackingExecutor;
+        this.pollingPolicy = pollingPolicy;
+        this.pollingQueue = pollingQueue;
+        this.kickoffCalendar = kickoffCalendar;
+        this.liveUpdates = liveUpdates;
+
+        Gauge.builder("tracking.scheduler.lag", lagMillis, AtomicLong::get)
+            .description("How late the oldest due poll was when last dispatched")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("tracking.calendar.size", kickoffCalendar, KickoffCalendar::size)
+            .description("SCHEDULED matches waiting for their tracking window to open")
+            .register(meterRegistry);
+        this.shedPolls = Counter.builder("tracking.scheduler.shed")
+            .description("Low-value polls deferred because the scheduler was overloaded")
+            .register(meterRegistry);
+    }
 
     /**
-     * Initial scan at application startup to detect ongoing matches
+     * Loads trackable matches: IN_PLAY/PAUSED matches and SCHEDULED matches whose window
+     * (4 hours before now to 24 hours ahead) is open go to the polling queue, later
+     * kickoffs to the kickoff calendar, which is rebuilt from scratch. Matches already
+     * queued or being tracked keep their current due time.
+     *
+     * The first pass is the startup reconciliation: it runs off the startup thread once the
+     * application is up, and re-confirms the matches that may have moved during the restart.
+     * They are due at once, or at the cadence of their last fetch, and the tick dispatches
+     * them most valuable first. In lease mode, matches still queued by another replica are
+     * left to it.
+     *
+     * The calendar is then kept current by {@link MatchScheduleChangedEvent}s; this
+     * reload only runs at a long interval as a safety net for changes made outside
+     * of the application.
      */
-    @PostConstruct
-    public void initialScan() {
-        log.info("=== INITIAL MATCH SCAN AT STARTUP ===");
-
-        try {
-            // Wait a bit for application to fully initialize
-            Thread.sleep(5000);
-
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime fourHoursAgo = now.minusHours(4);
-            LocalDateTime oneHourFromNow = now.plusHours(1);
-
-            // Find all SCHEDULED matches that might actually be in progress
-            List<Match> potentiallyLiveMatches = matchRepository
-                .findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-                    MatchStatus.SCHEDULED, fourHoursAgo, oneHourFromNow);
-
-            log.info("Found {} SCHEDULED matches between {} and {} - scanning for live matches",
-                potentiallyLiveMatches.size(), fourHoursAgo, oneHourFromNow);
-
-            for (Match match : potentiallyLiveMatches) {
-                try {
-                    log.info("Initial scan: Checking match {} - {} vs {} (kickoff: {})",
-                        match.getId(), match.getHomeTeam(), match.getAwayTeam(), match.getKickoffUtc());
-                    trackingEngine.trackMatch(match);
-                } catch (Exception e) {
-                    log.error("Error during initial scan of match {}: {}",
-                        match.getId(), e.getMessage());
-                }
+    @Scheduled(fixedDelayString = "${tracking.calendar.reload-interval:21600000}", initialDelay = 5000)
+    public void resyncQueue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plus(AdaptivePollingPolicy.LOOK_AHEAD);
+
+        List<Match> candidates = new ArrayList<>(matchRepository.findByTrackingEnabledTrueAndStatusIn(
+            Arrays.asList(MatchStatus.IN_PLAY, MatchStatus.PAUSED)));
+        Map<Long, LocalDateTime> upcoming = new HashMap<>();
+        for (Match match : matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(
+                MatchStatus.SCHEDULED, now.minus(AdaptivePollingPolicy.LOOK_BEHIND))) {
+            if (match.getKickoffUtc().isAfter(windowEnd)) {
+                upcoming.put(match.getId(), match.getKickoffUtc());
+            } else {
+                candidates.add(match);
             }
+        }
+        // Also drops matches deleted or disabled outside of the application
+        kickoffCalendar.reload(upcoming);
 
-            log.info("=== INITIAL SCAN COMPLETED ===");
-        } catch (Exception e) {
-            log.error("Error during initial scan: {}", e.getMessage(), e);
+        int added = 0;
+        for (Match match : candidates) {
+            if (pollingQueue.isQueued(match) || inFlight.contains(match.getId())) {
+                continue;
+            }
+            LocalDateTime due = pollingPolicy.initialPoll(match, now);
+            if (due != null) {
+                pollingQueue.schedule(match.getId(), due);
+                added++;
+            }
         }
+
+        log.info("Polling queue resynced: {} trackable matches, {} newly queued, {} queued in total, "
+                + "{} upcoming in kickoff calendar (next kickoff: {})",
+            candidates.size(), added, pollingQueue.size(), kickoffCalendar.size(), kickoffCalendar.nextKickoff());
     }
 
     /**
-     * High-frequency tracking: IN_PLAY matches (every 10 seconds)
-     * OPTIMIZED: Reduced from 15s to 10s for faster goal detection
+     * Keeps the kickoff calendar and the polling queue in line with match changes.
+     * Matches being tracked are left alone: their re-scheduling already uses the new state.
      */
-    @Scheduled(fixedDelay = 10000, initialDelay = 5000)
-    public void trackLiveMatches() {
-        log.debug("Running live match tracking cycle");
-
-        List<Match> liveMatches = matchRepository.findByTrackingEnabledTrueAndStatusIn(
-            Arrays.asList(MatchStatus.IN_PLAY));
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchScheduleChanged(MatchScheduleChangedEvent event) {
+        Long matchId = event.matchId();
+        if (inFlight.contains(matchId)) {
+            kickoffCalendar.remove(matchId);
+            return;
+        }
 
-        log.info("Tracking {} LIVE matches", liveMatches.size());
+        if (!event.isTrackable()) {
+            kickoffCalendar.remove(matchId);
+            pollingQueue.remove(matchId);
+            return;
+        }
 
-        for (Match match : liveMatches) {
-            try {
-                trackingEngine.trackMatch(match);
-            } catch (Exception e) {
-                log.error("Error tracking live match {}: {}",
-                    match.getId(), e.getMessage(), e);
+        LocalDateTime now = LocalDateTime.now();
+        if (event.status() == MatchStatus.SCHEDULED && event.kickoffUtc() != null) {
+            if (event.kickoffUtc().isAfter(now.plus(AdaptivePollingPolicy.LOOK_AHEAD))) {
+                pollingQueue.remove(matchId);
+                kickoffCalendar.put(matchId, event.kickoffUtc());
+                return;
+            }
+            if (event.kickoffUtc().isBefore(now.minus(AdaptivePollingPolicy.LOOK_BEHIND))) {
+                kickoffCalendar.remove(matchId);
+                pollingQueue.remove(matchId);
+                return;
             }
         }
+
+        kickoffCalendar.remove(matchId);
+        pollingQueue.schedule(matchId, now);
+        log.debug("Match {} (re)queued after a schedule change (status: {}, kickoff: {})",
+            matchId, event.status(), event.kickoffUtc());
     }
 
     /**
-     * Medium-frequency tracking: PAUSED matches (every 45 seconds)
+     * Dispatches matches whose due time has passed, most valuable first (see {@link MatchPriority}).
+     * Does not touch the database when nothing is due.
+     *
+     * When the scheduler lags behind (oldest due poll later than tracking.shedding.lag-threshold)
+     * or a provider has work waiting for a worker, far-from-kickoff SCHEDULED polls are deferred
+     * by tracking.shedding.defer. Matches beyond the remaining capacity of their provider go back
+     * to the queue with their original due time and are picked up first at the next tick.
+     * The remaining matches are grouped by listing page, see {@link #dispatchAll}.
      */
-    @Scheduled(fixedDelay = 45000, initialDelay = 10000)
-    public void trackHalfTimeMatches() {
-        log.debug("Running half-time match tracking cycle");
+    @Scheduled(fixedDelayString = "${tracking.polling.tick:1000}", initialDelay = 10000)
+    public void dispatchDueMatches() {
+        LocalDateTime now = LocalDateTime.now();
+        admitOpeningWindows(now);
 
-        List<Match> halfTimeMatches = matchRepository.findByTrackingEnabledTrueAndStatusIn(
-            Arrays.asList(MatchStatus.PAUSED));
+        List<DuePoll> duePolls = pollingQueue.pollDue(now);
+        if (duePolls.isEmpty()) {
+            lagMillis.set(0);
+            return;
+        }
 
-        log.info("Tracking {} PAUSED matches", halfTimeMatches.size());
+        Map<Long, LocalDateTime> dueTimes = new HashMap<>();
+        LocalDateTime oldestDue = now;
+        for (DuePoll poll : duePolls) {
+            dueTimes.put(poll.matchId(), poll.due());
+            if (poll.due() != null && poll.due().isBefore(oldestDue)) {
+                oldestDue = poll.due();
+            }
+        }
+        long lag = Duration.between(oldestDue, now).toMillis();
+        lagMillis.set(lag);
+        boolean lagging = lag > sheddingLagThresholdMs;
+
+        List<Match> dueMatches = new ArrayList<>(matchRepository.findAllWithCompetitionByIdIn(dueTimes.keySet()));
+        dueMatches.sort(MatchPriority.ORDER);
+        log.debug("Dispatching {} due matches (lag: {} ms)", dueMatches.size(), lag);
+
+        Map<ProviderType, Integer> capacity = new EnumMap<>(ProviderType.class);
+        int shed = 0;
+        int postponed = 0;
+        long start = System.nanoTime();
+        List<Match> admitted = new ArrayList<>(dueMatches.size());
+        for (Match match : dueMatches) {
+            if (!Boolean.TRUE.equals(match.getTrackingEnabled()) || match.getStatus() == MatchStatus.FINISHED) {
+                log.debug("Match {} dropped from polling queue (tracking disabled or finished)", match.getId());
+                pollingQueue.remove(match.getId());
+                continue;
+            }
+
+            ProviderType provider = match.getProvider();
+            boolean overloaded = lagging || trackingExecutor.isBacklogged(provider);
+            if (overloaded && pollingPolicy.isLowValue(match, now)) {
+                pollingQueue.schedule(match.getId(), now.plus(Duration.ofMillis(sheddingDeferMs)));
+                shedPolls.increment();
+                shed++;
+                continue;
+            }
 
-        for (Match match : halfTimeMatches) {
-            try {
-                trackingEngine.trackMatch(match);
-            } catch (Exception e) {
-                log.error("Error tracking half-time match {}: {}",
-                    match.getId(), e.getMessage(), e);
+            int remaining = capacity.computeIfAbsent(provider, trackingExecutor::remainingCapacity);
+            if (remaining <= 0) {
+                pollingQueue.schedule(match.getId(), dueTimes.getOrDefault(match.getId(), now));
+                postponed++;
+                continue;
             }
+            capacity.put(provider, remaining - 1);
+            admitted.add(match);
         }
+        List<CompletableFuture<Void>> futures = dispatchAll(admitted);
+
+        if (shed > 0 || postponed > 0) {
+            log.warn("Scheduler overloaded (lag: {} ms): {} low-value polls deferred, {} postponed to next tick",
+                lag, shed, postponed);
+        }
+
+        int dispatched = futures.size();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) ->
+                trackingExecutor.recordCycle("adaptive", dispatched, System.nanoTime() - start));
     }
 
     /**
-     * Medium-frequency tracking: SCHEDULED matches near kickoff (every 30 seconds)
-     * Extended window: 4 hours before to 1 hour after current time
-     * This catches matches that started but weren't detected yet
-     * OPTIMIZED: Reduced from 60s to 30s for faster detection of match start
+     * Tracks matches on the executor, each under the cycle of its status, then puts them back
+     * in the queue with their next due time. Matches sharing a listing page are fetched together
+     * (see {@link TrackingExecutor#submitAll}).
+     *
+     * @return completion futures of the matches that were not already being tracked
      */
-    @Scheduled(fixedDelay = 30000, initialDelay = 15000)
-    public void trackScheduledMatchesNearKickoff() {
-        log.debug("Running scheduled match tracking cycle (near kickoff)");
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime fourHoursAgo = now.minusHours(4); // EXTENDED from 2 hours
-        LocalDateTime oneHourFromNow = now.plusHours(1);
-
-        List<Match> scheduledMatches = matchRepository
-            .findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-                MatchStatus.SCHEDULED, fourHoursAgo, oneHourFromNow);
-
-        log.info("Tracking {} SCHEDULED matches near kickoff ({}h to +1h)",
-            scheduledMatches.size(), fourHoursAgo.getHour());
-
-        for (Match match : scheduledMatches) {
-            try {
-                trackingEngine.trackMatch(match);
-            } catch (Exception e) {
-                log.error("Error tracking scheduled match {}: {}",
-                    match.getId(), e.getMessage(), e);
+    public List<CompletableFuture<Void>> dispatchAll(List<Match> matches) {
+        List<Match> claimed = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            if (inFlight.add(match.getId())) {
+                claimed.add(match);
             }
         }
+
+        Map<Long, CompletableFuture<Void>> submitted = trackingExecutor.submitAll(
+            match -> match.getStatus().name().toLowerCase(), claimed);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(claimed.size());
+        for (Match match : claimed) {
+            futures.add(submitted.get(match.getId())
+                .whenComplete((ignored, error) -> {
+                    inFlight.remove(match.getId());
+                    reschedule(match);
+                }));
+        }
+        return futures;
     }
 
     /**
-     * Very low-frequency tracking: SCHEDULED matches far from kickoff (every 10 minutes)
+     * Moves calendar matches whose tracking window opens now to the polling queue. Every replica
+     * opens the same windows: a match already queued, or claimed by another replica, keeps its due time.
      */
-    @Scheduled(fixedDelay = 600000, initialDelay = 20000)
-    public void trackScheduledMatchesFarFromKickoff() {
-        log.debug("Running scheduled match tracking cycle (far from kickoff)");
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oneHourFromNow = now.plusHours(1);
-        LocalDateTime tomorrow = now.plusDays(1);
-
-        List<Match> scheduledMatches = matchRepository
-            .findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-                MatchStatus.SCHEDULED, oneHourFromNow, tomorrow);
+    private void admitOpeningWindows(LocalDateTime now) {
+        LocalDateTime nextKickoff = kickoffCalendar.nextKickoff();
+        LocalDateTime windowEnd = now.plus(AdaptivePollingPolicy.LOOK_AHEAD);
+        if (nextKickoff == null || nextKickoff.isAfter(windowEnd)) {
+            return;
+        }
 
-        log.info("Tracking {} SCHEDULED matches far from kickoff", scheduledMatches.size());
+        List<Long> opened = kickoffCalendar.pollUntil(windowEnd);
+        for (Long matchId : opened) {
+            pollingQueue.admit(matchId, now);
+        }
+        log.info("{} matches entered their tracking window", opened.size());
+    }
 
-        for (Match match : scheduledMatches) {
-            try {
-                trackingEngine.trackMatch(match);
-            } catch (Exception e) {
-                log.error("Error tracking far scheduled match {}: {}",
-                    match.getId(), e.getMessage(), e);
+    private void reschedule(Match match) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = pollingPolicy.nextPoll(match, now);
+        if (next == null) {
+            log.info("Match {} left the polling queue (status: {}, tracking: {})",
+                match.getId(), match.getStatus(), match.getTrackingEnabled());
+            pollingQueue.remove(match.getId());
+            return;
+        }
+        if (liveUpdates.isStreaming(match.getId())) {
+            // Updates are pushed: polling is only a safety net
+            LocalDateTime safetyNet = now.plus(Duration.ofMillis(pushSafetyPollMs));
+            if (next.isBefore(safetyNet)) {
+                next = safetyNet;
             }
         }
+        pollingQueue.schedule(match.getId(), next);
     }
 }
@@ -14,13 +14,19 @@ import org.springframework.stereotype.Component;
 public class PhaseMatchSyncScheduler {
 
     private final PhaseMatchSyncService syncService;
+    private final SchedulerLeaderElection leaderElection;
 
     /**
      * Synchronise automatiquement les phases et matches de toutes les compétitions
      * Cadence configurable via sync.phases-matches.interval (défaut: 12 heures)
+     * Exécutée uniquement par le nœud leader
      */
     @Scheduled(fixedDelayString = "${sync.phases-matches.interval:43200000}") // 12 heures par défaut
     public void scheduledSynchronization() {
+        leaderElection.runIfLeader("phase-match-sync", this::synchronize);
+    }
+
+    private void synchronize() {
         log.info("=== Starting scheduled phase and match synchronization ===");
 
         try {
@@ -0,0 +1,44 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queue of matches waiting for their next poll, ordered by due time
+ */
+public interface PollingQueue {
+
+    /**
+     * Schedules (or re-schedules) a match for polling at the given time
+     */
+    void schedule(Long matchId, LocalDateTime due);
+
+    /**
+     * Queues a match for polling at the given time, unless it is already due at or before it.
+     * Every replica may admit the same match: the earliest due time wins.
+     */
+    void admit(Long matchId, LocalDateTime due);
+
+    /**
+     * Removes a match from the queue (finished, tracking disabled...)
+     */
+    void remove(Long matchId);
+
+    /**
+     * @return true if the match already has a pending due time
+     */
+    boolean isQueued(Match match);
+
+    /**
+     * Removes and returns the matches due at or before {@code now}, earliest first.
+     * Returned matches belong to the caller until they are re-scheduled or removed.
+     */
+    List<DuePoll> pollDue(LocalDateTime now);
+
+    /**
+     * @return number of matches currently queued
+     */
+    int size();
+}
@@ -0,0 +1,175 @@
+package com.bsmart.scoretracker.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leader election for batch jobs that must run on a single replica, based on
+ * PostgreSQL session-level advisory locks.
+ *
+ * The leader keeps one dedicated connection, opened outside the Hikari pool, holding the
+ * locks of all the jobs it leads: leadership never takes connections from the pool that
+ * serves requests and tracking. Other replicas fail pg_try_advisory_lock and skip the run.
+ * If the leader dies, its session ends, PostgreSQL releases the locks and the next replica
+ * to run a job takes over.
+ */
+@Component
+@Slf4j
+public class SchedulerLeaderElection implements DisposableBean {
+
+    // First half of the two-int advisory lock key, to stay clear of locks taken by other applications
+    private static final int LOCK_NAMESPACE = 0x5C0E;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Opens the election session
+     */
+    @FunctionalInterface
+    interface SessionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final SessionFactory sessionFactory;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final boolean enabled;
+
+    // Jobs whose lock is held by the session; guarded by this
+    private final Set<String> leadership = ConcurrentHashMap.newKeySet();
+    private final Set<String> registeredJobs = ConcurrentHashMap.newKeySet();
+    private Connection session;
+
+    @Autowired
+    public SchedulerLeaderElection(DataSourceProperties dataSourceProperties,
+                                   MeterRegistry meterRegistry,
+                                   NodeIdentity nodeIdentity,
+                                   @Value("${sync.leader-election.enabled:true}") boolean enabled) {
+        this(() -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()),
+            meterRegistry, nodeIdentity, enabled);
+    }
+
+    /**
+     * Visible for tests: opens the election session through the given factory
+     */
+    SchedulerLeaderElection(SessionFactory sessionFactory,
+                            MeterRegistry meterRegistry,
+                            NodeIdentity nodeIdentity,
+                            boolean enabled) {
+        this.sessionFactory = sessionFactory;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs the task if this node is (or becomes) the leader for the job
+     *
+     * @param job  Job name, used as lock key and metric tag
+     * @param task Job body
+     * @return true if the task ran on this node
+     */
+    public boolean runIfLeader(String job, Runnable task) {
+        if (enabled && !acquire(job)) {
+            log.info("Skipping '{}' on node {}: another node is leader", job, nodeId);
+            return false;
+        }
+        task.run();
+        return true;
+    }
+
+    public boolean isLeader(String job) {
+        return leadership.contains(job);
+    }
+
+    synchronized boolean acquire(String job) {
+        registerGauge(job);
+
+        if (session != null && !isValid(session)) {
+            log.warn("Node {} lost its database session, leadership dropped for {}", nodeId, leadership);
+            closeSession();
+        }
+        if (leadership.contains(job)) {
+            return true;
+        }
+
+        try {
+            if (session == null) {
+                session = sessionFactory.open();
+            }
+            if (tryLock(session, job)) {
+                leadership.add(job);
+                log.info("Node {} is now leader for '{}'", nodeId, job);
+                return true;
+            }
+        } catch (SQLException e) {
+            log.error("Leader election for '{}' failed: {}", job, e.getMessage());
+            closeSession();
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        // The session is not pooled: closing it ends it, and PostgreSQL releases its locks
+        if (!leadership.isEmpty()) {
+            log.info("Node {} released leadership for {}", nodeId, leadership);
+        }
+        closeSession();
+    }
+
+    private boolean tryLock(Connection connection, String job) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, hashtext(?))")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, job);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void closeSession() {
+        leadership.clear();
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close();
+        } catch (SQLException e) {
+            log.debug("Error closing leader election session: {}", e.getMessage());
+        }
+        session = null;
+    }
+
+    private void registerGauge(String job) {
+        if (registeredJobs.add(job)) {
+            Gauge.builder("scheduler.leader", leadership, jobs -> jobs.contains(job) ? 1 : 0)
+                .description("1 if this node holds leadership for the job")
+                .tag("job", job)
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
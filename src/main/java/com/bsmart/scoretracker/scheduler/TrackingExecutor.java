@@ -0,0 +1,362 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.service.TrackingEngineService;
+import com.bsmart.scoretracker.service.impl.TrackingSingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fans tracking out over worker pools instead of scraping matches one after the other.
+ * Each provider has its own bulkhead: a dedicated pool sized to the parallelism we allow
+ * against that site, with a bounded queue. A slow provider fills its own queue and gets
+ * its excess work rejected; it never holds threads the other provider needs.
+ *
+ * Matches whose scores share a listing page (a competition, a day of fixtures) can be
+ * submitted together: the listing is fetched once and every match found on it is updated
+ * from its entry, so one request refreshes dozens of matches.
+ */
+@Component
+@Slf4j
+public class TrackingExecutor implements DisposableBean {
+
+    private final TrackingEngineService trackingEngine;
+    private final TrackingSingleFlight singleFlight;
+    private final MeterRegistry meterRegistry;
+    private final Map<ProviderType, Executor> providerExecutors = new EnumMap<>(ProviderType.class);
+
+    @Value("${tracking.batch.min-size:2}")
+    private int batchMinSize = 2;
+
+    @Autowired
+    public TrackingExecutor(TrackingEngineService trackingEngine,
+                            TrackingSingleFlight singleFlight,
+                            MeterRegistry meterRegistry,
+                            @Value("${tracking.executor.parallelism.live-score:4}") int liveScoreParallelism,
+                            @Value("${tracking.executor.parallelism.one-football:4}") int oneFootballParallelism,
+                            @Value("${tracking.executor.queue-capacity.live-score:50}") int liveScoreQueueCapacity,
+                            @Value("${tracking.executor.queue-capacity.one-football:50}") int oneFootballQueueCapacity) {
+        this.trackingEngine = trackingEngine;
+        this.singleFlight = singleFlight;
+        this.meterRegistry = meterRegistry;
+        this.providerExecutors.put(ProviderType.LIVE_SCORE,
+            providerPool(ProviderType.LIVE_SCORE, liveScoreParallelism, liveScoreQueueCapacity));
+        this.providerExecutors.put(ProviderType.ONE_FOOTBALL,
+            providerPool(ProviderType.ONE_FOOTBALL, oneFootballParallelism, oneFootballQueueCapacity));
+
+        log.info("Tracking executor started: liveScore={} (queue {}), oneFootball={} (queue {})",
+            liveScoreParallelism, liveScoreQueueCapacity, oneFootballParallelism, oneFootballQueueCapacity);
+    }
+
+    /**
+     * Visible for tests: runs every provider's tracking tasks on a caller-supplied executor
+     */
+    TrackingExecutor(TrackingEngineService trackingEngine,
+                     TrackingSingleFlight singleFlight,
+                     MeterRegistry meterRegistry,
+                     Executor executor) {
+        this.trackingEngine = trackingEngine;
+        this.singleFlight = singleFlight;
+        this.meterRegistry = meterRegistry;
+        for (ProviderType provider : ProviderType.values()) {
+            this.providerExecutors.put(provider, executor);
+        }
+    }
+
+    /**
+     * Tracks a single match asynchronously on its provider's pool. Providers that fetch without a
+     * browser only hold a worker to send the request and to update the match, not while the page
+     * downloads, so a few workers keep many fetches in flight. The returned future
+     * never completes exceptionally: tracking errors and rejections (provider queue full)
+     * are logged and reflected in the latency metric.
+     *
+     * @param cycle Name of the cycle, used as metric tag
+     * @param match Match to track
+     */
+    public CompletableFuture<Void> submit(String cycle, Match match) {
+        Executor executor = providerExecutors.get(match.getProvider());
+        try {
+            if (trackingEngine.fetchesAsync(match)) {
+                return CompletableFuture.supplyAsync(() -> trackAsync(cycle, match), executor)
+                    .thenCompose(Function.identity());
+            }
+            return CompletableFuture.runAsync(() -> trackOne(cycle, match), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("{} queue full, match {} not tracked in cycle '{}'", match.getProvider(), match.getId(), cycle);
+            recordLatency(cycle, match, "rejected", 0);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Tracks matches like {@link #submit}, fetching those that share a listing page with a single
+     * request. Groups of at least tracking.batch.min-size matches are fetched from their listing
+     * on their provider's pool; matches missing from the listing, or whose listing could not be
+     * fetched, are then tracked on their own page. Smaller groups and matches without a listing
+     * are submitted one by one.
+     *
+     * @param cycle   Name of the cycle of each match, used as metric tag
+     * @param matches Matches to track, in submission order
+     * @return one completion future per match id, never completing exceptionally
+     */
+    public Map<Long, CompletableFuture<Void>> submitAll(Function<Match, String> cycle, List<Match> matches) {
+        Map<Match, String> sources = new HashMap<>();
+        Map<String, List<Match>> listings = new LinkedHashMap<>();
+        for (Match match : matches) {
+            String source = listingSource(match);
+            if (source != null) {
+                sources.put(match, source);
+                listings.computeIfAbsent(source, key -> new ArrayList<>()).add(match);
+            }
+        }
+
+        // Submission order is kept: a listing goes when its first match comes up
+        Map<Long, CompletableFuture<Void>> futures = new HashMap<>();
+        for (Match match : matches) {
+            if (futures.containsKey(match.getId())) {
+                continue;
+            }
+            List<Match> group = listings.get(sources.get(match));
+            if (group == null || group.size() < batchMinSize) {
+                futures.put(match.getId(), submit(cycle.apply(match), match));
+            } else {
+                futures.putAll(submitBatch(cycle, sources.get(match), group));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * @return how many more matches of this provider can be submitted without rejection
+     */
+    public int remainingCapacity(ProviderType provider) {
+        if (providerExecutors.get(provider) instanceof ThreadPoolExecutor pool) {
+            int idleThreads = Math.max(0, pool.getMaximumPoolSize() - pool.getActiveCount());
+            return idleThreads + pool.getQueue().remainingCapacity();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return true if tasks of this provider are waiting for a free worker
+     */
+    public boolean isBacklogged(ProviderType provider) {
+        return providerExecutors.get(provider) instanceof ThreadPoolExecutor pool && !pool.getQueue().isEmpty();
+    }
+
+    /**
+     * Records the duration of a cycle, from dispatch until its last match is tracked
+     */
+    public void recordCycle(String cycle, int matchCount, long elapsedNanos) {
+        Timer.builder("tracking.cycle.duration")
+            .description("Wall-clock duration of a tracking cycle")
+            .tag("cycle", cycle)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        log.info("Tracking cycle '{}' completed: {} matches in {} ms",
+            cycle, matchCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private Map<Long, CompletableFuture<Void>> submitBatch(Function<Match, String> cycle,
+                                                          String source,
+                                                          List<Match> group) {
+        ProviderType provider = group.get(0).getProvider();
+        Map<Long, CompletableFuture<Void>> futures = new HashMap<>();
+        CompletableFuture<Map<Long, MatchSnapshot>> listing;
+        try {
+            listing = CompletableFuture.supplyAsync(() -> fetchListing(source, group), providerExecutors.get(provider));
+        } catch (RejectedExecutionException e) {
+            log.warn("{} queue full, listing {} ({} matches) not fetched", provider, source, group.size());
+            for (Match match : group) {
+                recordLatency(cycle.apply(match), match, "rejected", 0);
+                futures.put(match.getId(), CompletableFuture.completedFuture(null));
+            }
+            return futures;
+        }
+
+        // Entries are applied on the provider's pool, not on whichever thread completed the listing
+        Executor continuation = continuation(provider);
+        for (Match match : group) {
+            futures.put(match.getId(), listing.thenComposeAsync(snapshots -> {
+                MatchSnapshot snapshot = snapshots.get(match.getId());
+                if (snapshot == null || !snapshot.isFound()) {
+                    countBatched(provider, "page");
+                    return submit(cycle.apply(match), match);
+                }
+                countBatched(provider, "listing");
+                trackOne(cycle.apply(match), match, () -> trackingEngine.applySnapshot(match, snapshot));
+                return CompletableFuture.completedFuture(null);
+            }, continuation));
+        }
+        return futures;
+    }
+
+    private Map<Long, MatchSnapshot> fetchListing(String source, List<Match> group) {
+        String outcome = "success";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Map<Long, MatchSnapshot> snapshots = trackingEngine.fetchBatch(group);
+            return snapshots != null ? snapshots : Map.of();
+        } catch (Exception e) {
+            outcome = "error";
+            log.warn("Listing {} could not be fetched, tracking its {} matches one by one: {}",
+                source, group.size(), e.getMessage());
+            return Map.of();
+        } finally {
+            sample.stop(Timer.builder("tracking.batch.fetch")
+                .description("Listing page fetches, each covering several matches")
+                .tag("provider", String.valueOf(group.get(0).getProvider()))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    private String listingSource(Match match) {
+        try {
+            return trackingEngine.listingSource(match);
+        } catch (Exception e) {
+            log.debug("No listing source for match {}: {}", match.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void countBatched(ProviderType provider, String source) {
+        Counter.builder("tracking.batch.matches")
+            .description("Matches of a batch, updated from the listing or fetched on their own page")
+            .tag("provider", String.valueOf(provider))
+            .tag("source", source)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private void trackOne(String cycle, Match match) {
+        // Only the caller that wins the single-flight slot scrapes
+        trackOne(cycle, match, () -> trackingEngine.trackMatch(match));
+    }
+
+    /**
+     * Sends the request from the worker and frees it: the match is updated back on its provider's
+     * pool once the page has arrived
+     */
+    private CompletableFuture<Void> trackAsync(String cycle, Match match) {
+        Executor continuation = continuation(match.getProvider());
+        long start = System.nanoTime();
+
+        return singleFlight.trackAsync(match, () -> trackingEngine.fetchAsync(match, continuation)
+                .handleAsync((snapshot, failure) -> {
+                    trackingEngine.trackFetched(match, snapshot, failure);
+                    return null;
+                }, continuation))
+            .handle((tracked, error) -> {
+                String outcome = "success";
+                if (error != null) {
+                    outcome = "error";
+                    log.error("Error tracking match {} in cycle '{}': {}",
+                        match.getId(), cycle, error.getMessage(), error);
+                }
+                recordLatency(cycle, match, outcome, System.nanoTime() - start);
+                return null;
+            });
+    }
+
+    /**
+     * Runs the end of an asynchronous fetch on the provider's pool, or on the thread that completed
+     * it when the pool is saturated: the page is already downloaded, dropping it would waste it
+     */
+    private Executor continuation(ProviderType provider) {
+        Executor pool = providerExecutors.get(provider);
+        return task -> {
+            try {
+                pool.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
+    private void trackOne(String cycle, Match match, Runnable tracking) {
+        String outcome = "success";
+        long start = System.nanoTime();
+
+        try {
+            singleFlight.track(match, tracking);
+        } catch (Exception e) {
+            outcome = "error";
+            log.error("Error tracking match {} in cycle '{}': {}",
+                match.getId(), cycle, e.getMessage(), e);
+        } finally {
+            if (Thread.currentThread().isInterrupted()) {
+                outcome = "interrupted";
+            }
+            recordLatency(cycle, match, outcome, System.nanoTime() - start);
+        }
+    }
+
+    private void recordLatency(String cycle, Match match, String outcome, long elapsedNanos) {
+        Timer.builder("tracking.match.latency")
+            .description("Time spent tracking a single match, once picked up by its provider pool")
+            .tag("cycle", cycle)
+            .tag("provider", String.valueOf(match.getProvider()))
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private ExecutorService providerPool(ProviderType provider, int parallelism, int queueCapacity) {
+        int threads = Math.max(1, parallelism);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            namedThreadFactory("tracking-" + provider.name().toLowerCase().replace('_', '-')),
+            new ThreadPoolExecutor.AbortPolicy());
+        // Queue depth, active threads and rejections per provider
+        new ExecutorServiceMetrics(pool, "tracking.executor", Tags.of("provider", provider.name()))
+            .bindTo(meterRegistry);
+        return pool;
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        for (Executor executor : providerExecutors.values()) {
+            if (executor instanceof ExecutorService executorService) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Caps the number of concurrent fetches against one provider, whoever the caller is
+ * (tracking executor, manual refresh...). Calls over the limit fail fast once
+ * the bulkhead's max wait has elapsed instead of piling up behind a slow site.
+ * A batch fetch takes a single slot, like the one listing request it replaces matches with.
+ * An asynchronous fetch holds its slot until the page has arrived, not just while it is sent.
+ */
+class BulkheadScraperProvider implements MatchScraperProvider {
+
+    private final MatchScraperProvider delegate;
+    private final Bulkhead bulkhead;
+
+    BulkheadScraperProvider(MatchScraperProvider delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public ProviderType supports() {
+        return delegate.supports();
+    }
+
+    @Override
+    public boolean usesBrowser() {
+        return delegate.usesBrowser();
+    }
+
+    @Override
+    public boolean usesBrowser(String url) {
+        return delegate.usesBrowser(url);
+    }
+
+    @Override
+    public MatchSnapshot fetch(String url) {
+        try {
+            return bulkhead.executeSupplier(() -> delegate.fetch(url));
+        } catch (BulkheadFullException e) {
+            throw new ProviderSaturatedException(
+                "Bulkhead '" + bulkhead.getName() + "' is full, fetch skipped: " + url, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<MatchSnapshot> fetchAsync(String url, Executor worker) {
+        return bulkhead.executeCompletionStage(() -> delegate.fetchAsync(url, worker))
+            .toCompletableFuture()
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof BulkheadFullException) {
+                    throw new ProviderSaturatedException(
+                        "Bulkhead '" + bulkhead.getName() + "' is full, fetch skipped: " + url, cause);
+                }
+                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+            });
+    }
+
+    @Override
+    public String listingSource(Match match) {
+        return delegate.listingSource(match);
+    }
+
+    @Override
+    public Map<Long, MatchSnapshot> fetchBatch(Collection<Match> matches) {
+        try {
+            return bulkhead.executeSupplier(() -> delegate.fetchBatch(matches));
+        } catch (BulkheadFullException e) {
+            throw new ProviderSaturatedException(
+                "Bulkhead '" + bulkhead.getName() + "' is full, batch of " + matches.size() + " skipped", e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Tries the plain-HTTP provider first and only falls back to the browser one when the page,
+ * as served, lacks what the poll needs:
+ * - no match data at all
+ * - a started or finished match without its score
+ * - a LiveScore penalty shootout without the shootout score (only the browser reads it)
+ * - a score on a match still marked as scheduled
+ *
+ * Each URL remembers how its static fetches went. After staticFailures consecutive escalations
+ * the URL goes straight to the browser, retrying the static path every reprobeEvery polls in
+ * case the page changed (e.g. the shootout is over).
+ *
+ * Asynchronous fetches download the static page without holding a thread; only an escalation,
+ * or a URL already on the browser path, takes a worker.
+ *
+ * Batches go to the plain-HTTP provider only: listing entries that lack something are dropped
+ * from the result, so those matches are fetched on their own page, browser fallback included.
+ */
+@Slf4j
+class HybridScraperProvider implements MatchScraperProvider {
+
+    private static final int MAX_TRACKED_URLS = 2000;
+
+    private final MatchScraperProvider staticProvider;
+    private final MatchScraperProvider browserProvider;
+    private final MeterRegistry meterRegistry;
+    private final int staticFailures;
+    private final int reprobeEvery;
+    private final Map<String, PathStats> stats = new ConcurrentHashMap<>();
+
+    HybridScraperProvider(MatchScraperProvider staticProvider,
+                          MatchScraperProvider browserProvider,
+                          MeterRegistry meterRegistry,
+                          int staticFailures,
+                          int reprobeEvery) {
+        this.staticProvider = staticProvider;
+        this.browserProvider = browserProvider;
+        this.meterRegistry = meterRegistry;
+        this.staticFailures = staticFailures;
+        this.reprobeEvery = reprobeEvery;
+    }
+
+    @Override
+    public ProviderType supports() {
+        return staticProvider.supports();
+    }
+
+    @Override
+    public boolean usesBrowser() {
+        return true;
+    }
+
+    /**
+     * Only URLs whose next poll skips the static path go to the browser directly
+     */
+    @Override
+    public boolean usesBrowser(String url) {
+        PathStats path = stats.get(url);
+        return path != null && path.sticky(staticFailures, reprobeEvery);
+    }
+
+    @Override
+    public MatchSnapshot fetch(String url) {
+        PathStats path = statsFor(url);
+        if (!path.tryStatic(staticFailures, reprobeEvery)) {
+            return browser(url, null, "sticky");
+        }
+
+        MatchSnapshot snapshot;
+        try {
+            snapshot = staticProvider.fetch(url);
+        } catch (ProviderSaturatedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.debug("Static fetch of {} failed, using the browser: {}", url, e.getMessage());
+            path.failed();
+            return browser(url, null, "error");
+        }
+
+        String missing = missing(snapshot);
+        if (missing == null) {
+            path.succeeded();
+            count("static", "ok");
+            return snapshot;
+        }
+        log.debug("Static fetch of {} is not enough ({}), using the browser", url, missing);
+        path.failed();
+        return browser(url, snapshot, missing);
+    }
+
+    @Override
+    public CompletableFuture<MatchSnapshot> fetchAsync(String url, Executor worker) {
+        PathStats path = statsFor(url);
+        if (!path.tryStatic(staticFailures, reprobeEvery)) {
+            return CompletableFuture.supplyAsync(() -> browser(url, null, "sticky"), worker);
+        }
+
+        return staticProvider.fetchAsync(url, worker)
+            .handle((snapshot, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                if (cause instanceof ProviderSaturatedException) {
+                    return CompletableFuture.<MatchSnapshot>failedFuture(cause);
+                }
+                if (cause != null) {
+                    log.debug("Static fetch of {} failed, using the browser: {}", url, cause.getMessage());
+                    path.failed();
+                    return CompletableFuture.supplyAsync(() -> browser(url, null, "error"), worker);
+                }
+
+                String missing = missing(snapshot);
+                if (missing == null) {
+                    path.succeeded();
+                    count("static", "ok");
+                    return CompletableFuture.completedFuture(snapshot);
+                }
+                log.debug("Static fetch of {} is not enough ({}), using the browser", url, missing);
+                path.failed();
+                return CompletableFuture.supplyAsync(() -> browser(url, snapshot, missing), worker);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    @Override
+    public String listingSource(Match match) {
+        return staticProvider.listingSource(match);
+    }
+
+    @Override
+    public Map<Long, MatchSnapshot> fetchBatch(Collection<Match> matches) {
+        Map<Long, MatchSnapshot> complete = new HashMap<>();
+        staticProvider.fetchBatch(matches).forEach((matchId, snapshot) -> {
+            String missing = missing(snapshot);
+            if (missing == null) {
+                complete.put(matchId, snapshot);
+                count("listing", "ok");
+            } else {
+                count("listing", missing);
+            }
+        });
+        return complete;
+    }
+
+    /**
+     * @param partial static result, returned if the browser has no free session
+     */
+    private MatchSnapshot browser(String url, MatchSnapshot partial, String reason) {
+        try {
+            MatchSnapshot snapshot = browserProvider.fetch(url);
+            count("browser", reason);
+            return snapshot;
+        } catch (ProviderSaturatedException e) {
+            if (partial != null && partial.isFound()) {
+                log.info("No browser session for {}, keeping the static result", url);
+                count("static", "degraded");
+                return partial;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return why the snapshot is not enough, null if it is
+     */
+    String missing(MatchSnapshot snapshot) {
+        if (snapshot == null || !snapshot.isFound()) {
+            return "not-found";
+        }
+        MatchStatus status = snapshot.getMatchStatus() != null
+            ? snapshot.getMatchStatus()
+            : MatchStatusClassifier.classify(snapshot.getStatus(), supports());
+        boolean hasScore = snapshot.getHome() != null && snapshot.getAway() != null;
+        if (status == MatchStatus.SCHEDULED) {
+            return hasScore ? "inconsistent" : null;
+        }
+        if (!hasScore) {
+            return "missing-score";
+        }
+        if (supports() == ProviderType.LIVE_SCORE && isShootout(snapshot.getStatus())
+            && (snapshot.getPenaltyHome() == null || snapshot.getPenaltyAway() == null)) {
+            return "missing-penalties";
+        }
+        return null;
+    }
+
+    private static boolean isShootout(String status) {
+        if (status == null) {
+            return false;
+        }
+        String text = status.trim().toUpperCase(Locale.ROOT);
+        return text.equals("PEN") || text.equals("AP") || text.contains("PENALTIES") || text.contains("AFTER PEN");
+    }
+
+    private PathStats statsFor(String url) {
+        PathStats path = stats.get(url);
+        if (path != null) {
+            return path;
+        }
+        if (stats.size() >= MAX_TRACKED_URLS) {
+            // Matches come and go: forget the URL polled least recently
+            stats.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastPoll))
+                .ifPresent(oldest -> stats.remove(oldest.getKey()));
+        }
+        return stats.computeIfAbsent(url, key -> new PathStats());
+    }
+
+    PathStats stats(String url) {
+        return stats.get(url);
+    }
+
+    private void count(String path, String reason) {
+        Counter.builder("scraper.hybrid.fetch")
+            .description("Hybrid fetches by path taken and escalation reason")
+            .tag("provider", supports().name())
+            .tag("path", path)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * How the static path fared for one URL
+     */
+    static final class PathStats {
+
+        private int consecutiveFailures;
+        private int skipped;
+        private volatile long lastPoll = System.nanoTime();
+
+        synchronized boolean tryStatic(int staticFailures, int reprobeEvery) {
+            lastPoll = System.nanoTime();
+            if (consecutiveFailures < staticFailures) {
+                return true;
+            }
+            if (++skipped >= reprobeEvery) {
+                skipped = 0;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Whether the next {@link #tryStatic} would skip the static path, without counting a poll
+         */
+        synchronized boolean sticky(int staticFailures, int reprobeEvery) {
+            return consecutiveFailures >= staticFailures && skipped + 1 < reprobeEvery;
+        }
+
+        synchronized void succeeded() {
+            consecutiveFailures = 0;
+            skipped = 0;
+        }
+
+        synchronized void failed() {
+            consecutiveFailures++;
+        }
+
+        synchronized int consecutiveFailures() {
+            return consecutiveFailures;
+        }
+    }
+}
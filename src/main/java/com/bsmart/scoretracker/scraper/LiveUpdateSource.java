@@ -0,0 +1,34 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+
+import java.util.function.Consumer;
+
+/**
+ * Push counterpart of {@link MatchScraperProvider}: attaches to a provider's live-update
+ * channel and emits a snapshot for every update, instead of waiting for the next poll.
+ */
+public interface LiveUpdateSource {
+
+    /**
+     * Returns the provider type this implementation supports
+     */
+    ProviderType supports();
+
+    /**
+     * Starts receiving updates for a match. Reconnects on its own until the subscription is closed.
+     * @param url      The match URL
+     * @param listener Called with each pushed snapshot, on the source's own thread
+     * @return handle to stop the updates
+     */
+    Subscription subscribe(String url, Consumer<MatchSnapshot> listener);
+
+    interface Subscription extends AutoCloseable {
+
+        boolean isConnected();
+
+        @Override
+        void close();
+    }
+}
@@ -1,8 +1,15 @@
 package com.bsmart.scoretracker.scraper;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface MatchScraperProvider {
 
     /**
@@ -16,4 +23,61 @@ public interface MatchScraperProvider {
      * @return MatchSnapshot containing scraped data
      */
     MatchSnapshot fetch(String url);
+
+    /**
+     * Fetches match data without holding the calling thread while the page downloads.
+     * Providers without an asynchronous client fetch on the calling thread.
+     *
+     * @param url The match URL
+     * @param worker Runs the blocking work the fetch may need once the page is in (e.g. a browser
+     *               fallback), instead of the thread that completed the download
+     * @return the snapshot {@link #fetch} would return, or the exception it would throw
+     */
+    default CompletableFuture<MatchSnapshot> fetchAsync(String url, Executor worker) {
+        try {
+            return CompletableFuture.completedFuture(fetch(url));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Whether fetches may drive a browser. Plain-HTTP providers are tried first when both
+     * kinds are available for a provider type.
+     */
+    default boolean usesBrowser() {
+        return false;
+    }
+
+    /**
+     * Whether fetching this URL will drive a browser, for providers that choose per page
+     * @param url The match URL
+     */
+    default boolean usesBrowser(String url) {
+        return usesBrowser();
+    }
+
+    /**
+     * Listing page (competition, day of fixtures...) that carries the score of this match along
+     * with others. Matches with the same listing source can be fetched together by {@link #fetchBatch}.
+     *
+     * @return the listing URL, null if the match can only be fetched on its own page
+     */
+    default String listingSource(Match match) {
+        return null;
+    }
+
+    /**
+     * Fetches several matches sharing a listing source, with as few requests as possible
+     *
+     * @param matches Matches with the same {@link #listingSource}
+     * @return snapshots by match id; matches missing from the result are left to {@link #fetch}
+     */
+    default Map<Long, MatchSnapshot> fetchBatch(Collection<Match> matches) {
+        Map<Long, MatchSnapshot> snapshots = new HashMap<>();
+        for (Match match : matches) {
+            snapshots.put(match.getId(), fetch(match.getMatchUrl()));
+        }
+        return snapshots;
+    }
 }
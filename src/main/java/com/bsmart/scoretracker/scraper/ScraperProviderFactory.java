@@ -1,25 +1,63 @@
 package com.bsmart.scoretracker.scraper;
 
 import com.bsmart.scoretracker.model.enums.ProviderType;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Dispatches fetches to the provider of a match. Each provider sits behind its own
+ * Resilience4j bulkhead (named like its circuit breaker, e.g. liveScoreScraper), so a
+ * slow provider can only exhaust its own slots.
+ *
+ * With both the selenium and jsoup profiles active, a provider type has a plain-HTTP and a
+ * browser implementation: they are chained in a {@link HybridScraperProvider}, Jsoup first.
+ */
 @Component
-@Profile("selenium")
+@Profile({"selenium", "jsoup"})
+@Slf4j
 public class ScraperProviderFactory {
 
     private final Map<ProviderType, MatchScraperProvider> providers;
 
-    public ScraperProviderFactory(List<MatchScraperProvider> providerList) {
+    public ScraperProviderFactory(List<MatchScraperProvider> providerList,
+                                  BulkheadRegistry bulkheadRegistry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${tracking.bulkhead.max-concurrent-calls:4}") int maxConcurrentCalls,
+                                  @Value("${tracking.bulkhead.max-wait:2000}") long maxWaitMs,
+                                  @Value("${scraper.hybrid.static-failures:3}") int staticFailures,
+                                  @Value("${scraper.hybrid.reprobe-every:10}") int reprobeEvery) {
+        // Used only for providers without a resilience4j.bulkhead.instances.* entry
+        BulkheadConfig defaultConfig = BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+            .build();
+
         this.providers = providerList.stream()
+            .collect(Collectors.groupingBy(MatchScraperProvider::supports))
+            .entrySet().stream()
             .collect(Collectors.toMap(
-                MatchScraperProvider::supports,
-                Function.identity()
+                Map.Entry::getKey,
+                entry -> {
+                    MatchScraperProvider provider = chain(entry.getKey(), entry.getValue(),
+                        meterRegistry, staticFailures, reprobeEvery);
+                    String name = bulkheadName(provider.supports());
+                    Bulkhead bulkhead = bulkheadRegistry.find(name)
+                        .orElseGet(() -> bulkheadRegistry.bulkhead(name, defaultConfig));
+                    log.info("Provider {} behind bulkhead '{}' (maxConcurrentCalls={})",
+                        provider.supports(), name, bulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+                    return new BulkheadScraperProvider(provider, bulkhead);
+                }
             ));
     }
 
@@ -30,4 +68,29 @@ public class ScraperProviderFactory {
         }
         return provider;
     }
+
+    private static MatchScraperProvider chain(ProviderType type,
+                                              List<MatchScraperProvider> candidates,
+                                              MeterRegistry meterRegistry,
+                                              int staticFailures,
+                                              int reprobeEvery) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        Map<Boolean, List<MatchScraperProvider>> byKind = candidates.stream()
+            .collect(Collectors.partitioningBy(MatchScraperProvider::usesBrowser));
+        if (byKind.get(false).size() != 1 || byKind.get(true).size() != 1) {
+            throw new IllegalStateException("Expected one plain-HTTP and one browser provider for " + type);
+        }
+        log.info("Provider {}: Jsoup first, browser fallback", type);
+        return new HybridScraperProvider(byKind.get(false).get(0), byKind.get(true).get(0), meterRegistry,
+            staticFailures, reprobeEvery);
+    }
+
+    static String bulkheadName(ProviderType type) {
+        return switch (type) {
+            case LIVE_SCORE -> "liveScoreScraper";
+            case ONE_FOOTBALL -> "oneFootballScraper";
+        };
+    }
 }
@@ -0,0 +1,243 @@
+package com.bsmart.scoretracker.scraper.http;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.brotli.dec.BrotliInputStream;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Shared HTTP client for the pages scraped without a browser.
+ *
+ * One {@link HttpClient} for every provider: HTTP/2 when the site offers it, connections kept
+ * alive and reused per host, compressed responses (br, gzip, deflate) decoded here. Requests
+ * are asynchronous and run on a few threads, so many matches can be fetched at once; callers
+ * only parse the returned bytes.
+ *
+ * The ETag and Last-Modified of each page are kept: a conditional fetch sends them back
+ * (If-None-Match, If-Modified-Since), and a 304 answer comes back as a page without body.
+ * Sites that send neither validator are simply fetched in full.
+ */
+public class PageFetcher implements DisposableBean {
+
+    private static final String ACCEPT_ENCODING = "br, gzip, deflate";
+    private static final int MAX_VALIDATORS = 1000;
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final String userAgent;
+    private final Duration requestTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    public PageFetcher(MeterRegistry meterRegistry,
+                       String userAgent,
+                       Duration connectTimeout,
+                       Duration requestTimeout,
+                       int threads) {
+        this.meterRegistry = meterRegistry;
+        this.userAgent = userAgent;
+        this.requestTimeout = requestTimeout;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "page-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(connectTimeout)
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * Fetches a page. Completes exceptionally with an IOException on network errors and non-2xx answers.
+     */
+    public CompletableFuture<Page> fetchAsync(String url) {
+        return fetchAsync(url, false);
+    }
+
+    /**
+     * @param conditional send the validators of the previous fetch: the page may come back not modified
+     */
+    public CompletableFuture<Page> fetchAsync(String url, boolean conditional) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(requestTimeout)
+            .header("User-Agent", userAgent)
+            .header("Accept", "text/html,application/xhtml+xml,application/json;q=0.9,*/*;q=0.8")
+            .header("Accept-Encoding", ACCEPT_ENCODING)
+            .GET();
+        Validators previous = conditional ? validators.get(url) : null;
+        if (previous != null) {
+            if (previous.etag() != null) {
+                builder.header("If-None-Match", previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                builder.header("If-Modified-Since", previous.lastModified());
+            }
+        }
+        HttpRequest request = builder.build();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                if (response.statusCode() == 304 && previous != null) {
+                    return toPage(response);
+                }
+                if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                    throw new CompletionException(
+                        new IOException("HTTP " + response.statusCode() + " for " + url));
+                }
+                remember(url, response.headers());
+                return toPage(response);
+            })
+            .whenComplete((page, error) -> sample.stop(Timer.builder("scraper.http.fetch")
+                .description("Page fetches without a browser")
+                .tag("host", request.uri().getHost())
+                .tag("outcome", error != null ? "error" : page.notModified() ? "not-modified" : "success")
+                .tag("protocol", page == null ? "none" : page.protocol())
+                .register(meterRegistry)));
+    }
+
+    /**
+     * Blocking variant of {@link #fetchAsync(String, boolean)}
+     */
+    public Page fetch(String url, boolean conditional) throws IOException {
+        try {
+            return fetchAsync(url, conditional).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Fetch failed for " + url + ": " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Blocking variant of {@link #fetchAsync(String)}
+     */
+    public Page fetch(String url) throws IOException {
+        return fetch(url, false);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void remember(String url, HttpHeaders headers) {
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            validators.remove(url);
+            return;
+        }
+        if (validators.size() >= MAX_VALIDATORS && !validators.containsKey(url)) {
+            validators.clear();
+        }
+        validators.put(url, new Validators(etag, lastModified));
+    }
+
+    private Page toPage(HttpResponse<byte[]> response) {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        DistributionSummary.builder("scraper.http.fetch.bytes")
+            .description("Page size on the wire, by content encoding")
+            .baseUnit("bytes")
+            .tag("encoding", encoding.toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .record(response.body().length);
+        try {
+            return new Page(response.uri(), response.statusCode(), response.headers(),
+                decode(response.body(), encoding), charset(response.headers()),
+                response.version() == HttpClient.Version.HTTP_2 ? "h2" : "http/1.1");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode " + encoding + " body of " + response.uri(), e);
+        }
+    }
+
+    /**
+     * Undoes the content codings, applied in the order listed
+     */
+    static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        String[] codings = contentEncoding.split(",");
+        byte[] decoded = body;
+        for (int i = codings.length - 1; i >= 0; i--) {
+            String coding = codings[i].trim().toLowerCase(Locale.ROOT);
+            InputStream in = switch (coding) {
+                case "br" -> new BrotliInputStream(new ByteArrayInputStream(decoded));
+                case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(decoded));
+                case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(decoded));
+                default -> null;
+            };
+            if (in != null) {
+                try (in) {
+                    decoded = in.readAllBytes();
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private static String charset(HttpHeaders headers) {
+        return headers.firstValue("Content-Type")
+            .map(type -> {
+                for (String parameter : type.split(";")) {
+                    String[] pair = parameter.trim().split("=", 2);
+                    if (pair.length == 2 && pair[0].equalsIgnoreCase("charset")) {
+                        return pair[1].replace("\"", "").trim();
+                    }
+                }
+                return null;
+            })
+            .orElse(null);
+    }
+
+    private record Validators(String etag, String lastModified) {
+    }
+
+    /**
+     * A fetched page, body already decoded
+     *
+     * @param charset  charset announced by the server, null to let Jsoup detect it
+     * @param protocol "h2" or "http/1.1"
+     */
+    public record Page(URI uri, int statusCode, HttpHeaders headers, byte[] body, String charset, String protocol) {
+
+        /**
+         * @return true for a 304 answer to a conditional fetch: the page has no body
+         */
+        public boolean notModified() {
+            return statusCode == 304;
+        }
+
+        public Document document() throws IOException {
+            return Jsoup.parse(new ByteArrayInputStream(body), charset, uri.toString());
+        }
+    }
+}
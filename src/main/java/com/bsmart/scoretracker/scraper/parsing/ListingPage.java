@@ -0,0 +1,162 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the entries of several matches in the Next.js payload of a listing page
+ * (competition fixtures, matches of the day).
+ *
+ * A match is known by the provider id that ends its page URL. An object of the payload is the
+ * entry of a match when one of its id fields holds that id, or one of its link fields points
+ * to a URL ending with it. The outermost such object wins: the team objects nested in an entry
+ * belong to it. Fields are then read from the entry by the provider, which knows their names.
+ */
+@Slf4j
+public final class ListingPage {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Set<String> ID_FIELDS = Set.of("id", "eventId", "matchId");
+    private static final Set<String> LINK_FIELDS = Set.of("link", "url", "href");
+    private static final Pattern MINUTE = Pattern.compile("^\\s*(\\d+)(?:\\s*\\+\\s*(\\d+))?");
+
+    private ListingPage() {
+    }
+
+    /**
+     * @param url Match page URL, e.g. https://onefootball.com/en/match/2412345
+     * @return the provider id of the match (last path segment, digits only), null if the URL has none
+     */
+    public static String matchId(String url) {
+        if (url == null) {
+            return null;
+        }
+        String path;
+        try {
+            path = URI.create(url.trim()).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (path == null) {
+            return null;
+        }
+        String[] segments = path.split("/");
+        for (int i = segments.length - 1; i >= 0; i--) {
+            if (!segments[i].isEmpty()) {
+                return segments[i].chars().allMatch(Character::isDigit) ? segments[i] : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param json     __NEXT_DATA__ content of the listing page
+     * @param matchIds Provider ids of the matches looked for
+     * @return entry of each match found, by provider id
+     */
+    public static Map<String, JsonNode> entries(String json, Set<String> matchIds) {
+        if (json == null || json.isBlank() || matchIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        JsonNode root;
+        try {
+            root = JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            log.warn("Listing payload is not JSON: {}", e.getOriginalMessage());
+            return Collections.emptyMap();
+        }
+        Map<String, JsonNode> entries = new HashMap<>();
+        collect(root, matchIds, entries);
+        return entries;
+    }
+
+    /**
+     * @return text of a scalar field, null if missing, null or empty
+     */
+    public static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isValueNode() || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * @return the running minute of a live status, stoppage time included ("67'" gives "67",
+     *         "45+2'" gives "45+2"), null if the status is not a minute
+     */
+    public static String minute(String status) {
+        if (status == null || !status.contains("'")) {
+            return null;
+        }
+        Matcher matcher = MINUTE.matcher(status);
+        if (!matcher.find()) {
+            return null;
+        }
+        return matcher.group(2) != null ? matcher.group(1) + "+" + matcher.group(2) : matcher.group(1);
+    }
+
+    /**
+     * @return a scalar field as an integer, null if missing, "-" or not a number
+     */
+    public static Integer integer(JsonNode node, String field) {
+        String value = text(node, field);
+        if (value == null || value.equals("-")) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.debug("Value '{}' of {} is not a number", value, field);
+            return null;
+        }
+    }
+
+    private static void collect(JsonNode node, Set<String> matchIds, Map<String, JsonNode> entries) {
+        if (entries.size() == matchIds.size()) {
+            return;
+        }
+        if (node.isObject()) {
+            String matchId = entryOf(node, matchIds);
+            if (matchId != null) {
+                entries.putIfAbsent(matchId, node);
+                return;
+            }
+        }
+        Iterator<JsonNode> children = node.elements();
+        while (children.hasNext()) {
+            collect(children.next(), matchIds, entries);
+        }
+    }
+
+    private static String entryOf(JsonNode node, Set<String> matchIds) {
+        for (String field : ID_FIELDS) {
+            String id = text(node, field);
+            if (id != null && matchIds.contains(id)) {
+                return id;
+            }
+        }
+        for (String field : LINK_FIELDS) {
+            String link = text(node, field);
+            if (link != null) {
+                String id = matchId(link);
+                if (id != null && matchIds.contains(id)) {
+                    return id;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,187 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns a provider's status text ("LIVE", "FT", "Half Time", "67'"...) into a {@link MatchStatus}.
+ *
+ * Each provider has an ordered table of rules, compiled once: the first rule with a matching
+ * token wins, SCHEDULED otherwise. The canonical names (IN_PLAY, PAUSED, FINISHED, SCHEDULED)
+ * are recognized for every provider, so a provider that already knows the status can pass it as is.
+ *
+ * Results are memoized per provider on the raw text. Providers only emit a handful of distinct
+ * values, so after warm-up a classification is a single map lookup and allocates nothing.
+ * The memo is bounded: past MEMO_SIZE distinct values, new ones are classified without being kept.
+ */
+public final class MatchStatusClassifier {
+
+    static final int MEMO_SIZE = 512;
+
+    private static final Map<ProviderType, List<Rule>> RULES = new EnumMap<>(ProviderType.class);
+    private static final Map<ProviderType, Map<String, MatchStatus>> MEMO = new EnumMap<>(ProviderType.class);
+
+    static {
+        RULES.put(ProviderType.ONE_FOOTBALL, List.of(
+            new Rule(MatchStatus.FINISHED, contains("FT"), contains("FINISHED"), contains("FULL TIME"),
+                contains("FULLTIME")),
+            new Rule(MatchStatus.PAUSED, contains("HT"), contains("HALF TIME"), contains("HALFTIME")),
+            new Rule(MatchStatus.IN_PLAY, contains("LIVE"), contains("'"), digit())
+        ));
+        RULES.put(ProviderType.LIVE_SCORE, List.of(
+            // HALFTIME before FT, which it contains
+            new Rule(MatchStatus.PAUSED, contains("HALFTIME"), contains("HALF TIME"), contains("HT")),
+            new Rule(MatchStatus.FINISHED, contains("AET"), contains("AFTER EXTRA TIME")),
+            new Rule(MatchStatus.FINISHED, contains("AP"), contains("AFTER PENALTIES")),
+            new Rule(MatchStatus.IN_PLAY, contains("EXTRA TIME"), word("ET")),
+            // A penalty shootout is still in play
+            new Rule(MatchStatus.IN_PLAY, contains("PEN"), contains("PENALTIES")),
+            new Rule(MatchStatus.FINISHED, contains("FT"), contains("FINISHED"), contains("FULL TIME")),
+            new Rule(MatchStatus.IN_PLAY, contains("LIVE"), minute())
+        ));
+        for (ProviderType provider : ProviderType.values()) {
+            RULES.putIfAbsent(provider, List.of());
+            MEMO.put(provider, new ConcurrentHashMap<>());
+        }
+    }
+
+    private MatchStatusClassifier() {
+    }
+
+    /**
+     * @param rawStatus Status text as scraped, null if none
+     * @param provider  Provider the text comes from
+     * @return the match status, SCHEDULED when the text is missing or not recognized
+     */
+    public static MatchStatus classify(String rawStatus, ProviderType provider) {
+        if (rawStatus == null || provider == null) {
+            return MatchStatus.SCHEDULED;
+        }
+        Map<String, MatchStatus> memo = MEMO.get(provider);
+        MatchStatus status = memo.get(rawStatus);
+        if (status != null) {
+            return status;
+        }
+
+        status = evaluate(rawStatus.toUpperCase(Locale.ROOT).trim(), RULES.get(provider));
+        if (memo.size() < MEMO_SIZE) {
+            memo.putIfAbsent(rawStatus, status);
+        }
+        return status;
+    }
+
+    static int memoized(ProviderType provider) {
+        return MEMO.get(provider).size();
+    }
+
+    private static MatchStatus evaluate(String status, List<Rule> rules) {
+        for (MatchStatus canonical : MatchStatus.values()) {
+            if (canonical.name().equals(status)) {
+                return canonical;
+            }
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(status)) {
+                return rule.status();
+            }
+        }
+        return MatchStatus.SCHEDULED;
+    }
+
+    private static Token contains(String text) {
+        return new Token(Kind.CONTAINS, text);
+    }
+
+    private static Token word(String text) {
+        return new Token(Kind.WORD, text);
+    }
+
+    private static Token digit() {
+        return new Token(Kind.DIGIT, "");
+    }
+
+    private static Token minute() {
+        return new Token(Kind.MINUTE, "'");
+    }
+
+    private enum Kind {
+        /** Substring anywhere */
+        CONTAINS,
+        /** Whole word, as regex \bTEXT\b */
+        WORD,
+        /** Any digit */
+        DIGIT,
+        /** A digit followed by the minute mark: "67'" */
+        MINUTE
+    }
+
+    private record Token(Kind kind, String text) {
+
+        boolean matches(String status) {
+            return switch (kind) {
+                case CONTAINS -> status.contains(text);
+                case WORD -> containsWord(status, text);
+                case DIGIT -> containsDigit(status);
+                case MINUTE -> containsMinute(status);
+            };
+        }
+
+        private static boolean containsWord(String status, String word) {
+            int from = 0;
+            int at;
+            while ((at = status.indexOf(word, from)) >= 0) {
+                int end = at + word.length();
+                if ((at == 0 || !isWordChar(status.charAt(at - 1)))
+                    && (end == status.length() || !isWordChar(status.charAt(end)))) {
+                    return true;
+                }
+                from = at + 1;
+            }
+            return false;
+        }
+
+        private static boolean containsDigit(String status) {
+            for (int i = 0; i < status.length(); i++) {
+                if (isDigit(status.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean containsMinute(String status) {
+            for (int i = 1; i < status.length(); i++) {
+                if (status.charAt(i) == '\'' && isDigit(status.charAt(i - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isWordChar(char c) {
+            return isDigit(c) || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+        }
+    }
+
+    private record Rule(MatchStatus status, Token... tokens) {
+
+        boolean matches(String text) {
+            for (Token token : tokens) {
+                if (token.matches(text)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
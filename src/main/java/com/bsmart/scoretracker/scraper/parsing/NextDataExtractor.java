@@ -0,0 +1,156 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls named fields out of a provider's Next.js payload in a single streaming pass.
+ *
+ * The payload is either the page source (only the __NEXT_DATA__ script is read) or raw JSON
+ * as captured by PayloadCapture, possibly several documents one after the other. Fields are
+ * matched by name at any depth, in document order, without building a tree.
+ *
+ * A payload that is not JSON (page without __NEXT_DATA__) is scanned with one regex per
+ * field instead, the way the providers did before.
+ */
+@Slf4j
+public final class NextDataExtractor {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final String NEXT_DATA_ID = "id=\"__NEXT_DATA__\"";
+    private static final String SCRIPT_END = "</script>";
+
+    private NextDataExtractor() {
+    }
+
+    /**
+     * @param payload Page source or captured JSON
+     * @param fields  Names of the fields to collect
+     */
+    public static NextData extract(String payload, Set<String> fields) {
+        NextData data = new NextData();
+        if (payload == null || payload.isBlank()) {
+            return data;
+        }
+
+        int start = 0;
+        int end = payload.length();
+        int tag = payload.indexOf(NEXT_DATA_ID);
+        if (tag >= 0) {
+            int open = payload.indexOf('>', tag);
+            int close = open < 0 ? -1 : payload.indexOf(SCRIPT_END, open);
+            if (close > open) {
+                start = open + 1;
+                end = close;
+            }
+        }
+
+        try (JsonParser parser = JSON.createParser(payload.substring(start, end))) {
+            stream(parser, fields, data);
+            return data;
+        } catch (IOException e) {
+            log.debug("Payload is not JSON ({}), scanning it with regexes", e.getMessage());
+            return scan(payload, fields);
+        }
+    }
+
+    private static void stream(JsonParser parser, Set<String> fields, NextData data) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token != JsonToken.FIELD_NAME || !fields.contains(parser.currentName())) {
+                continue;
+            }
+            String field = parser.currentName();
+            data.present.add(field);
+            JsonToken value = parser.nextToken();
+            if (value != null && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                data.add(field, parser.getText());
+            }
+            // Objects and arrays are walked into: the fields they hold are collected too
+        }
+    }
+
+    private static NextData scan(String payload, Set<String> fields) {
+        NextData data = new NextData();
+        for (String field : fields) {
+            Matcher matcher = Pattern.compile("\"" + Pattern.quote(field) + "\"\\s*:\\s*\"([^\"]*)\"").matcher(payload);
+            while (matcher.find()) {
+                data.present.add(field);
+                data.add(field, matcher.group(1));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Values collected from one payload
+     */
+    public static final class NextData {
+
+        private final Map<String, List<String>> values = new HashMap<>();
+        private final Set<String> present = new HashSet<>();
+
+        private void add(String field, String value) {
+            values.computeIfAbsent(field, key -> new ArrayList<>()).add(value);
+        }
+
+        /**
+         * @return first non-empty scalar value of the field, null if none
+         */
+        public String first(String field) {
+            for (String value : values(field)) {
+                if (!value.isEmpty() && !value.equalsIgnoreCase("null")) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return first value of the field as an integer, null if missing, "-" or not a number
+         */
+        public Integer integer(String field) {
+            String value = first(field);
+            if (value == null || value.equals("-")) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                log.debug("Value '{}' of {} is not a number", value, field);
+                return null;
+            }
+        }
+
+        /**
+         * @return true if any occurrence of the field has this scalar value
+         */
+        public boolean has(String field, String value) {
+            return values(field).contains(value);
+        }
+
+        /**
+         * @return true if the field occurs, whatever its value (objects included)
+         */
+        public boolean contains(String field) {
+            return present.contains(field);
+        }
+
+        public List<String> values(String field) {
+            return values.getOrDefault(field, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per page, a fingerprint of the region the match data is read from and the
+ * snapshot it gave, so an identical page is neither parsed nor applied again.
+ *
+ * The region is the __NEXT_DATA__ script of an HTML page, or the whole payload when it is
+ * already JSON. An HTML page without __NEXT_DATA__ has no fingerprint and is always parsed:
+ * the rest of the page (ads, nonces, timestamps) changes on every request.
+ *
+ * A page found unchanged, by fingerprint or by a 304 answer to a conditional GET, gives a copy
+ * of the previous snapshot flagged unchanged.
+ */
+@Slf4j
+public class SnapshotFingerprints {
+
+    /** No usable region: never matches */
+    public static final long NONE = 0;
+
+    static final int MAX_PAGES = 1000;
+
+    private static final byte[] NEXT_DATA_ID = "id=\"__NEXT_DATA__\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SCRIPT_END = "</script>".getBytes(StandardCharsets.US_ASCII);
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    /**
+     * @param name Provider name, used as metric tag
+     */
+    public SnapshotFingerprints(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the last snapshot read from the page, null if none: the page may then be fetched conditionally
+     */
+    public MatchSnapshot previous(String url) {
+        Page page = pages.get(url);
+        return page == null ? null : page.snapshot();
+    }
+
+    /**
+     * @return the previous snapshot flagged unchanged if the region did not change, null otherwise
+     */
+    public MatchSnapshot unchanged(String url, long fingerprint) {
+        Page page = pages.get(url);
+        if (fingerprint == NONE || page == null || page.fingerprint() != fingerprint) {
+            return null;
+        }
+        return same(url, page, "fingerprint");
+    }
+
+    /**
+     * The server answered 304 Not Modified
+     *
+     * @return the previous snapshot flagged unchanged, null if it was forgotten in the meantime
+     */
+    public MatchSnapshot notModified(String url) {
+        Page page = pages.get(url);
+        return page == null ? null : same(url, page, "not-modified");
+    }
+
+    /**
+     * Keeps a freshly parsed snapshot for the next polls
+     *
+     * @return the snapshot
+     */
+    public MatchSnapshot remember(String url, long fingerprint, MatchSnapshot snapshot) {
+        if (snapshot == null || !snapshot.isFound()) {
+            pages.remove(url);
+            return snapshot;
+        }
+        if (pages.size() >= MAX_PAGES && !pages.containsKey(url)) {
+            // Finished matches are not polled anymore: forget the page read least recently
+            pages.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().readAt()))
+                .ifPresent(oldest -> pages.remove(oldest.getKey()));
+        }
+        pages.put(url, new Page(fingerprint, snapshot, System.nanoTime()));
+        return snapshot;
+    }
+
+    private MatchSnapshot same(String url, Page page, String via) {
+        pages.put(url, new Page(page.fingerprint(), page.snapshot(), System.nanoTime()));
+        Counter.builder("scraper.poll.unchanged")
+            .description("Polls that found the page unchanged and skipped parsing and persistence")
+            .tag("provider", name)
+            .tag("via", via)
+            .register(meterRegistry)
+            .increment();
+        log.debug("[{}] page unchanged ({}): {}", name, via, url);
+        return page.snapshot().toBuilder().unchanged(true).build();
+    }
+
+    /**
+     * Fingerprint of a page source or JSON payload
+     */
+    public static long fingerprint(String payload) {
+        if (payload == null || payload.isBlank()) {
+            return NONE;
+        }
+        int start = 0;
+        int end = payload.length();
+        int tag = payload.indexOf("id=\"__NEXT_DATA__\"");
+        if (tag >= 0) {
+            int open = payload.indexOf('>', tag);
+            int close = open < 0 ? -1 : payload.indexOf("</script>", open);
+            if (close < 0) {
+                return NONE;
+            }
+            start = open + 1;
+            end = close;
+        } else if (!isJson(payload)) {
+            return NONE;
+        }
+
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ payload.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash, end - start);
+    }
+
+    /**
+     * Fingerprint of a downloaded HTML page, read as bytes before any charset decoding
+     */
+    public static long fingerprint(byte[] body) {
+        int tag = indexOf(body, NEXT_DATA_ID, 0);
+        int open = tag < 0 ? -1 : indexOf(body, new byte[]{'>'}, tag);
+        int close = open < 0 ? -1 : indexOf(body, SCRIPT_END, open);
+        if (close < 0) {
+            return NONE;
+        }
+        long hash = FNV_OFFSET;
+        for (int i = open + 1; i < close; i++) {
+            hash = (hash ^ (body[i] & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash, close - open - 1);
+    }
+
+    private static long mix(long hash, int length) {
+        long mixed = hash ^ ((long) length << 32);
+        return mixed == NONE ? 1 : mixed;
+    }
+
+    private static boolean isJson(String payload) {
+        for (int i = 0; i < payload.length(); i++) {
+            char c = payload.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[';
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle, int from) {
+        outer:
+        for (int i = from; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private record Page(long fingerprint, MatchSnapshot snapshot, long readAt) {
+    }
+}
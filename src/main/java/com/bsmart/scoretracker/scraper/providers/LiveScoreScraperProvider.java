@@ -1,96 +1,147 @@
 package com.bsmart.scoretracker.scraper.providers;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
 import com.bsmart.scoretracker.exception.ScraperException;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.scraper.MatchScraperProvider;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import com.bsmart.scoretracker.scraper.parsing.NextDataExtractor;
+import com.bsmart.scoretracker.scraper.parsing.SnapshotFingerprints;
+import com.bsmart.scoretracker.scraper.webdriver.PageLoadAccounting;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import com.bsmart.scoretracker.scraper.webdriver.RenderProbe;
+import com.bsmart.scoretracker.scraper.webdriver.WebDriverPool;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
-import jakarta.inject.Provider;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
+import java.util.Set;
 
-@RequiredArgsConstructor
 @Slf4j
 @Profile("selenium")
 @Component
 public class LiveScoreScraperProvider implements MatchScraperProvider {
 
-    private final Provider<WebDriver> webDriverProvider;
+    private static final Set<String> FIELDS = Set.of("status", "eventStatus", "homeTeamScore", "awayTeamScore",
+        "penaltyHomeScore", "penaltyAwayScore");
+
+    private final WebDriverPool webDriverPool;
+    private final PayloadCapture payloadCapture;
+
+    private final RenderProbe renderProbe;
+    private final PageLoadAccounting pageLoadAccounting;
+    private final SnapshotFingerprints fingerprints;
+
+    public LiveScoreScraperProvider(WebDriverPool webDriverPool,
+                                    PayloadCapture payloadCapture,
+                                    MeterRegistry meterRegistry) {
+        this.webDriverPool = webDriverPool;
+        this.payloadCapture = payloadCapture;
+        // Score data ships in the server-rendered __NEXT_DATA__ payload
+        this.renderProbe = new RenderProbe("liveScore",
+            "var data = document.getElementById('__NEXT_DATA__');"
+                + " return !!data && data.textContent.length > 0;",
+            "__NEXT_DATA__", meterRegistry);
+        this.pageLoadAccounting = new PageLoadAccounting("liveScore", meterRegistry);
+        this.fingerprints = new SnapshotFingerprints("liveScore", meterRegistry);
+    }
 
     @Override
     public ProviderType supports() {
         return ProviderType.LIVE_SCORE;
     }
 
+    @Override
+    public boolean usesBrowser() {
+        return true;
+    }
+
     @Override
     @CircuitBreaker(name = "liveScoreScraper", fallbackMethod = "fallbackFetch")
     @RateLimiter(name = "liveScoreScraper")
     public MatchSnapshot fetch(String url) {
+        // No live tab: __NEXT_DATA__ is frozen after hydration and the page has no stable score
+        // nodes, so an open tab holds nothing newer than its first load. Every poll navigates.
         log.info("Scraping LiveScore: {}", url);
-        WebDriver webDriver = webDriverProvider.get();
+        MatchSnapshot snapshot;
+        WebDriver webDriver = webDriverPool.borrow();
+        boolean reusable = true;
 
-        try {
+        try (PayloadCapture.Capture capture = payloadCapture.start(webDriver)) {
+            long loadStart = System.nanoTime();
             webDriver.get(url);
-            WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(15));
-
-            // Wait for page body to load
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
-
-            // Additional wait for JavaScript to render
-            Thread.sleep(3000);
-
-            // Get page source to extract JSON data
-            String pageSource = webDriver.getPageSource();
-
-            // Extract data from __NEXT_DATA__ JSON
-            String minute = extractMinuteFromPage(pageSource);
-            String status = extractStatusFromPage(pageSource, minute);
-            Integer homeScore = extractHomeScoreFromPage(pageSource);
-            Integer awayScore = extractAwayScoreFromPage(pageSource);
-            Integer penaltyHomeScore = extractPenaltyHomeScoreFromPage(pageSource);
-            Integer penaltyAwayScore = extractPenaltyAwayScoreFromPage(pageSource);
-
-            if (penaltyHomeScore != null && penaltyAwayScore != null) {
-                log.info("LiveScore scrape result - Status: {}, Score: {}-{}, Penalties: {}-{}, Minute: {}",
-                    status, homeScore, awayScore, penaltyHomeScore, penaltyAwayScore, minute);
-            } else {
-                log.info("LiveScore scrape result - Status: {}, Score: {}-{}, Minute: {}",
-                    status, homeScore, awayScore, minute);
-            }
 
-            return MatchSnapshot.builder()
-                .status(status)
-                .home(homeScore)
-                .away(awayScore)
-                .minute(minute)
-                .rawStatus(status)
-                .found(true)
-                .penaltyHome(penaltyHomeScore)
-                .penaltyAway(penaltyAwayScore)
-                .build();
+            // Returns as soon as the data is in the page
+            renderProbe.awaitReady(webDriver);
+            pageLoadAccounting.record(webDriver, loadStart);
+
+            // Match JSON (__NEXT_DATA__ or captured responses), page source as last resort
+            String pageSource = capture.payload();
+            snapshot = extractIfChanged(url, pageSource);
 
         } catch (Exception e) {
+            // A page that did not render in time is fine; any other driver error may mean a broken session
+            reusable = !(e instanceof WebDriverException) || e instanceof TimeoutException;
             log.error("Failed to scrape LiveScore: {}", e.getMessage(), e);
             throw new ScraperException("LiveScore scraping failed: " + e.getMessage(), e);
         } finally {
-            if (webDriver != null) {
-                webDriver.quit();
-            }
+            webDriverPool.release(webDriver, reusable);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Skips parsing when the match data is the same as at the previous poll
+     */
+    private MatchSnapshot extractIfChanged(String url, String payload) {
+        long fingerprint = SnapshotFingerprints.fingerprint(payload);
+        MatchSnapshot same = fingerprints.unchanged(url, fingerprint);
+        return same != null ? same : fingerprints.remember(url, fingerprint, extractSnapshot(payload));
+    }
+
+    private MatchSnapshot extractSnapshot(String pageSource) {
+        // One streaming pass over __NEXT_DATA__ for every field
+        NextDataExtractor.NextData data = NextDataExtractor.extract(pageSource, FIELDS);
+
+        String minute = extractMinute(data);
+        String status = extractStatus(data, minute);
+        Integer homeScore = data.integer("homeTeamScore");
+        Integer awayScore = data.integer("awayTeamScore");
+        Integer penaltyHomeScore = data.integer("penaltyHomeScore");
+        Integer penaltyAwayScore = data.integer("penaltyAwayScore");
+
+        if (penaltyHomeScore != null && penaltyAwayScore != null) {
+            log.info("LiveScore scrape result - Status: {}, Score: {}-{}, Penalties: {}-{}, Minute: {}",
+                status, homeScore, awayScore, penaltyHomeScore, penaltyAwayScore, minute);
+        } else {
+            log.info("LiveScore scrape result - Status: {}, Score: {}-{}, Minute: {}",
+                status, homeScore, awayScore, minute);
         }
+
+        return MatchSnapshot.builder()
+            .status(status)
+            .matchStatus(MatchStatusClassifier.classify(status, ProviderType.LIVE_SCORE))
+            .home(homeScore)
+            .away(awayScore)
+            .minute(minute)
+            .rawStatus(status)
+            .found(true)
+            .penaltyHome(penaltyHomeScore)
+            .penaltyAway(penaltyAwayScore)
+            .build();
     }
 
-    private String extractStatusFromPage(String pageSource, String minute) {
+    private String extractStatus(NextDataExtractor.NextData data, String minute) {
         try {
             // CRITICAL: Check minute FIRST (more reliable than eventStatus)
             // LiveScore sometimes shows "EventScheduled" even when match is live!
@@ -139,13 +190,9 @@ public class LiveScoreScraperProvider implements MatchScraperProvider {
                 }
             }
 
-            // Extract eventStatus from JSON as FALLBACK only
-            String pattern = "\"eventStatus\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String eventStatus = matcher.group(1);
+            // eventStatus from JSON as FALLBACK only
+            String eventStatus = data.first("eventStatus");
+            if (eventStatus != null) {
                 log.debug("Extracted eventStatus: {}", eventStatus);
 
                 // Map LiveScore status to our status
@@ -175,119 +222,20 @@ public class LiveScoreScraperProvider implements MatchScraperProvider {
         }
     }
 
-    private Integer extractHomeScoreFromPage(String pageSource) {
-        try {
-            // Extract homeTeamScore from JSON: "homeTeamScore":"1"
-            String pattern = "\"homeTeamScore\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String score = matcher.group(1);
-                if (!score.equals("-") && !score.isEmpty()) {
-                    try {
-                        return Integer.parseInt(score);
-                    } catch (NumberFormatException e) {
-                        log.debug("Home score '{}' is not a number", score);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Error extracting home score: {}", e.getMessage());
+    private String extractMinute(NextDataExtractor.NextData data) {
+        // The "status" field carries the minute: "status":"50'"
+        String minute = data.first("status");
+        if (minute != null) {
+            log.debug("Extracted minute: {}", minute);
         }
-        return null;
-    }
-
-    private Integer extractAwayScoreFromPage(String pageSource) {
-        try {
-            // Extract awayTeamScore from JSON: "awayTeamScore":"0"
-            String pattern = "\"awayTeamScore\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String score = matcher.group(1);
-                if (!score.equals("-") && !score.isEmpty()) {
-                    try {
-                        return Integer.parseInt(score);
-                    } catch (NumberFormatException e) {
-                        log.debug("Away score '{}' is not a number", score);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Error extracting away score: {}", e.getMessage());
-        }
-        return null;
-    }
-
-    private String extractMinuteFromPage(String pageSource) {
-        try {
-            // Extract status (which contains minute) from JSON: "status":"50'"
-            String pattern = "\"status\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String minute = matcher.group(1);
-                if (!minute.isEmpty() && !minute.equalsIgnoreCase("null")) {
-                    log.debug("Extracted minute: {}", minute);
-                    return minute;
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not extract minute: {}", e.getMessage());
-        }
-        return null;
-    }
-
-    private Integer extractPenaltyHomeScoreFromPage(String pageSource) {
-        try {
-            // Extract penaltyHomeScore from JSON: "penaltyHomeScore":"0"
-            String pattern = "\"penaltyHomeScore\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String score = matcher.group(1);
-                if (!score.equals("-") && !score.isEmpty()) {
-                    try {
-                        return Integer.parseInt(score);
-                    } catch (NumberFormatException e) {
-                        log.debug("Penalty home score '{}' is not a number", score);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Error extracting penalty home score: {}", e.getMessage());
-        }
-        return null;
-    }
-
-    private Integer extractPenaltyAwayScoreFromPage(String pageSource) {
-        try {
-            // Extract penaltyAwayScore from JSON: "penaltyAwayScore":"1"
-            String pattern = "\"penaltyAwayScore\"\\s*:\\s*\"([^\"]+)\"";
-            java.util.regex.Pattern compiledPattern = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher matcher = compiledPattern.matcher(pageSource);
-
-            if (matcher.find()) {
-                String score = matcher.group(1);
-                if (!score.equals("-") && !score.isEmpty()) {
-                    try {
-                        return Integer.parseInt(score);
-                    } catch (NumberFormatException e) {
-                        log.debug("Penalty away score '{}' is not a number", score);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Error extracting penalty away score: {}", e.getMessage());
-        }
-        return null;
+        return minute;
     }
 
     private MatchSnapshot fallbackFetch(String url, Exception e) {
+        if (e instanceof ProviderSaturatedException saturated) {
+            // No browser session was free: nothing was scraped, let the caller retry later
+            throw saturated;
+        }
         log.error("Circuit breaker fallback for LiveScore: {}", url, e);
         return MatchSnapshot.builder()
             .found(false)
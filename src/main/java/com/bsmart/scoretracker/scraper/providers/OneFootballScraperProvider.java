@@ -1,57 +1,98 @@
 package com.bsmart.scoretracker.scraper.providers;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
 import com.bsmart.scoretracker.exception.ScraperException;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.scraper.MatchScraperProvider;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import com.bsmart.scoretracker.scraper.parsing.NextDataExtractor;
+import com.bsmart.scoretracker.scraper.webdriver.LiveTabSessionManager;
+import com.bsmart.scoretracker.scraper.webdriver.PageLoadAccounting;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import com.bsmart.scoretracker.scraper.webdriver.RenderProbe;
+import com.bsmart.scoretracker.scraper.webdriver.WebDriverPool;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
-import jakarta.inject.Provider;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
 
 @Component
 @Profile("selenium")
-@RequiredArgsConstructor
 @Slf4j
 public class OneFootballScraperProvider implements MatchScraperProvider {
 
-    private final Provider<WebDriver> webDriverProvider;
+    private static final Set<String> FIELDS = Set.of("timePeriod", "status", "liveBadge", "matchScore");
+
+    private final WebDriverPool webDriverPool;
+    private final PayloadCapture payloadCapture;
+    private final LiveTabSessionManager liveTabs;
+
+    private final RenderProbe renderProbe;
+    private final PageLoadAccounting pageLoadAccounting;
+
+    public OneFootballScraperProvider(WebDriverPool webDriverPool,
+                                      PayloadCapture payloadCapture,
+                                      LiveTabSessionManager liveTabs,
+                                      MeterRegistry meterRegistry) {
+        this.webDriverPool = webDriverPool;
+        this.payloadCapture = payloadCapture;
+        this.liveTabs = liveTabs;
+        // Scores are read from the DOM, which is only filled in once the client has hydrated
+        this.renderProbe = new RenderProbe("oneFootball",
+            "var data = document.getElementById('__NEXT_DATA__');"
+                + " return !!data && data.textContent.length > 0"
+                + " && !!document.querySelector(\"[data-testid='home-score']\");",
+            "__NEXT_DATA__", meterRegistry);
+        this.pageLoadAccounting = new PageLoadAccounting("oneFootball", meterRegistry);
+    }
 
     @Override
     public ProviderType supports() {
         return ProviderType.ONE_FOOTBALL;
     }
 
+    @Override
+    public boolean usesBrowser() {
+        return true;
+    }
+
     @Override
     @CircuitBreaker(name = "oneFootballScraper", fallbackMethod = "fallbackFetch")
     @RateLimiter(name = "oneFootballScraper")
     public MatchSnapshot fetch(String url) {
+        Optional<MatchSnapshot> live = liveTabs.read(url, this::readLiveTab);
+        if (live.isPresent()) {
+            log.debug("OneFootball read from live tab: {}", url);
+            return followInLiveTab(url, live.get());
+        }
+
         log.info("Scraping OneFootball: {}", url);
-        WebDriver webDriver = webDriverProvider.get();
+        MatchSnapshot snapshot;
+        WebDriver webDriver = webDriverPool.borrow();
+        boolean reusable = true;
 
-        try {
+        try (PayloadCapture.Capture capture = payloadCapture.start(webDriver)) {
+            long loadStart = System.nanoTime();
             webDriver.get(url);
-            WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(15));
-
-            // Wait for page body to load
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
 
-            // Additional wait for JavaScript to render
-            Thread.sleep(3000);
+            // Returns as soon as the data is in the page
+            renderProbe.awaitReady(webDriver);
+            pageLoadAccounting.record(webDriver, loadStart);
 
-            // Try to extract from JSON data in page source
-            String pageSource = webDriver.getPageSource();
+            // Match JSON (__NEXT_DATA__ or captured responses), page source as last resort
+            String pageSource = capture.payload();
 
             // Debug: Log a snippet of the page source to understand the structure
             if (log.isDebugEnabled()) {
@@ -77,39 +118,70 @@ public class OneFootballScraperProvider implements MatchScraperProvider {
                 }
             }
 
-            // Extract minute FIRST - this is key to determine if match is live
-            String minute = extractMinuteFromPage(webDriver, pageSource);
-
-            // Extract scores
-            Integer homeScore = extractHomeScoreFromPage(webDriver, pageSource);
-            Integer awayScore = extractAwayScoreFromPage(webDriver, pageSource);
-
-            // Extract status - pass minute to help determine correct status
-            String status = extractStatusFromPage(webDriver, pageSource, minute);
-
-            log.info("OneFootball scrape result - Status: {}, Score: {}-{}, Minute: {}",
-                status, homeScore, awayScore, minute);
-
-            return MatchSnapshot.builder()
-                .status(status)
-                .home(homeScore)
-                .away(awayScore)
-                .minute(minute)
-                .rawStatus(status)
-                .found(true)
-                .build();
+            snapshot = extractSnapshot(webDriver, pageSource);
 
         } catch (Exception e) {
+            // A page that did not render in time is fine; any other driver error may mean a broken session
+            reusable = !(e instanceof WebDriverException) || e instanceof TimeoutException;
             log.error("Failed to scrape OneFootball: {}", e.getMessage(), e);
             throw new ScraperException("OneFootball scraping failed: " + e.getMessage(), e);
         } finally {
-            if (webDriver != null) {
-                webDriver.quit();
-            }
+            webDriverPool.release(webDriver, reusable);
         }
+
+        return followInLiveTab(url, snapshot);
     }
 
-    private String extractStatusFromPage(WebDriver webDriver, String pageSource, String minute) {
+    /**
+     * Keeps a tab open while the match is live, closes it once finished
+     */
+    private MatchSnapshot followInLiveTab(String url, MatchSnapshot snapshot) {
+        if ("FT".equals(snapshot.getStatus())) {
+            liveTabs.close(url);
+        } else if ("LIVE".equals(snapshot.getStatus()) || "HT".equals(snapshot.getStatus())) {
+            liveTabs.open(url);
+        }
+        return snapshot;
+    }
+
+    /**
+     * The page keeps its score, minute and status nodes up to date, while __NEXT_DATA__
+     * still holds the kickoff-time state: read everything from the live DOM
+     */
+    private MatchSnapshot readLiveTab(WebDriver webDriver) {
+        return extractSnapshot(webDriver, "");
+    }
+
+    private MatchSnapshot extractSnapshot(WebDriver webDriver, String pageSource) {
+        // One streaming pass over __NEXT_DATA__ for the JSON fields
+        NextDataExtractor.NextData data = NextDataExtractor.extract(pageSource, FIELDS);
+
+        // Extract minute FIRST - this is key to determine if match is live
+        String minute = extractMinuteFromPage(webDriver, data);
+
+        // Extract scores
+        Integer homeScore = extractHomeScoreFromPage(webDriver, pageSource);
+        Integer awayScore = extractAwayScoreFromPage(webDriver, pageSource);
+
+        // Extract status - pass minute to help determine correct status
+        String status = extractStatusFromPage(webDriver, data, pageSource, minute);
+
+        log.info("OneFootball scrape result - Status: {}, Score: {}-{}, Minute: {}",
+            status, homeScore, awayScore, minute);
+
+        return MatchSnapshot.builder()
+            .status(status)
+            .matchStatus(MatchStatusClassifier.classify(status, ProviderType.ONE_FOOTBALL))
+            .home(homeScore)
+            .away(awayScore)
+            .minute(minute)
+            .rawStatus(status)
+            .found(true)
+            .build();
+    }
+
+    private String extractStatusFromPage(WebDriver webDriver, NextDataExtractor.NextData data,
+                                         String pageSource, String minute) {
         // ... (implementation remains the same, but uses local webDriver instance)
         // IMPORTANT: If we have a valid minute, the match is IN PROGRESS!
         if (minute != null && !minute.isEmpty()) {
@@ -154,33 +226,33 @@ public class OneFootballScraperProvider implements MatchScraperProvider {
 
         // If no minute, check for explicit status indicators in JSON
         // Be VERY specific - look for exact JSON patterns
-        if (pageSource.contains("\"matchScore\"")) {
+        if (data.contains("matchScore")) {
             // Look for explicit LIVE indicators
-            if (pageSource.contains("\"liveBadge\":\"LIVE\"") ||
-                pageSource.contains("\"liveBadge\":\"En direct\"") ||
-                pageSource.contains("\"status\":\"LIVE\"") ||
-                pageSource.contains("\"status\":\"IN_PLAY\"")) {
+            if (data.has("liveBadge", "LIVE") ||
+                data.has("liveBadge", "En direct") ||
+                data.has("status", "LIVE") ||
+                data.has("status", "IN_PLAY")) {
                 return "LIVE";
             }
 
             // Look for HalfTime - be specific in JSON
-            if (pageSource.contains("\"status\":\"PAUSED\"") ||
-                pageSource.contains("\"status\":\"HT\"") ||
-                pageSource.contains("\"timePeriod\":\"HT\"")) {
+            if (data.has("status", "PAUSED") ||
+                data.has("status", "HT") ||
+                data.has("timePeriod", "HT")) {
                 return "HT";
             }
 
             // Look for FullTime - be specific in JSON, not just anywhere in HTML
-            if (pageSource.contains("\"status\":\"FINISHED\"") ||
-                pageSource.contains("\"status\":\"FULL_TIME\"") ||
-                pageSource.contains("\"status\":\"FT\"") ||
-                (pageSource.contains("\"timePeriod\":\"FT\"") && !pageSource.contains("\"timePeriod\":\"\""))) {
+            if (data.has("status", "FINISHED") ||
+                data.has("status", "FULL_TIME") ||
+                data.has("status", "FT") ||
+                (data.has("timePeriod", "FT") && !data.has("timePeriod", ""))) {
                 return "FT";
             }
 
             // PreMatch/Scheduled
-            if (pageSource.contains("\"status\":\"SCHEDULED\"") ||
-                pageSource.contains("\"status\":\"PREMATCH\"") ||
+            if (data.has("status", "SCHEDULED") ||
+                data.has("status", "PREMATCH") ||
                 pageSource.contains("PreMatch")) {
                 return "SCHEDULED";
             }
@@ -238,17 +310,11 @@ public class OneFootballScraperProvider implements MatchScraperProvider {
         return null;
     }
 
-    private String extractMinuteFromPage(WebDriver webDriver, String pageSource) {
+    private String extractMinuteFromPage(WebDriver webDriver, NextDataExtractor.NextData data) {
         // Try to extract minute from timePeriod in JSON
-        String minutePattern = "\"timePeriod\"\\s*:\\s*\"([^\"]+)\"";
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(minutePattern);
-        java.util.regex.Matcher matcher = pattern.matcher(pageSource);
-        if (matcher.find()) {
-            String minute = matcher.group(1);
-            if (!minute.isEmpty() && !minute.equals("null")) {
-                return minute;
-
-            }
+        String minute = data.first("timePeriod");
+        if (minute != null) {
+            return minute;
         }
 
         // Try DOM elements as fallback
@@ -263,6 +329,10 @@ public class OneFootballScraperProvider implements MatchScraperProvider {
     }
 
     private MatchSnapshot fallbackFetch(String url, Exception e) {
+        if (e instanceof ProviderSaturatedException saturated) {
+            // No browser session was free: nothing was scraped, let the caller retry later
+            throw saturated;
+        }
         log.error("Circuit breaker fallback for OneFootball: {}", url, e);
         return MatchSnapshot.builder()
             .found(false)
@@ -1,12 +1,19 @@
 package com.bsmart.scoretracker.scraper.providers.jsoup;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.scraper.MatchScraperProvider;
+import com.bsmart.scoretracker.scraper.http.PageFetcher;
+import com.bsmart.scoretracker.scraper.parsing.ListingPage;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import com.bsmart.scoretracker.scraper.parsing.SnapshotFingerprints;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -14,9 +21,23 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Scraper LiveScore utilisant Jsoup (léger, sans Chrome)
+ *
+ * Les matchs d'une même compétition se lisent aussi en lot sur la page de la compétition
+ * (https://www.livescore.com/en/football/{pays}/{compétition}/), qui porte le score de chacun.
  */
 @Component
 @Profile("jsoup")
@@ -26,6 +47,14 @@ public class LiveScoreJsoupProvider implements MatchScraperProvider {
     private static final String CSS_SCORE = "#score-or-time";
     private static final String CSS_STATUS = "#SEV__status";
 
+    private final PageFetcher pageFetcher;
+    private final SnapshotFingerprints fingerprints;
+
+    public LiveScoreJsoupProvider(PageFetcher pageFetcher, MeterRegistry meterRegistry) {
+        this.pageFetcher = pageFetcher;
+        this.fingerprints = new SnapshotFingerprints("liveScore", meterRegistry);
+    }
+
     @Override
     public ProviderType supports() {
         return ProviderType.LIVE_SCORE;
@@ -38,88 +67,275 @@ public class LiveScoreJsoupProvider implements MatchScraperProvider {
         log.info("📳 LiveScoreJsoupProvider - Fetching score from: {}", url);
 
         try {
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(10000)
-                .get();
+            // Requête conditionnelle si la page a déjà été lue : 304 = rien n'a changé
+            PageFetcher.Page page = pageFetcher.fetch(url, fingerprints.previous(url) != null);
+            if (page.notModified()) {
+                MatchSnapshot same = fingerprints.notModified(url);
+                if (same != null) {
+                    return same;
+                }
+                page = pageFetcher.fetch(url);
+            }
+            return read(url, page);
+        } catch (IOException e) {
+            log.error("Error fetching from LiveScore: {}", e.getMessage(), e);
+            return MatchSnapshot.builder()
+                .found(false)
+                .build();
+        }
+    }
 
-            // Sélectionner l'élément contenant le score
-            Element scoreElement = doc.select(CSS_SCORE).first();
-            Element statusElement = doc.select(CSS_STATUS).first();
+    /**
+     * Comme {@link #fetch}, sans bloquer l'appelant pendant le téléchargement : la page est lue
+     * sur les threads du client HTTP quand elle arrive
+     */
+    @Override
+    @CircuitBreaker(name = "liveScoreScraper", fallbackMethod = "asyncFallback")
+    @RateLimiter(name = "liveScoreScraper")
+    public CompletableFuture<MatchSnapshot> fetchAsync(String url, Executor worker) {
+        log.info("📳 LiveScoreJsoupProvider - Fetching score asynchronously from: {}", url);
 
-            if (scoreElement == null) {
-                log.info("Match not started yet (no score element found)");
+        return pageFetcher.fetchAsync(url, fingerprints.previous(url) != null)
+            .thenCompose(page -> {
+                MatchSnapshot same = page.notModified() ? fingerprints.notModified(url) : null;
+                if (same != null) {
+                    return CompletableFuture.completedFuture(same);
+                }
+                CompletableFuture<PageFetcher.Page> full = page.notModified()
+                    ? pageFetcher.fetchAsync(url)
+                    : CompletableFuture.completedFuture(page);
+                return full.thenApply(fullPage -> {
+                    try {
+                        return read(url, fullPage);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            })
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof UncheckedIOException unchecked) {
+                    cause = unchecked.getCause();
+                }
+                if (!(cause instanceof IOException)) {
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                }
+                log.error("Error fetching from LiveScore: {}", cause.getMessage(), cause);
                 return MatchSnapshot.builder()
-                    .found(true)
-                    .rawStatus("SCHEDULED")
-                    .home(null)
-                    .away(null)
-                    .minute(null)
+                    .found(false)
                     .build();
-            }
+            });
+    }
+
+    private MatchSnapshot read(String url, PageFetcher.Page page) throws IOException {
+        // Même bloc __NEXT_DATA__ qu'au dernier passage : pas de parsing
+        long fingerprint = SnapshotFingerprints.fingerprint(page.body());
+        MatchSnapshot same = fingerprints.unchanged(url, fingerprint);
+        if (same != null) {
+            return same;
+        }
 
-            // Récupérer le texte du score et du statut
-            String scoreText = scoreElement.text();
-            String statusText = statusElement != null ? statusElement.text() : "";
+        Document doc = page.document();
+        return fingerprints.remember(url, fingerprint, parse(doc));
+    }
 
-            log.info("Score found: {}", scoreText);
-            log.info("Status found: {}", statusText);
+    /**
+     * Page de la compétition : l'URL du match sans ses deux derniers segments (équipes, identifiant)
+     */
+    @Override
+    public String listingSource(Match match) {
+        String url = match.getMatchUrl();
+        if (ListingPage.matchId(url) == null) {
+            return null;
+        }
+        URI uri = URI.create(url.trim());
+        String[] segments = uri.getPath().replaceAll("^/+|/+$", "").split("/");
+        // [en/]football/{pays}/{compétition}/{équipes}/{id}
+        if (segments.length < 5) {
+            return null;
+        }
+        return uri.getScheme() + "://" + uri.getAuthority() + "/"
+            + String.join("/", Arrays.copyOf(segments, segments.length - 2)) + "/";
+    }
+
+    @Override
+    @CircuitBreaker(name = "liveScoreScraper", fallbackMethod = "batchFallback")
+    @RateLimiter(name = "liveScoreScraper")
+    public Map<Long, MatchSnapshot> fetchBatch(Collection<Match> matches) {
+        String listing = listingSource(matches.iterator().next());
+        if (listing == null) {
+            return Collections.emptyMap();
+        }
+        log.info("📳 LiveScoreJsoupProvider - Fetching {} matches from listing: {}", matches.size(), listing);
 
-            // Parser le score (format "2-1" ou "2 - 1")
-            String[] scoreParts = scoreText.split("-");
-            Integer homeScore = null;
-            Integer awayScore = null;
+        try {
+            Map<Long, MatchSnapshot> snapshots = parseListing(pageFetcher.fetch(listing).document(), matches);
+            log.info("{} of {} matches found on listing {}", snapshots.size(), matches.size(), listing);
+            return snapshots;
+        } catch (IOException e) {
+            log.error("Error fetching LiveScore listing: {}", e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
 
-            if (scoreParts.length == 2) {
-                try {
-                    homeScore = Integer.parseInt(scoreParts[0].trim());
-                    awayScore = Integer.parseInt(scoreParts[1].trim());
-                } catch (NumberFormatException e) {
-                    log.warn("Failed to parse score: {}", scoreText);
-                }
-            }
+    /**
+     * Extrait le score des matchs présents sur une page de compétition déjà téléchargée
+     *
+     * @return snapshot par identifiant de match, sans les matchs absents de la page
+     */
+    public Map<Long, MatchSnapshot> parseListing(Document doc, Collection<Match> matches) {
+        Element nextData = doc.getElementById("__NEXT_DATA__");
+        if (nextData == null) {
+            log.warn("No __NEXT_DATA__ on LiveScore listing {}", doc.location());
+            return Collections.emptyMap();
+        }
 
-            // Détecter la minute si en direct
-            String minute = null;
-            if (statusText.contains("'")) {
-                try {
-                    minute = statusText.replaceAll("[^0-9]", "");
-                } catch (Exception ignored) {
-                }
+        Map<String, Match> byId = new HashMap<>();
+        for (Match match : matches) {
+            String eventId = ListingPage.matchId(match.getMatchUrl());
+            if (eventId != null) {
+                byId.put(eventId, match);
             }
+        }
 
-            // Normaliser le statut
-            String rawStatus;
-            if ("Half Time".equals(statusText)) {
-                rawStatus = "PAUSED";
-            } else if (statusText.contains("Pen") || statusText.equals("Pen")) {
-                rawStatus = "IN_PLAY";
-            } else if ("Full Time".equals(statusText) || "FT".equals(statusText)) {
-                rawStatus = "FINISHED";
-            } else if (statusText.contains("'")) {
-                rawStatus = "IN_PLAY";
-            } else {
-                rawStatus = statusText;
+        Map<Long, MatchSnapshot> snapshots = new HashMap<>();
+        ListingPage.entries(nextData.data(), byId.keySet()).forEach((eventId, entry) -> {
+            Match match = byId.get(eventId);
+            MatchSnapshot snapshot = listingSnapshot(entry, match);
+            if (snapshot != null) {
+                snapshots.put(match.getId(), snapshot);
             }
+        });
+        return snapshots;
+    }
 
-            // Note: Jsoup provider cannot extract penalty scores from HTML
-            // Only the Selenium provider can extract them from __NEXT_DATA__ JSON
+    /**
+     * @return null si l'entrée ne suffit pas à mettre le match à jour
+     */
+    private MatchSnapshot listingSnapshot(JsonNode entry, Match match) {
+        Integer homeScore = ListingPage.integer(entry, "homeTeamScore");
+        Integer awayScore = ListingPage.integer(entry, "awayTeamScore");
+        if (homeScore == null || awayScore == null) {
+            if (hasKickedOff(match)) {
+                // Coup d'envoi passé sans score (page en retard, match reporté...) : la page du match tranchera
+                return null;
+            }
+            // Pas de score : match pas encore commencé
             return MatchSnapshot.builder()
                 .found(true)
-                .home(homeScore)
-                .away(awayScore)
-                .rawStatus(rawStatus)
-                .minute(minute)
-                .penaltyHome(null)
-                .penaltyAway(null)
+                .status("SCHEDULED")
+                .matchStatus(MatchStatus.SCHEDULED)
+                .rawStatus("SCHEDULED")
                 .build();
+        }
 
-        } catch (IOException e) {
-            log.error("Error fetching from LiveScore: {}", e.getMessage(), e);
+        // "status" porte la minute ou l'étape ("67'", "HT", "FT", "Pen"...), "eventStatus" à défaut
+        String statusText = ListingPage.text(entry, "status");
+        if (statusText == null) {
+            statusText = ListingPage.text(entry, "eventStatus");
+        }
+        if (statusText == null) {
+            // Score sans statut : la page du match tranchera
+            return null;
+        }
+        String minute = ListingPage.minute(statusText);
+
+        return MatchSnapshot.builder()
+            .found(true)
+            .home(homeScore)
+            .away(awayScore)
+            .status(statusText)
+            .matchStatus(MatchStatusClassifier.classify(statusText, ProviderType.LIVE_SCORE))
+            .rawStatus(statusText)
+            .minute(minute)
+            .penaltyHome(ListingPage.integer(entry, "penaltyHomeScore"))
+            .penaltyAway(ListingPage.integer(entry, "penaltyAwayScore"))
+            .build();
+    }
+
+    private static boolean hasKickedOff(Match match) {
+        return match.getKickoffUtc() == null || !LocalDateTime.now().isBefore(match.getKickoffUtc());
+    }
+
+    /**
+     * Extrait le score et le statut d'une page déjà téléchargée
+     */
+    public MatchSnapshot parse(Document doc) {
+        // Sélectionner l'élément contenant le score
+        Element scoreElement = doc.select(CSS_SCORE).first();
+        Element statusElement = doc.select(CSS_STATUS).first();
+
+        if (scoreElement == null) {
+            log.info("Match not started yet (no score element found)");
             return MatchSnapshot.builder()
-                .found(false)
+                .found(true)
+                .status("SCHEDULED")
+                .matchStatus(MatchStatus.SCHEDULED)
+                .rawStatus("SCHEDULED")
+                .home(null)
+                .away(null)
+                .minute(null)
                 .build();
         }
+
+        // Récupérer le texte du score et du statut
+        String scoreText = scoreElement.text();
+        String statusText = statusElement != null ? statusElement.text() : "";
+
+        log.info("Score found: {}", scoreText);
+        log.info("Status found: {}", statusText);
+
+        // Parser le score (format "2-1" ou "2 - 1")
+        String[] scoreParts = scoreText.split("-");
+        Integer homeScore = null;
+        Integer awayScore = null;
+
+        if (scoreParts.length == 2) {
+            try {
+                homeScore = Integer.parseInt(scoreParts[0].trim());
+                awayScore = Integer.parseInt(scoreParts[1].trim());
+            } catch (NumberFormatException e) {
+                log.warn("Failed to parse score: {}", scoreText);
+            }
+        }
+
+        // Détecter la minute si en direct
+        String minute = null;
+        if (statusText.contains("'")) {
+            try {
+                minute = statusText.replaceAll("[^0-9]", "");
+            } catch (Exception ignored) {
+            }
+        }
+
+        // Normaliser le statut
+        String rawStatus;
+        if ("Half Time".equals(statusText)) {
+            rawStatus = "PAUSED";
+        } else if (statusText.contains("Pen") || statusText.equals("Pen")) {
+            rawStatus = "IN_PLAY";
+        } else if ("Full Time".equals(statusText) || "FT".equals(statusText)) {
+            rawStatus = "FINISHED";
+        } else if (statusText.contains("'")) {
+            rawStatus = "IN_PLAY";
+        } else {
+            rawStatus = statusText;
+        }
+
+        // Note: Jsoup provider cannot extract penalty scores from HTML
+        // Only the Selenium provider can extract them from __NEXT_DATA__ JSON
+        return MatchSnapshot.builder()
+            .found(true)
+            .home(homeScore)
+            .away(awayScore)
+            // Texte de la page ("Pen", "AP"...) : indique s'il manque le score des tirs au but
+            .status(statusText)
+            .matchStatus(MatchStatusClassifier.classify(rawStatus, ProviderType.LIVE_SCORE))
+            .rawStatus(rawStatus)
+            .minute(minute)
+            .penaltyHome(null)
+            .penaltyAway(null)
+            .build();
     }
 
     /**
@@ -131,4 +347,19 @@ public class LiveScoreJsoupProvider implements MatchScraperProvider {
             .found(false)
             .build();
     }
+
+    /**
+     * Fallback de {@link #fetchAsync} en cas d'échec du circuit breaker
+     */
+    public CompletableFuture<MatchSnapshot> asyncFallback(String url, Executor worker, Exception e) {
+        return CompletableFuture.completedFuture(fallback(url, e));
+    }
+
+    /**
+     * Fallback du lot : les matchs seront récupérés un par un
+     */
+    public Map<Long, MatchSnapshot> batchFallback(Collection<Match> matches, Exception e) {
+        log.warn("LiveScore listing fallback triggered for {} matches - {}", matches.size(), e.getMessage());
+        return Collections.emptyMap();
+    }
 }
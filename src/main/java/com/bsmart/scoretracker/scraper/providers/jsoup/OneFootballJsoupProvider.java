@@ -1,12 +1,19 @@
 package com.bsmart.scoretracker.scraper.providers.jsoup;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.scraper.MatchScraperProvider;
+import com.bsmart.scoretracker.scraper.http.PageFetcher;
+import com.bsmart.scoretracker.scraper.parsing.ListingPage;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
+import com.bsmart.scoretracker.scraper.parsing.SnapshotFingerprints;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -14,9 +21,22 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Scraper OneFootball utilisant Jsoup (léger, sans Chrome)
+ *
+ * Les matchs d'un même jour se lisent aussi en lot sur la page des matchs du jour
+ * (https://onefootball.com/en/matches?date=2026-10-17), qui porte le score de chacun.
  */
 @Component
 @Profile("jsoup")
@@ -26,6 +46,14 @@ public class OneFootballJsoupProvider implements MatchScraperProvider {
     private static final String CSS_SCORE = ".title-2-bold.MatchScore_numeric__ke8YT";
     private static final String CSS_STATUS = "div.matchHeader__status"; // À ajuster selon la page réelle
 
+    private final PageFetcher pageFetcher;
+    private final SnapshotFingerprints fingerprints;
+
+    public OneFootballJsoupProvider(PageFetcher pageFetcher, MeterRegistry meterRegistry) {
+        this.pageFetcher = pageFetcher;
+        this.fingerprints = new SnapshotFingerprints("oneFootball", meterRegistry);
+    }
+
     @Override
     public ProviderType supports() {
         return ProviderType.ONE_FOOTBALL;
@@ -38,87 +66,273 @@ public class OneFootballJsoupProvider implements MatchScraperProvider {
         log.info("📳 OneFootballJsoupProvider - Fetching score from: {}", url);
 
         try {
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(10000)
-                .get();
+            // Requête conditionnelle si la page a déjà été lue : 304 = rien n'a changé
+            PageFetcher.Page page = pageFetcher.fetch(url, fingerprints.previous(url) != null);
+            if (page.notModified()) {
+                MatchSnapshot same = fingerprints.notModified(url);
+                if (same != null) {
+                    return same;
+                }
+                page = pageFetcher.fetch(url);
+            }
+            return read(url, page);
+        } catch (IOException e) {
+            log.error("Error fetching from OneFootball: {}", e.getMessage(), e);
+            return MatchSnapshot.builder()
+                .found(false)
+                .build();
+        }
+    }
 
-            // Sélectionner l'élément contenant le score
-            Element scoreElement = doc.select(CSS_SCORE).first();
+    /**
+     * Comme {@link #fetch}, sans bloquer l'appelant pendant le téléchargement : la page est lue
+     * sur les threads du client HTTP quand elle arrive
+     */
+    @Override
+    @CircuitBreaker(name = "oneFootballScraper", fallbackMethod = "asyncFallback")
+    @RateLimiter(name = "oneFootballScraper")
+    public CompletableFuture<MatchSnapshot> fetchAsync(String url, Executor worker) {
+        log.info("📳 OneFootballJsoupProvider - Fetching score asynchronously from: {}", url);
 
-            if (scoreElement == null) {
-                // Match pas encore commencé
-                log.info("Match not started yet (no score element found)");
+        return pageFetcher.fetchAsync(url, fingerprints.previous(url) != null)
+            .thenCompose(page -> {
+                MatchSnapshot same = page.notModified() ? fingerprints.notModified(url) : null;
+                if (same != null) {
+                    return CompletableFuture.completedFuture(same);
+                }
+                CompletableFuture<PageFetcher.Page> full = page.notModified()
+                    ? pageFetcher.fetchAsync(url)
+                    : CompletableFuture.completedFuture(page);
+                return full.thenApply(fullPage -> {
+                    try {
+                        return read(url, fullPage);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            })
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof UncheckedIOException unchecked) {
+                    cause = unchecked.getCause();
+                }
+                if (!(cause instanceof IOException)) {
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                }
+                log.error("Error fetching from OneFootball: {}", cause.getMessage(), cause);
                 return MatchSnapshot.builder()
-                    .found(true)
-                    .rawStatus("SCHEDULED")
-                    .home(null)
-                    .away(null)
-                    .minute(null)
+                    .found(false)
                     .build();
-            }
+            });
+    }
 
-            // Récupérer le texte du score
-            String scoreText = scoreElement.text();
-            log.info("Score found: {}", scoreText);
-
-            // Parser le score (format "2:1" ou "2 : 1")
-            String[] scoreParts = scoreText.split(":");
-            Integer homeScore = null;
-            Integer awayScore = null;
-
-            if (scoreParts.length == 2) {
-                try {
-                    homeScore = Integer.parseInt(scoreParts[0].trim());
-                    awayScore = Integer.parseInt(scoreParts[1].trim());
-                } catch (NumberFormatException e) {
-                    log.warn("Failed to parse score: {}", scoreText);
-                }
-            }
+    private MatchSnapshot read(String url, PageFetcher.Page page) throws IOException {
+        // Même bloc __NEXT_DATA__ qu'au dernier passage : pas de parsing
+        long fingerprint = SnapshotFingerprints.fingerprint(page.body());
+        MatchSnapshot same = fingerprints.unchanged(url, fingerprint);
+        if (same != null) {
+            return same;
+        }
 
-            // Récupérer le statut
-            Element statusElement = doc.select(CSS_STATUS).first();
-            String rawStatus = statusElement != null ? statusElement.text() : "";
-            log.info("Status found: {}", rawStatus);
-
-            // Détecter la minute si en direct
-            String minute = null;
-            if (rawStatus.contains("'")) {
-                try {
-                    minute = rawStatus.replaceAll("[^0-9]", "");
-                } catch (Exception ignored) {
-                }
-            }
+        Document doc = page.document();
+        return fingerprints.remember(url, fingerprint, parse(doc));
+    }
+
+    /**
+     * Page des matchs du jour du coup d'envoi. Un match proche de minuit peut figurer sur la page
+     * du jour voisin : absent du lot, il est récupéré sur sa propre page.
+     */
+    @Override
+    public String listingSource(Match match) {
+        String url = match.getMatchUrl();
+        if (match.getKickoffUtc() == null || ListingPage.matchId(url) == null) {
+            return null;
+        }
+        URI uri = URI.create(url.trim());
+        String[] segments = uri.getPath().replaceAll("^/+|/+$", "").split("/");
+        // [en/]match/{id}
+        String prefix = segments.length >= 3 && segments[segments.length - 2].equals("match")
+            ? "/" + segments[segments.length - 3]
+            : "";
+        return uri.getScheme() + "://" + uri.getAuthority() + prefix
+            + "/matches?date=" + match.getKickoffUtc().toLocalDate();
+    }
+
+    @Override
+    @CircuitBreaker(name = "oneFootballScraper", fallbackMethod = "batchFallback")
+    @RateLimiter(name = "oneFootballScraper")
+    public Map<Long, MatchSnapshot> fetchBatch(Collection<Match> matches) {
+        String listing = listingSource(matches.iterator().next());
+        if (listing == null) {
+            return Collections.emptyMap();
+        }
+        log.info("📳 OneFootballJsoupProvider - Fetching {} matches from listing: {}", matches.size(), listing);
+
+        try {
+            Map<Long, MatchSnapshot> snapshots = parseListing(pageFetcher.fetch(listing).document(), matches);
+            log.info("{} of {} matches found on listing {}", snapshots.size(), matches.size(), listing);
+            return snapshots;
+        } catch (IOException e) {
+            log.error("Error fetching OneFootball listing: {}", e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Extrait le score des matchs présents sur une page des matchs du jour déjà téléchargée
+     *
+     * @return snapshot par identifiant de match, sans les matchs absents de la page
+     */
+    public Map<Long, MatchSnapshot> parseListing(Document doc, Collection<Match> matches) {
+        Element nextData = doc.getElementById("__NEXT_DATA__");
+        if (nextData == null) {
+            log.warn("No __NEXT_DATA__ on OneFootball listing {}", doc.location());
+            return Collections.emptyMap();
+        }
 
-            // Vérifier Half Time
-            boolean isHalfTime = false;
-            if (doc.select(CSS_STATUS).size() > 1) {
-                Element secondStatus = doc.select(CSS_STATUS).get(1);
-                isHalfTime = secondStatus != null && "Half time".equals(secondStatus.text());
+        Map<String, Match> byId = new HashMap<>();
+        for (Match match : matches) {
+            String matchId = ListingPage.matchId(match.getMatchUrl());
+            if (matchId != null) {
+                byId.put(matchId, match);
             }
+        }
 
-            if (isHalfTime) {
-                rawStatus = "PAUSED";
-            } else if (rawStatus.contains("Live") || rawStatus.contains("'")) {
-                rawStatus = "IN_PLAY";
-            } else if (rawStatus.contains("Finished") || rawStatus.contains("FT")) {
-                rawStatus = "FINISHED";
+        Map<Long, MatchSnapshot> snapshots = new HashMap<>();
+        ListingPage.entries(nextData.data(), byId.keySet()).forEach((matchId, entry) -> {
+            Match match = byId.get(matchId);
+            MatchSnapshot snapshot = listingSnapshot(entry, match);
+            if (snapshot != null) {
+                snapshots.put(match.getId(), snapshot);
             }
+        });
+        return snapshots;
+    }
 
+    /**
+     * @return null si l'entrée ne suffit pas à mettre le match à jour
+     */
+    private MatchSnapshot listingSnapshot(JsonNode entry, Match match) {
+        // Le score est dans les objets équipe : "homeTeam":{"name":"Mali","score":"1"}
+        Integer homeScore = ListingPage.integer(entry.path("homeTeam"), "score");
+        Integer awayScore = ListingPage.integer(entry.path("awayTeam"), "score");
+        if (homeScore == null || awayScore == null) {
+            if (hasKickedOff(match)) {
+                // Coup d'envoi passé sans score (page en retard, match reporté...) : la page du match tranchera
+                return null;
+            }
+            // Pas de score : match pas encore commencé (l'heure du coup d'envoi n'est pas une minute)
             return MatchSnapshot.builder()
                 .found(true)
-                .home(homeScore)
-                .away(awayScore)
-                .rawStatus(rawStatus)
-                .minute(minute)
+                .status("SCHEDULED")
+                .matchStatus(MatchStatus.SCHEDULED)
+                .rawStatus("SCHEDULED")
                 .build();
+        }
 
-        } catch (IOException e) {
-            log.error("Error fetching from OneFootball: {}", e.getMessage(), e);
+        // "timePeriod" porte la minute ou l'étape ("67'", "Half time", "FT"), "liveBadge" à défaut
+        String statusText = ListingPage.text(entry, "timePeriod");
+        if (statusText == null) {
+            statusText = ListingPage.text(entry, "liveBadge");
+        }
+        if (statusText == null) {
+            // Score sans statut : la page du match tranchera
+            return null;
+        }
+        String minute = ListingPage.minute(statusText);
+
+        return MatchSnapshot.builder()
+            .found(true)
+            .home(homeScore)
+            .away(awayScore)
+            .status(statusText)
+            .matchStatus(MatchStatusClassifier.classify(statusText, ProviderType.ONE_FOOTBALL))
+            .rawStatus(statusText)
+            .minute(minute)
+            .build();
+    }
+
+    private static boolean hasKickedOff(Match match) {
+        return match.getKickoffUtc() == null || !LocalDateTime.now().isBefore(match.getKickoffUtc());
+    }
+
+    /**
+     * Extrait le score et le statut d'une page déjà téléchargée
+     */
+    public MatchSnapshot parse(Document doc) {
+        // Sélectionner l'élément contenant le score
+        Element scoreElement = doc.select(CSS_SCORE).first();
+
+        if (scoreElement == null) {
+            // Match pas encore commencé
+            log.info("Match not started yet (no score element found)");
             return MatchSnapshot.builder()
-                .found(false)
+                .found(true)
+                .status("SCHEDULED")
+                .matchStatus(MatchStatus.SCHEDULED)
+                .rawStatus("SCHEDULED")
+                .home(null)
+                .away(null)
+                .minute(null)
                 .build();
         }
+
+        // Récupérer le texte du score
+        String scoreText = scoreElement.text();
+        log.info("Score found: {}", scoreText);
+
+        // Parser le score (format "2:1" ou "2 : 1")
+        String[] scoreParts = scoreText.split(":");
+        Integer homeScore = null;
+        Integer awayScore = null;
+
+        if (scoreParts.length == 2) {
+            try {
+                homeScore = Integer.parseInt(scoreParts[0].trim());
+                awayScore = Integer.parseInt(scoreParts[1].trim());
+            } catch (NumberFormatException e) {
+                log.warn("Failed to parse score: {}", scoreText);
+            }
+        }
+
+        // Récupérer le statut
+        Element statusElement = doc.select(CSS_STATUS).first();
+        String rawStatus = statusElement != null ? statusElement.text() : "";
+        log.info("Status found: {}", rawStatus);
+
+        // Détecter la minute si en direct
+        String minute = null;
+        if (rawStatus.contains("'")) {
+            try {
+                minute = rawStatus.replaceAll("[^0-9]", "");
+            } catch (Exception ignored) {
+            }
+        }
+
+        // Vérifier Half Time
+        boolean isHalfTime = false;
+        if (doc.select(CSS_STATUS).size() > 1) {
+            Element secondStatus = doc.select(CSS_STATUS).get(1);
+            isHalfTime = secondStatus != null && "Half time".equals(secondStatus.text());
+        }
+
+        if (isHalfTime) {
+            rawStatus = "PAUSED";
+        } else if (rawStatus.contains("Live") || rawStatus.contains("'")) {
+            rawStatus = "IN_PLAY";
+        } else if (rawStatus.contains("Finished") || rawStatus.contains("FT")) {
+            rawStatus = "FINISHED";
+        }
+
+        return MatchSnapshot.builder()
+            .found(true)
+            .home(homeScore)
+            .away(awayScore)
+            .status(rawStatus)
+            .matchStatus(MatchStatusClassifier.classify(rawStatus, ProviderType.ONE_FOOTBALL))
+            .rawStatus(rawStatus)
+            .minute(minute)
+            .build();
     }
 
     /**
@@ -130,4 +344,19 @@ public class OneFootballJsoupProvider implements MatchScraperProvider {
             .found(false)
             .build();
     }
+
+    /**
+     * Fallback de {@link #fetchAsync} en cas d'échec du circuit breaker
+     */
+    public CompletableFuture<MatchSnapshot> asyncFallback(String url, Executor worker, Exception e) {
+        return CompletableFuture.completedFuture(fallback(url, e));
+    }
+
+    /**
+     * Fallback du lot : les matchs seront récupérés un par un
+     */
+    public Map<Long, MatchSnapshot> batchFallback(Collection<Match> matches, Exception e) {
+        log.warn("OneFootball listing fallback triggered for {} matches - {}", matches.size(), e.getMessage());
+        return Collections.emptyMap();
+    }
 }
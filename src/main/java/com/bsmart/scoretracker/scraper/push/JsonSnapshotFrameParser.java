@@ -0,0 +1,41 @@
+package com.bsmart.scoretracker.scraper.push;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.function.Function;
+
+/**
+ * Reads frames carrying a full snapshot as JSON, with the {@link MatchSnapshot} field names
+ * (status, home, away, minute, rawStatus, penaltyHome, penaltyAway). Unknown fields are ignored,
+ * and frames with neither status nor score are treated as heartbeats.
+ */
+public class JsonSnapshotFrameParser implements Function<String, MatchSnapshot> {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonSnapshotFrameParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public MatchSnapshot apply(String frame) {
+        MatchSnapshot snapshot;
+        try {
+            snapshot = objectMapper.readValue(frame, MatchSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid snapshot frame: " + e.getOriginalMessage(), e);
+        }
+        if (snapshot.getStatus() == null && snapshot.getHome() == null && snapshot.getAway() == null) {
+            return null;
+        }
+        if (snapshot.getRawStatus() == null) {
+            snapshot.setRawStatus(snapshot.getStatus());
+        }
+        snapshot.setFound(true);
+        return snapshot;
+    }
+}
@@ -0,0 +1,251 @@
+package com.bsmart.scoretracker.scraper.push;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.LiveUpdateSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link LiveUpdateSource} reading a Server-Sent Events stream.
+ *
+ * The stream URL is built from a template where {url} is replaced by the URL-encoded match
+ * URL. Each event's data is turned into a snapshot by the frame parser; frames it returns
+ * null for (heartbeats, unrelated events) are dropped. Each subscription holds one
+ * connection on its own daemon thread and reconnects after reconnectDelay.
+ *
+ * A stream can stall without being closed (proxy, half-open TCP connection), and the HTTP
+ * client has no read timeout on a streamed body. A watchdog drops the connection of any
+ * stream that has sent nothing, heartbeats included, for idleTimeout; it then reconnects.
+ */
+@Slf4j
+public class SseLiveUpdateSource implements LiveUpdateSource, DisposableBean {
+
+    private final ProviderType provider;
+    private final HttpClient httpClient;
+    private final String streamUrlTemplate;
+    private final Function<String, MatchSnapshot> frameParser;
+    private final Duration reconnectDelay;
+    private final long idleTimeoutNanos;
+    private final Set<SseSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService watchdog;
+
+    public SseLiveUpdateSource(ProviderType provider,
+                               HttpClient httpClient,
+                               String streamUrlTemplate,
+                               Function<String, MatchSnapshot> frameParser,
+                               Duration reconnectDelay,
+                               Duration idleTimeout) {
+        this.provider = provider;
+        this.httpClient = httpClient;
+        this.streamUrlTemplate = streamUrlTemplate;
+        this.frameParser = frameParser;
+        this.reconnectDelay = reconnectDelay;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-watchdog-" + provider.name().toLowerCase());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(100, idleTimeout.toMillis() / 4);
+        this.watchdog.scheduleWithFixedDelay(this::dropIdleStreams, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ProviderType supports() {
+        return provider;
+    }
+
+    @Override
+    public Subscription subscribe(String url, Consumer<MatchSnapshot> listener) {
+        URI streamUri = URI.create(streamUrlTemplate.replace("{url}", URLEncoder.encode(url, StandardCharsets.UTF_8)));
+        SseSubscription subscription = new SseSubscription(streamUri, listener);
+        Thread thread = new Thread(subscription, "sse-" + provider.name().toLowerCase());
+        thread.setDaemon(true);
+        subscription.thread = thread;
+        subscriptions.add(subscription);
+        thread.start();
+        return subscription;
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        subscriptions.forEach(SseSubscription::close);
+    }
+
+    void dropIdleStreams() {
+        long now = System.nanoTime();
+        subscriptions.forEach(subscription -> subscription.dropIfIdle(now));
+    }
+
+    private final class SseSubscription implements Subscription, Runnable {
+
+        private final URI streamUri;
+        private final Consumer<MatchSnapshot> listener;
+        private volatile boolean closed;
+        private volatile boolean connected;
+        private volatile boolean dispatching;
+        private volatile long lastActivity;
+        private volatile InputStream body;
+        private Thread thread;
+        // Guarded by this: set when the watchdog interrupted the reader to drop an idle stream
+        private boolean dropped;
+
+        private SseSubscription(URI streamUri, Consumer<MatchSnapshot> listener) {
+            this.streamUri = streamUri;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(streamUri)
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                    HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                    body = response.body();
+                    if (response.statusCode() != 200) {
+                        body.close();
+                        throw new IOException("HTTP " + response.statusCode());
+                    }
+                    lastActivity = System.nanoTime();
+                    connected = true;
+                    log.info("Live update stream connected: {}", streamUri);
+                    readEvents(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    if (!closed) {
+                        log.warn("Live update stream {} interrupted: {}", streamUri, e.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    disconnected();
+                }
+
+                if (!closed && !pause()) {
+                    return;
+                }
+            }
+        }
+
+        private void readEvents(BufferedReader reader) throws IOException {
+            StringBuilder data = new StringBuilder();
+            String line;
+            while (!closed && (line = reader.readLine()) != null) {
+                lastActivity = System.nanoTime();
+                if (line.isEmpty()) {
+                    // A blank line ends the event
+                    dispatch(data);
+                    data.setLength(0);
+                } else if (line.startsWith("data:")) {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    String value = line.substring(5);
+                    data.append(value.startsWith(" ") ? value.substring(1) : value);
+                }
+                // Comments (":"), event, id and retry fields are not used
+            }
+        }
+
+        private void dispatch(StringBuilder data) {
+            if (data.isEmpty()) {
+                return;
+            }
+            // The listener may wait for a poll of the match: that is not an idle stream
+            dispatching = true;
+            try {
+                MatchSnapshot snapshot = frameParser.apply(data.toString());
+                if (snapshot != null) {
+                    listener.accept(snapshot);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Dropping live update frame from {}: {}", streamUri, e.getMessage());
+            } finally {
+                lastActivity = System.nanoTime();
+                dispatching = false;
+            }
+        }
+
+        private synchronized void dropIfIdle(long now) {
+            if (closed || !connected || dispatching || now - lastActivity < idleTimeoutNanos) {
+                return;
+            }
+            log.warn("Live update stream {} silent for {} ms, reconnecting", streamUri,
+                TimeUnit.NANOSECONDS.toMillis(now - lastActivity));
+            dropped = true;
+            closeBody();
+            // Wakes the reader blocked on the stream; it reconnects after reconnectDelay
+            thread.interrupt();
+        }
+
+        private synchronized void disconnected() {
+            connected = false;
+            if (dropped) {
+                dropped = false;
+                // The interrupt was meant for the read, not for the reconnect pause
+                Thread.interrupted();
+            }
+        }
+
+        private boolean pause() {
+            try {
+                Thread.sleep(reconnectDelay.toMillis());
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            closeBody();
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void closeBody() {
+            InputStream stream = body;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    log.debug("Error closing live update stream {}: {}", streamUri, e.getMessage());
+                }
+            }
+        }
+    }
+}
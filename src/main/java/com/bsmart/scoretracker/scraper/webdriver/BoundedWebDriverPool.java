@@ -0,0 +1,337 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable browser sessions.
+ *
+ * - at most maxSize sessions exist at once; borrowers wait up to borrowTimeout for one
+ * - sessions are validated before being handed out and discarded if dead
+ * - a session is recycled (quit, then recreated on demand) after maxUses scrapes
+ * - idle sessions are quit after idleTimeout so a quiet night costs no browser memory,
+ *   down to minIdle sessions that are started ahead of demand and kept warm
+ * - with a {@link BrowserProcessTracker}, a session whose processes use more than
+ *   maxResidentBytes is recycled on return, and orphaned browser processes are killed
+ *
+ * Idle sessions are reused most-recently-returned first, so the least used ones age out.
+ */
+@Slf4j
+public class BoundedWebDriverPool implements WebDriverPool, DisposableBean {
+
+    private final Supplier<WebDriver> factory;
+    private final BrowserProcessTracker processes;
+    private final int maxSize;
+    private final int minIdle;
+    private final int maxUses;
+    private final long maxResidentBytes;
+    private final Duration idleTimeout;
+    private final Duration borrowTimeout;
+    private final Semaphore permits;
+
+    private final ConcurrentLinkedDeque<Session> idle = new ConcurrentLinkedDeque<>();
+    private final Map<WebDriver, Session> borrowed = new IdentityHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    private final Timer borrowWait;
+    private final Counter created;
+    private final DistributionSummary residentMemory;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean closed;
+
+    public BoundedWebDriverPool(Supplier<WebDriver> factory,
+                                MeterRegistry meterRegistry,
+                                int maxSize,
+                                int maxUses,
+                                Duration idleTimeout,
+                                Duration borrowTimeout) {
+        this(factory, null, meterRegistry, maxSize, 0, maxUses, 0, idleTimeout, borrowTimeout);
+    }
+
+    /**
+     * @param processes        Process tracker of local sessions, null for remote or untracked sessions
+     * @param minIdle          Sessions started by {@link #prewarm()} and kept through idle eviction
+     * @param maxResidentBytes Memory above which a returned session is recycled, 0 for no limit
+     */
+    public BoundedWebDriverPool(Supplier<WebDriver> factory,
+                                BrowserProcessTracker processes,
+                                MeterRegistry meterRegistry,
+                                int maxSize,
+                                int minIdle,
+                                int maxUses,
+                                long maxResidentBytes,
+                                Duration idleTimeout,
+                                Duration borrowTimeout) {
+        this.factory = factory;
+        this.processes = processes;
+        this.maxSize = Math.max(1, maxSize);
+        this.minIdle = Math.min(Math.max(0, minIdle), this.maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.maxResidentBytes = maxResidentBytes;
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(this.maxSize, true);
+        this.meterRegistry = meterRegistry;
+
+        this.borrowWait = Timer.builder("webdriver.pool.borrow.wait")
+            .description("Time spent waiting for a browser session")
+            .register(meterRegistry);
+        this.created = Counter.builder("webdriver.pool.created")
+            .description("Browser sessions started")
+            .register(meterRegistry);
+        this.residentMemory = DistributionSummary.builder("webdriver.pool.session.memory")
+            .description("Resident memory of a browser session's processes when returned")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("webdriver.pool.sessions", idle, ConcurrentLinkedDeque::size)
+            .description("Browser sessions in the pool")
+            .tag("state", "idle")
+            .register(meterRegistry);
+        Gauge.builder("webdriver.pool.sessions", this, BoundedWebDriverPool::borrowedCount)
+            .description("Browser sessions in the pool")
+            .tag("state", "borrowed")
+            .register(meterRegistry);
+        Gauge.builder("webdriver.pool.utilization", this, pool -> (double) pool.borrowedCount() / pool.maxSize)
+            .description("Share of the pool's max-size currently borrowed")
+            .register(meterRegistry);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeout.toMillis() / 2);
+        this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+
+        log.info("WebDriver pool ready: maxSize={}, minIdle={}, maxUses={}, idleTimeout={}, borrowTimeout={}",
+            maxSize, minIdle, maxUses, idleTimeout, borrowTimeout);
+    }
+
+    /**
+     * Starts minIdle sessions in the background, so the first scrapes do not pay Chrome's startup
+     */
+    public void prewarm() {
+        if (minIdle > 0) {
+            evictor.execute(this::topUp);
+        }
+    }
+
+    @Override
+    public WebDriver borrow() {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ProviderSaturatedException(
+                    "No browser session available within " + borrowTimeout.toMillis() + " ms", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderSaturatedException("Interrupted while waiting for a browser session", e);
+        } finally {
+            borrowWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            Session session = takeHealthyIdle();
+            if (session == null) {
+                session = newSession();
+            }
+            session.uses++;
+            synchronized (borrowed) {
+                borrowed.put(session.driver, session);
+            }
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(WebDriver driver, boolean reusable) {
+        if (driver == null) {
+            return;
+        }
+        Session session;
+        synchronized (borrowed) {
+            session = borrowed.remove(driver);
+        }
+        if (session == null) {
+            // Not ours: behave like the unpooled default
+            quitQuietly(driver, "foreign");
+            return;
+        }
+
+        try {
+            if (closed || !reusable) {
+                destroy(session, closed ? "shutdown" : "failed");
+            } else if (session.uses >= maxUses) {
+                destroy(session, "max-uses");
+            } else if (exceedsMemory(session)) {
+                destroy(session, "memory");
+            } else if (resetForReuse(session)) {
+                session.returnedAt = System.nanoTime();
+                idle.offerFirst(session);
+            } else {
+                destroy(session, "reset-failed");
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits sessions idle for longer than idleTimeout, keeping minIdle sessions alive
+     */
+    void evictIdle() {
+        long threshold = System.nanoTime() - idleTimeout.toNanos();
+        Iterator<Session> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && idle.size() + borrowedCount() > minIdle) {
+            Session session = oldestFirst.next();
+            if (session.returnedAt < threshold && idle.removeFirstOccurrence(session)) {
+                destroy(session, "idle");
+            }
+        }
+        if (processes != null) {
+            processes.killOrphans();
+        }
+        topUp();
+    }
+
+    /**
+     * Starts idle sessions until the pool holds minIdle
+     */
+    void topUp() {
+        while (!closed && idle.size() + borrowedCount() < minIdle && permits.tryAcquire()) {
+            try {
+                Session session = newSession();
+                session.returnedAt = System.nanoTime();
+                idle.offerLast(session);
+            } catch (RuntimeException e) {
+                log.warn("Could not pre-warm a browser session: {}", e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+
+    int borrowedCount() {
+        synchronized (borrowed) {
+            return borrowed.size();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        evictor.shutdownNow();
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            destroy(session, "shutdown");
+        }
+    }
+
+    private Session newSession() {
+        WebDriver driver = processes != null ? processes.start(factory) : factory.get();
+        created.increment();
+        return new Session(driver);
+    }
+
+    private boolean exceedsMemory(Session session) {
+        if (processes == null) {
+            return false;
+        }
+        long bytes = processes.residentBytes(session.driver);
+        if (bytes < 0) {
+            return false;
+        }
+        residentMemory.record(bytes);
+        return maxResidentBytes > 0 && bytes > maxResidentBytes;
+    }
+
+    private Session takeHealthyIdle() {
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            if (isAlive(session.driver)) {
+                return session;
+            }
+            destroy(session, "dead");
+        }
+        return null;
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            // Cheap round-trip that fails once the browser or the session is gone
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean resetForReuse(Session session) {
+        try {
+            // Stops the previous page's scripts and timers while the session waits
+            session.driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void destroy(Session session, String reason) {
+        log.debug("Closing browser session after {} uses ({})", session.uses, reason);
+        Counter.builder("webdriver.pool.destroyed")
+            .description("Browser sessions quit, by reason")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        quitQuietly(session.driver, reason);
+        if (processes != null) {
+            processes.stopped(session.driver);
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver, String reason) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            log.warn("Error quitting browser session ({}): {}", reason, e.getMessage());
+        }
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private int uses;
+        private long returnedAt;
+
+        private Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
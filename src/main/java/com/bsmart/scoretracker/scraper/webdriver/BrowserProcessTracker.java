@@ -0,0 +1,285 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * OS-level view of the local chromedriver/Chrome processes behind the pooled sessions.
+ *
+ * - each session runs Chrome on its own profile directory under profileRoot; that
+ *   --user-data-dir is the marker of the browsers this service started
+ * - each session is mapped to the chromedriver process it spawned, so the pool can read the
+ *   resident memory of its whole process tree (chromedriver, browser, renderers)
+ * - a session whose processes survive quit() is killed, and its profile directory removed
+ * - browsers carrying the marker whose chromedriver is gone, and chromedriver processes adopted
+ *   by init whose browser carries it, are left by a crashed JVM and are killed. Browsers of
+ *   other programs (another service, a developer's test run) never carry it and are left alone.
+ *
+ * Memory is read from /proc, so it is only reported on Linux; elsewhere residentBytes is -1.
+ * Remote (Grid) sessions have no local process and are not tracked.
+ */
+@Slf4j
+public class BrowserProcessTracker {
+
+    private static final Path PROC = Path.of("/proc");
+    private static final long QUIT_GRACE_MS = 5000;
+    private static final String USER_DATA_DIR = "--user-data-dir=";
+
+    private final Map<WebDriver, Long> driverPids = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Path profileRoot;
+    private final boolean killOrphans;
+    private final MeterRegistry meterRegistry;
+    private final Supplier<Stream<ProcessHandle>> allProcesses;
+
+    /**
+     * @param profileRoot Directory under which every session this service starts has its --user-data-dir
+     */
+    public BrowserProcessTracker(MeterRegistry meterRegistry, boolean killOrphans, Path profileRoot) {
+        this(meterRegistry, killOrphans, profileRoot, ProcessHandle::allProcesses);
+    }
+
+    /**
+     * Visible for tests: inspects the given processes instead of the OS ones
+     */
+    BrowserProcessTracker(MeterRegistry meterRegistry,
+                          boolean killOrphans,
+                          Path profileRoot,
+                          Supplier<Stream<ProcessHandle>> allProcesses) {
+        this.meterRegistry = meterRegistry;
+        this.killOrphans = killOrphans;
+        this.profileRoot = profileRoot.toAbsolutePath().normalize();
+        this.allProcesses = allProcesses;
+    }
+
+    /**
+     * Starts a session and remembers its chromedriver process, found through the session's
+     * profile directory. Sessions start concurrently: nothing is held while Chrome starts.
+     */
+    public WebDriver start(Supplier<WebDriver> factory) {
+        WebDriver driver = factory.get();
+        Optional<Path> profile = profileOf(driver);
+        if (profile.isEmpty()) {
+            log.debug("Session started without a profile under {}, its processes are not tracked", profileRoot);
+            return driver;
+        }
+        ProcessHandle.current().children()
+            .filter(BrowserProcessTracker::isChromedriver)
+            .filter(chromedriver -> chromedriver.descendants().anyMatch(process -> usesProfile(process, profile.get())))
+            .findFirst()
+            .ifPresent(chromedriver -> driverPids.put(driver, chromedriver.pid()));
+        return driver;
+    }
+
+    /**
+     * @return resident memory of the session's process tree in bytes, -1 if unknown
+     */
+    public long residentBytes(WebDriver driver) {
+        Long pid = driverPids.get(driver);
+        if (pid == null || !Files.isDirectory(PROC)) {
+            return -1;
+        }
+        return ProcessHandle.of(pid)
+            .map(process -> Stream.concat(Stream.of(process), process.descendants())
+                .mapToLong(BrowserProcessTracker::processResidentBytes)
+                .sum())
+            .orElse(-1L);
+    }
+
+    /**
+     * Forgets a session after quit(), killing its processes if they did not exit
+     */
+    public void stopped(WebDriver driver) {
+        Long pid = driverPids.remove(driver);
+        if (pid != null) {
+            ProcessHandle.of(pid).filter(ProcessHandle::isAlive).ifPresent(process -> {
+                if (!awaitExit(process)) {
+                    log.warn("chromedriver {} still running after quit, killing it", pid);
+                    kill(process, "leaked");
+                }
+            });
+        }
+        profileOf(driver).ifPresent(this::deleteProfile);
+    }
+
+    /**
+     * Kills the browsers this service started (marked by their profile directory) whose
+     * chromedriver is gone, and the chromedriver processes of such browsers whose JVM is gone
+     *
+     * @return number of process trees killed
+     */
+    public int killOrphans() {
+        if (!killOrphans) {
+            return 0;
+        }
+        Optional<String> user = ProcessHandle.current().info().user();
+        boolean initIsUs = ProcessHandle.current().pid() == 1;
+        List<ProcessHandle> orphans;
+        try (Stream<ProcessHandle> processes = allProcesses.get()) {
+            orphans = processes
+                .filter(process -> process.info() != null && process.info().user().equals(user))
+                .filter(process -> isOrphan(process, initIsUs))
+                .toList();
+        }
+        for (ProcessHandle orphan : orphans) {
+            log.warn("Killing orphaned browser process {} ({})", orphan.pid(),
+                orphan.info().command().orElse("?"));
+            List<Path> profiles = new ArrayList<>();
+            Stream.concat(Stream.of(orphan), orphan.descendants())
+                .map(this::markedProfile)
+                .flatMap(Optional::stream)
+                .forEach(profiles::add);
+            kill(orphan, "orphan");
+            if (awaitExit(orphan)) {
+                profiles.forEach(this::deleteProfile);
+            }
+        }
+        return orphans.size();
+    }
+
+    private boolean isOrphan(ProcessHandle process, boolean initIsUs) {
+        if (isChromedriver(process)) {
+            // Adopted by init: the JVM that started it died without quitting the session
+            Optional<ProcessHandle> parent = process.parent();
+            boolean adopted = parent.isEmpty() || (parent.get().pid() == 1 && !initIsUs);
+            return adopted && process.descendants().anyMatch(child -> markedProfile(child).isPresent());
+        }
+        if (isWebDriverBrowser(process) && markedProfile(process).isPresent()) {
+            return process.parent().map(parent -> !isChromedriver(parent)).orElse(true);
+        }
+        return false;
+    }
+
+    /**
+     * @return the profile directory of the process if it is one of ours
+     */
+    private Optional<Path> markedProfile(ProcessHandle process) {
+        ProcessHandle.Info info = process.info();
+        if (info == null) {
+            return Optional.empty();
+        }
+        for (String argument : info.arguments().orElse(new String[0])) {
+            if (argument.startsWith(USER_DATA_DIR)) {
+                Path profile = Path.of(argument.substring(USER_DATA_DIR.length())).toAbsolutePath().normalize();
+                return profile.startsWith(profileRoot) ? Optional.of(profile) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean usesProfile(ProcessHandle process, Path profile) {
+        return markedProfile(process).filter(profile::equals).isPresent();
+    }
+
+    /**
+     * Profile directory chromedriver reports for the session, if it is one of ours
+     */
+    private Optional<Path> profileOf(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities hasCapabilities)) {
+            return Optional.empty();
+        }
+        try {
+            if (hasCapabilities.getCapabilities().getCapability("chrome") instanceof Map<?, ?> chrome
+                    && chrome.get("userDataDir") instanceof String userDataDir) {
+                Path profile = Path.of(userDataDir).toAbsolutePath().normalize();
+                return profile.startsWith(profileRoot) ? Optional.of(profile) : Optional.empty();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not read the session profile: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isChromedriver(ProcessHandle process) {
+        // A process that exited, or that we may not inspect, reports no info
+        ProcessHandle.Info info = process.info();
+        if (info == null) {
+            return false;
+        }
+        return info.command()
+            .map(command -> Path.of(command).getFileName().toString().startsWith("chromedriver"))
+            .orElse(false);
+    }
+
+    /**
+     * Main browser process of a WebDriver session (renderers and helpers carry --type=)
+     */
+    private static boolean isWebDriverBrowser(ProcessHandle process) {
+        ProcessHandle.Info info = process.info();
+        if (info == null || info.command().filter(command -> command.contains("chrom")).isEmpty()) {
+            return false;
+        }
+        String[] arguments = info.arguments().orElse(new String[0]);
+        boolean webDriver = false;
+        for (String argument : arguments) {
+            if (argument.startsWith("--type=")) {
+                return false;
+            }
+            webDriver |= argument.startsWith("--remote-debugging-port") || argument.equals("--test-type=webdriver");
+        }
+        return webDriver;
+    }
+
+    private static long processResidentBytes(ProcessHandle process) {
+        try (Stream<String> lines = Files.lines(PROC.resolve(Long.toString(process.pid())).resolve("status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                .findFirst()
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                .orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            // Process exited while being read
+            return 0;
+        }
+    }
+
+    private static boolean awaitExit(ProcessHandle process) {
+        try {
+            process.onExit().get(QUIT_GRACE_MS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void deleteProfile(Path profile) {
+        if (!Files.isDirectory(profile)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(profile)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not remove browser profile {}: {}", profile, e.getMessage());
+        }
+    }
+
+    private void kill(ProcessHandle process, String reason) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        Counter.builder("webdriver.fleet.killed")
+            .description("Browser process trees killed, by reason")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+}
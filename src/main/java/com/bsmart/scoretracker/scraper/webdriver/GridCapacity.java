@@ -0,0 +1,202 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selenium Grid capacity, read from the Grid's /status endpoint.
+ *
+ * Before a new remote session is requested, {@link #place()} picks the least-loaded node
+ * with a free slot. Slots being requested are reserved locally until the session exists,
+ * so concurrent creations spread over the nodes instead of piling onto the one that looked
+ * free at the last refresh.
+ *
+ * The Grid, not the client, assigns sessions to nodes. Pinning therefore needs a custom
+ * capability (nodeCapability, e.g. "bsmart:node") carried by each node's stereotype: its
+ * value is copied into the new session's capabilities. Without it, placement only reports
+ * whether the request will find a free slot or wait in the Grid's queue.
+ */
+@Slf4j
+public class GridCapacity {
+
+    private final HttpClient httpClient;
+    private final URI statusUri;
+    private final ObjectMapper objectMapper;
+    private final String nodeCapability;
+    private final Duration statusTtl;
+
+    private final Map<String, AtomicInteger> reserved = new ConcurrentHashMap<>();
+    private volatile List<Node> nodes = List.of();
+    private volatile long refreshedAt;
+    private volatile boolean stale = true;
+
+    public GridCapacity(HttpClient httpClient,
+                        URI statusUri,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        String nodeCapability,
+                        Duration statusTtl) {
+        this.httpClient = httpClient;
+        this.statusUri = statusUri;
+        this.objectMapper = objectMapper;
+        this.nodeCapability = nodeCapability == null ? "" : nodeCapability.trim();
+        this.statusTtl = statusTtl;
+
+        Gauge.builder("webdriver.grid.slots", this, grid -> grid.nodes.stream().mapToInt(grid::freeSlots).sum())
+            .description("Browser slots on UP Grid nodes at the last status read")
+            .tag("state", "free")
+            .register(meterRegistry);
+        Gauge.builder("webdriver.grid.slots", this, grid -> grid.nodes.stream().mapToInt(Node::busy).sum())
+            .description("Browser slots on UP Grid nodes at the last status read")
+            .tag("state", "busy")
+            .register(meterRegistry);
+        Gauge.builder("webdriver.grid.nodes", this, grid -> grid.nodes.size())
+            .description("UP Grid nodes at the last status read")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Chooses where the next session goes. Close the placement once the session is created (or failed).
+     */
+    public Placement place() {
+        refreshIfStale();
+
+        Node best = nodes.stream()
+            .filter(node -> freeSlots(node) > 0)
+            .max(Comparator.comparingDouble(node -> (double) freeSlots(node) / node.maxSessions()))
+            .orElse(null);
+        if (best == null) {
+            log.debug("No free Grid slot, the session request will queue");
+            return new Placement(null, Map.of());
+        }
+
+        reserved.computeIfAbsent(best.uri(), uri -> new AtomicInteger()).incrementAndGet();
+        Map<String, Object> capabilities = nodeCapability.isEmpty() || best.pin() == null
+            ? Map.of()
+            : Map.of(nodeCapability, best.pin());
+        return new Placement(best, capabilities);
+    }
+
+    /**
+     * Re-reads /status; the previous view is kept if the Grid does not answer
+     */
+    public void refresh() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(statusUri)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("Grid status returned HTTP {}", response.statusCode());
+                return;
+            }
+            nodes = parse(response.body());
+            stale = false;
+        } catch (IOException e) {
+            log.warn("Could not read Grid status: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            refreshedAt = System.nanoTime();
+        }
+    }
+
+    List<Node> nodes() {
+        return nodes;
+    }
+
+    private void refreshIfStale() {
+        if (stale || System.nanoTime() - refreshedAt > statusTtl.toNanos()) {
+            refresh();
+        }
+    }
+
+    private List<Node> parse(String body) throws IOException {
+        List<Node> parsed = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(body).path("value").path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                continue;
+            }
+            JsonNode slots = node.path("slots");
+            int busy = 0;
+            String pin = null;
+            for (JsonNode slot : slots) {
+                if (!slot.path("session").isMissingNode() && !slot.path("session").isNull()) {
+                    busy++;
+                }
+                JsonNode value = slot.path("stereotype").path(nodeCapability);
+                if (pin == null && !nodeCapability.isEmpty() && value.isValueNode()) {
+                    pin = value.asText();
+                }
+            }
+            int maxSessions = node.path("maxSessions").asInt(slots.size());
+            parsed.add(new Node(node.path("uri").asText(), maxSessions, busy, pin));
+        }
+        return List.copyOf(parsed);
+    }
+
+    private int freeSlots(Node node) {
+        AtomicInteger pending = reserved.get(node.uri());
+        return Math.max(0, node.maxSessions() - node.busy() - (pending == null ? 0 : pending.get()));
+    }
+
+    record Node(String uri, int maxSessions, int busy, String pin) {
+    }
+
+    /**
+     * Slot reserved for one session creation
+     */
+    public final class Placement implements AutoCloseable {
+
+        private final Node node;
+        private final Map<String, Object> capabilities;
+        private boolean closed;
+
+        private Placement(Node node, Map<String, Object> capabilities) {
+            this.node = node;
+            this.capabilities = capabilities;
+        }
+
+        /**
+         * @return true if no node had a free slot: the Grid will queue the request
+         */
+        public boolean isQueued() {
+            return node == null;
+        }
+
+        /**
+         * @return capabilities pinning the session to the chosen node, empty if it cannot be pinned
+         */
+        public Map<String, Object> capabilities() {
+            return capabilities;
+        }
+
+        @Override
+        public void close() {
+            if (closed || node == null) {
+                return;
+            }
+            closed = true;
+            reserved.get(node.uri()).decrementAndGet();
+            // The new session now shows in /status: re-read it before the next placement
+            stale = true;
+        }
+    }
+}
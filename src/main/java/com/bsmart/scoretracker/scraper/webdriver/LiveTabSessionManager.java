@@ -0,0 +1,301 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One long-lived browser keeping a tab open per live (or about to start) match page.
+ *
+ * Live pages update themselves, so once a tab is open a poll is a switch to the tab and a
+ * read of its current state instead of a full navigation. Tabs are closed when the provider
+ * sees the match finished, when they have not been read for idleTimeout, or when the
+ * browser dies (tabs are then reopened by the next polls).
+ *
+ * A WebDriver session is single-threaded: commands are serialized on this manager, and each
+ * holds the lock only for a tab switch and a read of the page as it stands. Neither the browser
+ * start nor page loads happen under the lock: a tab is opened on a navigation that is started,
+ * not awaited, and reads of a tab still loading find no data and fall back to a full scrape.
+ */
+@Slf4j
+public class LiveTabSessionManager implements DisposableBean {
+
+    // Navigates once the script has returned, so that the driver does not wait for the page load
+    private static final String START_LOADING_SCRIPT =
+        "var url = arguments[0]; setTimeout(function () { window.location.assign(url); }, 0);";
+
+    private final Supplier<WebDriver> factory;
+    private final boolean enabled;
+    private final int maxTabs;
+    private final Duration idleTimeout;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService evictor;
+
+    // Guarded by this
+    private final Map<String, Tab> tabs = new LinkedHashMap<>();
+    private WebDriver browser;
+
+    public LiveTabSessionManager(Supplier<WebDriver> factory,
+                                 MeterRegistry meterRegistry,
+                                 boolean enabled,
+                                 int maxTabs,
+                                 Duration idleTimeout) {
+        this.factory = factory;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxTabs = maxTabs;
+        this.idleTimeout = idleTimeout;
+
+        if (!enabled) {
+            this.evictor = null;
+            return;
+        }
+
+        Gauge.builder("webdriver.live_tabs.open", this, LiveTabSessionManager::openTabs)
+            .description("Live match tabs currently open")
+            .register(meterRegistry);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-tabs-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeout.toMillis() / 2);
+        this.evictor.scheduleWithFixedDelay(this::closeIdleTabs, period, period, TimeUnit.MILLISECONDS);
+
+        log.info("Live tab sessions enabled: maxTabs={}, idleTimeout={}", maxTabs, idleTimeout);
+    }
+
+    /**
+     * @return a manager that never opens tabs, for setups without live sessions
+     */
+    public static LiveTabSessionManager disabled() {
+        return new LiveTabSessionManager(() -> null, Metrics.globalRegistry, false, 0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a tab on the page unless it is already open
+     *
+     * @return true if a tab is open on the page after the call
+     */
+    public boolean open(String url) {
+        if (!enabled) {
+            return false;
+        }
+        WebDriver driver;
+        try {
+            driver = browser();
+        } catch (RuntimeException e) {
+            count("opens", "failed");
+            log.warn("Could not start live tab browser for {}: {}", url, e.getMessage());
+            return false;
+        }
+
+        synchronized (this) {
+            if (tabs.containsKey(url)) {
+                return true;
+            }
+            if (tabs.size() >= maxTabs) {
+                count("opens", "full");
+                log.debug("Live tab limit reached ({}), not opening {}", maxTabs, url);
+                return false;
+            }
+            if (driver != browser) {
+                // Dropped by a failed read in the meantime; the next poll starts a new one
+                return false;
+            }
+
+            try {
+                driver.switchTo().newWindow(WindowType.TAB);
+                String handle = driver.getWindowHandle();
+                tabs.put(url, new Tab(handle));
+                startLoading(driver, url);
+                count("opens", "opened");
+                log.info("Live tab opened for {} ({} open)", url, tabs.size());
+                return true;
+            } catch (RuntimeException e) {
+                count("opens", "failed");
+                log.warn("Could not open live tab for {}: {}", url, e.getMessage());
+                close(url);
+                recover(url);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the current state of an open tab
+     *
+     * @param reader Extraction run against the driver, switched to the tab; returning null means "no data"
+     * @return empty if no tab is open on the page or the read failed (the tab is then closed)
+     */
+    public synchronized <T> Optional<T> read(String url, Function<WebDriver, T> reader) {
+        Tab tab = tabs.get(url);
+        if (tab == null) {
+            return Optional.empty();
+        }
+
+        try {
+            browser.switchTo().window(tab.handle);
+            T value = reader.apply(browser);
+            tab.lastRead = System.nanoTime();
+            count("reads", value != null ? "hit" : "empty");
+            return Optional.ofNullable(value);
+        } catch (RuntimeException e) {
+            count("reads", "failed");
+            log.warn("Live tab read failed for {}: {}", url, e.getMessage());
+            recover(url);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized void close(String url) {
+        Tab tab = tabs.remove(url);
+        if (tab == null || browser == null) {
+            return;
+        }
+        try {
+            browser.switchTo().window(tab.handle);
+            browser.close();
+            log.info("Live tab closed for {} ({} open)", url, tabs.size());
+        } catch (RuntimeException e) {
+            log.debug("Error closing live tab for {}: {}", url, e.getMessage());
+        }
+    }
+
+    public synchronized boolean isOpen(String url) {
+        return tabs.containsKey(url);
+    }
+
+    synchronized int openTabs() {
+        return tabs.size();
+    }
+
+    /**
+     * Closes tabs no poll has read for idleTimeout (match untracked, deleted, or polled elsewhere)
+     */
+    void closeIdleTabs() {
+        long threshold = System.nanoTime() - idleTimeout.toNanos();
+        List<String> idle = new ArrayList<>();
+        synchronized (this) {
+            tabs.forEach((url, tab) -> {
+                if (tab.lastRead < threshold) {
+                    idle.add(url);
+                }
+            });
+        }
+        idle.forEach(this::close);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        tabs.clear();
+        quitBrowser();
+    }
+
+    /**
+     * @return the live tab browser, started outside the lock if there is none
+     */
+    private WebDriver browser() {
+        synchronized (this) {
+            if (browser != null) {
+                return browser;
+            }
+        }
+        WebDriver started = factory.get();
+        synchronized (this) {
+            if (browser == null) {
+                browser = started;
+                count("browsers", "started");
+                return browser;
+            }
+        }
+        // Another open started one first
+        quitQuietly(started);
+        synchronized (this) {
+            return browser;
+        }
+    }
+
+    private static void startLoading(WebDriver driver, String url) {
+        if (driver instanceof JavascriptExecutor executor) {
+            executor.executeScript(START_LOADING_SCRIPT, url);
+        } else {
+            driver.get(url);
+        }
+    }
+
+    /**
+     * Drops the failed tab, and the whole browser if its session is gone
+     */
+    private void recover(String url) {
+        tabs.remove(url);
+        if (browser == null) {
+            return;
+        }
+        try {
+            browser.getWindowHandles();
+        } catch (RuntimeException e) {
+            log.warn("Live tab browser is gone, dropping {} tabs", tabs.size());
+            tabs.clear();
+            quitBrowser();
+        }
+    }
+
+    private void quitBrowser() {
+        if (browser == null) {
+            return;
+        }
+        quitQuietly(browser);
+        browser = null;
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            log.debug("Error quitting live tab browser: {}", e.getMessage());
+        }
+    }
+
+    private void count(String name, String result) {
+        Counter.builder("webdriver.live_tabs." + name)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static final class Tab {
+        private final String handle;
+        private long lastRead = System.nanoTime();
+
+        private Tab(String handle) {
+            this.handle = handle;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-scrape time and byte accounting, to see what lean mode actually saves.
+ *
+ * Bytes come from the Resource Timing API (navigation + sub-resources transferSize).
+ * Cross-origin resources without Timing-Allow-Origin report 0, so the figure is a lower bound.
+ */
+@Slf4j
+public class PageLoadAccounting {
+
+    private static final String WEIGHT_SCRIPT =
+        "var nav = performance.getEntriesByType('navigation')[0];"
+            + " var bytes = nav ? nav.transferSize : 0;"
+            + " var resources = performance.getEntriesByType('resource');"
+            + " for (var i = 0; i < resources.length; i++) { bytes += resources[i].transferSize || 0; }"
+            + " return [bytes, resources.length];";
+
+    private final String name;
+    private final Timer loadTime;
+    private final DistributionSummary transferred;
+    private final DistributionSummary resources;
+
+    /**
+     * @param name          Provider name, used in logs and as metric tag
+     * @param meterRegistry Registry of the time and weight meters
+     */
+    public PageLoadAccounting(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loadTime = Timer.builder("scraper.page.time")
+            .description("Time from navigation start until the page data is usable")
+            .tag("provider", name)
+            .register(meterRegistry);
+        this.transferred = DistributionSummary.builder("scraper.page.bytes")
+            .description("Bytes transferred per scraped page")
+            .baseUnit("bytes")
+            .tag("provider", name)
+            .register(meterRegistry);
+        this.resources = DistributionSummary.builder("scraper.page.resources")
+            .description("Sub-resources loaded per scraped page")
+            .tag("provider", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Records one scrape. Never throws: accounting must not fail a fetch.
+     *
+     * @param webDriver  Driver holding the scraped page
+     * @param startNanos System.nanoTime() taken before navigating
+     */
+    public void record(WebDriver webDriver, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        loadTime.record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (!(webDriver instanceof JavascriptExecutor executor)) {
+            return;
+        }
+        try {
+            if (executor.executeScript(WEIGHT_SCRIPT) instanceof List<?> weight && weight.size() == 2) {
+                long bytes = ((Number) weight.get(0)).longValue();
+                long count = ((Number) weight.get(1)).longValue();
+                transferred.record(bytes);
+                resources.record(count);
+                log.debug("[{}] page loaded in {} ms, {} bytes over {} resources",
+                    name, TimeUnit.NANOSECONDS.toMillis(elapsed), bytes, count);
+            }
+        } catch (RuntimeException e) {
+            log.debug("[{}] could not measure page weight: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gets the provider data out of the browser without serializing the whole DOM.
+ *
+ * selenium.capture.mode:
+ * - page-source : legacy behaviour, getPageSource() of the rendered DOM
+ * - next-data   : reads only the __NEXT_DATA__ script content with one JavaScript call
+ * - network     : records, through Chrome DevTools, the JSON responses matching
+ *                 selenium.capture.url-patterns and the __NEXT_DATA__ of the HTML document
+ *                 as they come off the network
+ *
+ * Each mode falls back to the next cheaper one (network, next-data, page-source) when it
+ * captures nothing, e.g. a driver without DevTools or JavaScript.
+ */
+@Component
+@Profile("selenium")
+@Slf4j
+public class PayloadCapture {
+
+    public enum Mode { PAGE_SOURCE, NEXT_DATA, NETWORK }
+
+    private static final String NEXT_DATA_SCRIPT =
+        "var data = document.getElementById('__NEXT_DATA__'); return data ? data.textContent : null;";
+    private static final Pattern NEXT_DATA_TAG =
+        Pattern.compile("<script[^>]*id=\"__NEXT_DATA__\"[^>]*>(.*?)</script>", Pattern.DOTALL);
+
+    private final Mode mode;
+    private final List<String> urlPatterns;
+
+    public PayloadCapture(@Value("${selenium.capture.mode:next-data}") String mode,
+                          @Value("${selenium.capture.url-patterns:/_next/data/,/api/}") List<String> urlPatterns) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.urlPatterns = urlPatterns;
+    }
+
+    /**
+     * Starts a capture; must be called before navigating so network mode sees the responses
+     */
+    public Capture start(WebDriver webDriver) {
+        if (mode == Mode.NETWORK) {
+            HasDevTools devTools = devTools(webDriver);
+            if (devTools != null) {
+                return new NetworkCapture(webDriver, (WebDriver) devTools);
+            }
+            log.debug("Driver has no DevTools connection, capturing __NEXT_DATA__ instead");
+        }
+        return new Capture(webDriver, mode == Mode.PAGE_SOURCE);
+    }
+
+    private static HasDevTools devTools(WebDriver webDriver) {
+        if (webDriver instanceof HasDevTools hasDevTools) {
+            return hasDevTools;
+        }
+        try {
+            // Remote Grid sessions expose DevTools through the se:cdp capability
+            WebDriver augmented = new Augmenter().augment(webDriver);
+            return augmented instanceof HasDevTools hasDevTools ? hasDevTools : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Payload of one scrape. Close it once the payload has been read.
+     */
+    public static class Capture implements AutoCloseable {
+
+        protected final WebDriver webDriver;
+        private final boolean pageSourceOnly;
+
+        Capture(WebDriver webDriver, boolean pageSourceOnly) {
+            this.webDriver = webDriver;
+            this.pageSourceOnly = pageSourceOnly;
+        }
+
+        /**
+         * @return text to hand to the extractors: captured JSON, or the page source as last resort
+         */
+        public String payload() {
+            if (!pageSourceOnly && webDriver instanceof JavascriptExecutor executor) {
+                try {
+                    if (executor.executeScript(NEXT_DATA_SCRIPT) instanceof String nextData && !nextData.isBlank()) {
+                        return nextData;
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("Could not read __NEXT_DATA__: {}", e.getMessage());
+                }
+            }
+            return webDriver.getPageSource();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class NetworkCapture extends Capture {
+
+        private final Queue<String> payloads = new ConcurrentLinkedQueue<>();
+        private final NetworkInterceptor interceptor;
+
+        NetworkCapture(WebDriver webDriver, WebDriver devToolsDriver) {
+            super(webDriver, false);
+            Filter recorder = next -> request -> {
+                HttpResponse response = next.execute(request);
+                record(request.getUri(), response);
+                return response;
+            };
+            this.interceptor = new NetworkInterceptor(devToolsDriver, recorder);
+        }
+
+        @Override
+        public String payload() {
+            if (payloads.isEmpty()) {
+                return super.payload();
+            }
+            return String.join("\n", payloads);
+        }
+
+        @Override
+        public void close() {
+            interceptor.close();
+        }
+
+        private void record(String uri, HttpResponse response) {
+            String contentType = response.getHeader("Content-Type");
+            if (response.getStatus() != 200 || contentType == null) {
+                return;
+            }
+            boolean json = contentType.contains("json") && urlPatterns.stream().anyMatch(uri::contains);
+            boolean html = contentType.contains("text/html");
+            if (!json && !html) {
+                return;
+            }
+
+            byte[] body = Contents.bytes(response.getContent());
+            // The stream is consumed: hand the browser a fresh copy
+            response.setContent(Contents.bytes(body));
+            String text = new String(body, response.getContentEncoding());
+
+            if (json) {
+                payloads.add(text);
+            } else {
+                Matcher matcher = NEXT_DATA_TAG.matcher(text);
+                if (matcher.find()) {
+                    payloads.add(matcher.group(1));
+                }
+            }
+        }
+    }
+}
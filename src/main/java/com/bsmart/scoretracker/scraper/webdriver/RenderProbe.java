@@ -0,0 +1,146 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits until a page holds the data a scraper needs, instead of sleeping a fixed delay.
+ *
+ * Readiness is a JavaScript condition evaluated in the page (e.g. {@code __NEXT_DATA__}
+ * populated, a score element present). Drivers that cannot run scripts fall back to
+ * looking for a marker in the page source.
+ *
+ * The timeout adapts to the site: it follows an exponential moving average of recent
+ * render times, times a safety multiplier, bounded by minTimeout and maxTimeout.
+ * A timeout is not an error: the caller parses whatever has rendered.
+ */
+@Slf4j
+public class RenderProbe {
+
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration MAX_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration INITIAL_RENDER_TIME = Duration.ofSeconds(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final double MULTIPLIER = 3.0;
+    private static final double SMOOTHING = 0.2;
+
+    private final String name;
+    private final String readyScript;
+    private final String sourceMarker;
+    private final long minTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final double multiplier;
+    private final double smoothing;
+    private final Duration pollInterval;
+
+    private final Timer readyTimer;
+    private final Timer timeoutTimer;
+
+    private volatile double averageRenderMillis;
+
+    /**
+     * @param name         Probe name, used in logs and as metric tag
+     * @param readyScript  JavaScript body returning true once the page is usable
+     * @param sourceMarker Text the page source must contain, for drivers without JavaScript
+     * @param meterRegistry Registry of the wait timers and timeout gauge
+     */
+    public RenderProbe(String name, String readyScript, String sourceMarker, MeterRegistry meterRegistry) {
+        this(name, readyScript, sourceMarker, meterRegistry, MIN_TIMEOUT, MAX_TIMEOUT, INITIAL_RENDER_TIME,
+            MULTIPLIER, SMOOTHING, POLL_INTERVAL);
+    }
+
+    RenderProbe(String name,
+                String readyScript,
+                String sourceMarker,
+                MeterRegistry meterRegistry,
+                Duration minTimeout,
+                Duration maxTimeout,
+                Duration initialRenderTime,
+                double multiplier,
+                double smoothing,
+                Duration pollInterval) {
+        this.name = name;
+        this.readyScript = readyScript;
+        this.sourceMarker = sourceMarker;
+        this.minTimeoutMillis = minTimeout.toMillis();
+        this.maxTimeoutMillis = Math.max(minTimeoutMillis, maxTimeout.toMillis());
+        this.multiplier = multiplier;
+        this.smoothing = smoothing;
+        this.pollInterval = pollInterval;
+        this.averageRenderMillis = initialRenderTime.toMillis();
+
+        this.readyTimer = Timer.builder("scraper.render.wait")
+            .description("Time spent waiting for a page to render its data")
+            .tag("probe", name)
+            .tag("outcome", "ready")
+            .register(meterRegistry);
+        this.timeoutTimer = Timer.builder("scraper.render.wait")
+            .description("Time spent waiting for a page to render its data")
+            .tag("probe", name)
+            .tag("outcome", "timeout")
+            .register(meterRegistry);
+        Gauge.builder("scraper.render.timeout", this, probe -> probe.currentTimeout().toMillis())
+            .description("Current adaptive render timeout in milliseconds")
+            .tag("probe", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until the page loaded in {@code webDriver} is ready or the adaptive timeout expires
+     *
+     * @return true if the page became ready, false on timeout
+     */
+    public boolean awaitReady(WebDriver webDriver) {
+        Duration timeout = currentTimeout();
+        long start = System.nanoTime();
+        try {
+            new WebDriverWait(webDriver, timeout, pollInterval)
+                .ignoring(JavascriptException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .until(this::isReady);
+            long elapsed = System.nanoTime() - start;
+            readyTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            learn(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            log.debug("[{}] page ready after {} ms (timeout {} ms)", name,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), timeout.toMillis());
+            return true;
+        } catch (TimeoutException e) {
+            timeoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // Widens the next window: the site is slower than we thought
+            learn(timeout.toMillis());
+            log.warn("[{}] page not ready after {} ms, parsing what has rendered", name, timeout.toMillis());
+            return false;
+        }
+    }
+
+    /**
+     * @return timeout applied to the next wait
+     */
+    public Duration currentTimeout() {
+        long millis = Math.round(averageRenderMillis * multiplier);
+        return Duration.ofMillis(Math.min(maxTimeoutMillis, Math.max(minTimeoutMillis, millis)));
+    }
+
+    private boolean isReady(WebDriver webDriver) {
+        if (webDriver instanceof JavascriptExecutor executor) {
+            return Boolean.TRUE.equals(executor.executeScript(readyScript));
+        }
+        String pageSource = webDriver.getPageSource();
+        return pageSource != null && pageSource.contains(sourceMarker);
+    }
+
+    private synchronized void learn(long renderMillis) {
+        averageRenderMillis += smoothing * (renderMillis - averageRenderMillis);
+    }
+}
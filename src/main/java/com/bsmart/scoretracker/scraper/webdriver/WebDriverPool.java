@@ -0,0 +1,31 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Source of browser sessions for the Selenium providers.
+ *
+ * Every borrowed session must be handed back with {@link #release}. The default
+ * implementation is unpooled: a lambda creating a driver per borrow, quit on release
+ * (what tests use). {@link BoundedWebDriverPool} keeps sessions alive between scrapes.
+ */
+@FunctionalInterface
+public interface WebDriverPool {
+
+    /**
+     * @return a session for exclusive use by the caller until released
+     */
+    WebDriver borrow();
+
+    /**
+     * Hands a session back
+     *
+     * @param driver   Session obtained from {@link #borrow()}
+     * @param reusable false if the session failed in a way that may have broken it
+     */
+    default void release(WebDriver driver, boolean reusable) {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+}
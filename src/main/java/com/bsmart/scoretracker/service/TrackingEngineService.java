@@ -1,9 +1,15 @@
 package com.bsmart.scoretracker.service;
 
+import com.bsmart.scoretracker.dto.MatchSnapshot;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.MatchStatus;
 import com.bsmart.scoretracker.model.enums.ProviderType;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface TrackingEngineService {
 
     /**
@@ -12,6 +18,51 @@ public interface TrackingEngineService {
      */
     void trackMatch(Match match);
 
+    /**
+     * Whether the match is fetched without a browser: {@link #fetchAsync} then holds no
+     * thread while the page downloads
+     * @param match The match
+     */
+    boolean fetchesAsync(Match match);
+
+    /**
+     * Fetches a match without updating it; update it with {@link #trackFetched}
+     * @param match The match to fetch
+     * @param worker Runs the blocking part of the fetch, if any (e.g. a browser fallback)
+     * @return the fetched snapshot, or the fetch failure
+     */
+    CompletableFuture<MatchSnapshot> fetchAsync(Match match, Executor worker);
+
+    /**
+     * Updates a match from the outcome of {@link #fetchAsync}, as {@link #trackMatch} would
+     * @param match The fetched match
+     * @param snapshot Fetched snapshot, null if the fetch failed
+     * @param failure Fetch failure, null if the snapshot was fetched
+     */
+    void trackFetched(Match match, MatchSnapshot snapshot, Throwable failure);
+
+    /**
+     * Updates a match from a snapshot pushed by a live-update stream or read from a listing page,
+     * as if it had just been fetched
+     * @param match The match to update
+     * @param snapshot Pushed snapshot; ignored if not found
+     */
+    void applySnapshot(Match match, MatchSnapshot snapshot);
+
+    /**
+     * Listing page shared by this match and others of its provider
+     * @param match The match
+     * @return the listing URL, null if the match can only be fetched on its own page
+     */
+    String listingSource(Match match);
+
+    /**
+     * Fetches matches with the same listing source in one go, without updating them
+     * @param matches Matches of one provider sharing a listing source
+     * @return snapshots by match id; matches missing from the listing are absent
+     */
+    Map<Long, MatchSnapshot> fetchBatch(List<Match> matches);
+
     /**
      * Normalizes provider-specific status to MatchStatus
      * @param rawStatus Raw status from provider
@@ -2,43 +2,192 @@ package com.bsmart.scoretracker.service.impl;
 
 import com.bsmart.scoretracker.dto.MatchMetadata;
 import com.bsmart.scoretracker.exception.ScraperException;
+import com.bsmart.scoretracker.scraper.webdriver.RenderProbe;
+import com.bsmart.scoretracker.scraper.webdriver.WebDriverPool;
 import com.bsmart.scoretracker.service.MatchMetadataService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Extracts match metadata from a provider URL, safe for concurrent callers.
+ *
+ * The server-rendered page is read first with Jsoup: both providers embed the match in the
+ * __NEXT_DATA__ and JSON-LD scripts, so teams and kickoff usually come without a browser.
+ * A pooled browser session is borrowed only when that static read is incomplete.
+ *
+ * Results are cached per URL for metadata.cache.ttl, and concurrent requests for the same
+ * URL share one extraction.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MatchMetadataServiceImpl implements MatchMetadataService {
 
-    private final WebDriver webDriver;
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    private final ObjectProvider<WebDriverPool> webDriverPool;
+    private final boolean staticEnabled;
+    private final int staticTimeoutMs;
+    private final Duration cacheTtl;
+    private final int cacheMaxSize;
+
+    private final Map<String, CachedMetadata> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<MatchMetadata>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final RenderProbe renderProbe;
+
+    public MatchMetadataServiceImpl(ObjectProvider<WebDriverPool> webDriverPool,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${metadata.static.enabled:true}") boolean staticEnabled,
+                                    @Value("${metadata.static.timeout:10000}") int staticTimeoutMs,
+                                    @Value("${metadata.cache.ttl:600000}") long cacheTtlMs,
+                                    @Value("${metadata.cache.max-size:500}") int cacheMaxSize) {
+        this.webDriverPool = webDriverPool;
+        this.meterRegistry = meterRegistry;
+        this.staticEnabled = staticEnabled;
+        this.staticTimeoutMs = staticTimeoutMs;
+        this.cacheTtl = Duration.ofMillis(cacheTtlMs);
+        this.cacheMaxSize = cacheMaxSize;
+        // Both providers embed the match in __NEXT_DATA__; other pages are parsed once fully loaded
+        this.renderProbe = new RenderProbe("metadata",
+            "var data = document.getElementById('__NEXT_DATA__');"
+                + " return (!!data && data.textContent.length > 0) || document.readyState === 'complete';",
+            "__NEXT_DATA__", meterRegistry);
+    }
 
     @Override
     public MatchMetadata extractMetadataFromUrl(String url) {
-        log.info("Extracting metadata from OneFootball: {}", url);
+        CachedMetadata cached = cache.get(url);
+        if (cached != null && !cached.isExpired()) {
+            count("cache");
+            log.debug("Metadata for {} served from cache", url);
+            return cached.metadata;
+        }
+
+        CompletableFuture<MatchMetadata> call = new CompletableFuture<>();
+        CompletableFuture<MatchMetadata> existing = inFlight.putIfAbsent(url, call);
+        if (existing != null) {
+            count("coalesced");
+            log.debug("Metadata for {} is already being extracted, joining in-flight call", url);
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
 
         try {
-            webDriver.get(url);
-            WebDriverWait wait = new WebDriverWait(webDriver, Duration.ofSeconds(15));
+            MatchMetadata metadata = extract(url);
+            store(url, metadata);
+            call.complete(metadata);
+            return metadata;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(url, call);
+        }
+    }
+
+    private MatchMetadata extract(String url) {
+        log.info("Extracting metadata: {}", url);
+        MatchMetadata metadata = null;
+
+        if (staticEnabled) {
+            try {
+                Document document = Jsoup.connect(url)
+                    .userAgent(USER_AGENT)
+                    .timeout(staticTimeoutMs)
+                    .get();
+                metadata = extractFromDocument(url, document);
+                if (isComplete(metadata)) {
+                    count("static");
+                    logExtracted(metadata);
+                    return metadata;
+                }
+                log.debug("Static page of {} is incomplete, rendering it", url);
+            } catch (IOException e) {
+                log.debug("Static fetch failed for {}: {}", url, e.getMessage());
+            }
+        }
+
+        WebDriverPool pool = webDriverPool.getIfAvailable();
+        if (pool == null) {
+            if (metadata != null && metadata.getHomeTeam() != null && metadata.getAwayTeam() != null) {
+                count("static");
+                logExtracted(metadata);
+                return metadata;
+            }
+            throw new ScraperException("Metadata extraction failed: no team names in static page and no browser available");
+        }
 
-            // Wait for page body to load
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
+        metadata = extractWithBrowser(pool, url);
+        count("browser");
+        logExtracted(metadata);
+        return metadata;
+    }
+
+    /**
+     * Reads the metadata from the JSON scripts of a server-rendered page, no browser involved
+     */
+    MatchMetadata extractFromDocument(String url, Document document) {
+        StringBuilder json = new StringBuilder();
+        Element nextData = document.selectFirst("script#__NEXT_DATA__");
+        if (nextData != null) {
+            json.append(nextData.data()).append('\n');
+        }
+        for (Element ldJson : document.select("script[type=application/ld+json]")) {
+            json.append(ldJson.data()).append('\n');
+        }
+
+        MatchMetadata metadata = MatchMetadata.builder()
+            .matchUrl(url)
+            .build();
+        String pageSource = json.toString();
+
+        detectProviderFromUrl(url, metadata);
+        extractTeamNames(null, pageSource, metadata);
+        extractTeamNamesFromTitle(document.title(), metadata);
+        extractCompetition(null, pageSource, metadata);
+        extractVenue(null, pageSource, metadata);
+        extractMatchDate(null, pageSource, metadata);
+        return metadata;
+    }
+
+    private MatchMetadata extractWithBrowser(WebDriverPool pool, String url) {
+        WebDriver webDriver = pool.borrow();
+        boolean reusable = true;
+
+        try {
+            webDriver.get(url);
 
-            // Additional wait for JavaScript to render
-            Thread.sleep(3000);
+            // Wait for the embedded match data rather than a fixed delay
+            renderProbe.awaitReady(webDriver);
 
             String pageSource = webDriver.getPageSource();
 
@@ -50,30 +199,70 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
             detectProviderFromUrl(url, metadata);
 
             // Extract team names
-            extractTeamNames(wait, pageSource, metadata);
+            extractTeamNames(webDriver, pageSource, metadata);
+
+            // Last resort: extract from page title
+            if (metadata.getHomeTeam() == null || metadata.getAwayTeam() == null) {
+                extractTeamNamesFromTitle(webDriver.getTitle(), metadata);
+            }
 
             // Extract competition
-            extractCompetition(wait, pageSource, metadata);
+            extractCompetition(webDriver, pageSource, metadata);
 
             // Extract venue
-            extractVenue(wait, pageSource, metadata);
+            extractVenue(webDriver, pageSource, metadata);
 
             // Extract match date
-            extractMatchDate(wait, pageSource, metadata);
-
-            log.info("Metadata extracted: {} vs {} - {} at {} ({})",
-                metadata.getHomeTeam(), metadata.getAwayTeam(),
-                metadata.getCompetition(), metadata.getVenue(), metadata.getKickoffUtc());
+            extractMatchDate(webDriver, pageSource, metadata);
 
             return metadata;
 
         } catch (Exception e) {
+            // A page that did not render in time is fine; any other driver error may mean a broken session
+            reusable = !(e instanceof WebDriverException) || e instanceof TimeoutException;
             log.error("Failed to extract metadata: {}", e.getMessage(), e);
             throw new ScraperException("Metadata extraction failed: " + e.getMessage(), e);
+        } finally {
+            pool.release(webDriver, reusable);
+        }
+    }
+
+    private static boolean isComplete(MatchMetadata metadata) {
+        return metadata.getHomeTeam() != null
+            && metadata.getAwayTeam() != null
+            && metadata.getKickoffUtc() != null;
+    }
+
+    private void store(String url, MatchMetadata metadata) {
+        if (cacheTtl.isZero() || cacheMaxSize <= 0) {
+            return;
+        }
+        if (cache.size() >= cacheMaxSize) {
+            cache.values().removeIf(CachedMetadata::isExpired);
+        }
+        if (cache.size() >= cacheMaxSize) {
+            cache.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                .ifPresent(oldest -> cache.remove(oldest.getKey(), oldest.getValue()));
         }
+        cache.put(url, new CachedMetadata(metadata, System.nanoTime() + cacheTtl.toNanos()));
+    }
+
+    private void logExtracted(MatchMetadata metadata) {
+        log.info("Metadata extracted: {} vs {} - {} at {} ({})",
+            metadata.getHomeTeam(), metadata.getAwayTeam(),
+            metadata.getCompetition(), metadata.getVenue(), metadata.getKickoffUtc());
     }
 
-    private void extractTeamNames(WebDriverWait wait, String pageSource, MatchMetadata metadata) {
+    private void count(String source) {
+        Counter.builder("metadata.extractions")
+            .description("Metadata requests by source: cache, coalesced, static page or browser")
+            .tag("source", source)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private void extractTeamNames(WebDriver webDriver, String pageSource, MatchMetadata metadata) {
         try {
             // Try OneFootball JSON extraction first
             String[] onefootballPatterns = {
@@ -122,26 +311,8 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
             }
 
             // Fallback to DOM if JSON extraction failed
-            if (metadata.getHomeTeam() == null || metadata.getAwayTeam() == null) {
-                extractTeamNamesFromDOM(wait, metadata);
-            }
-
-            // Last resort: extract from page title
-            if (metadata.getHomeTeam() == null || metadata.getAwayTeam() == null) {
-                String title = webDriver.getTitle();
-                if (title.contains(" vs ")) {
-                    String[] teams = title.split(" vs ");
-                    if (teams.length == 2) {
-                        if (metadata.getHomeTeam() == null) {
-                            metadata.setHomeTeam(cleanTeamName(teams[0].trim()));
-                        }
-                        if (metadata.getAwayTeam() == null) {
-                            metadata.setAwayTeam(cleanTeamName(teams[1].trim()));
-                        }
-                        log.debug("Team names extracted from title: {} vs {}",
-                            metadata.getHomeTeam(), metadata.getAwayTeam());
-                    }
-                }
+            if (webDriver != null && (metadata.getHomeTeam() == null || metadata.getAwayTeam() == null)) {
+                extractTeamNamesFromDOM(webDriver, metadata);
             }
 
         } catch (Exception e) {
@@ -149,7 +320,7 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
         }
     }
 
-    private void extractTeamNamesFromDOM(WebDriverWait wait, MatchMetadata metadata) {
+    private void extractTeamNamesFromDOM(WebDriver webDriver, MatchMetadata metadata) {
         try {
             // Try different CSS selectors
             String[] selectors = {
@@ -180,6 +351,25 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
         }
     }
 
+    private void extractTeamNamesFromTitle(String title, MatchMetadata metadata) {
+        if (title == null || (metadata.getHomeTeam() != null && metadata.getAwayTeam() != null)) {
+            return;
+        }
+        if (title.contains(" vs ")) {
+            String[] teams = title.split(" vs ");
+            if (teams.length == 2) {
+                if (metadata.getHomeTeam() == null) {
+                    metadata.setHomeTeam(cleanTeamName(teams[0].trim()));
+                }
+                if (metadata.getAwayTeam() == null) {
+                    metadata.setAwayTeam(cleanTeamName(teams[1].trim()));
+                }
+                log.debug("Team names extracted from title: {} vs {}",
+                    metadata.getHomeTeam(), metadata.getAwayTeam());
+            }
+        }
+    }
+
     private String cleanTeamName(String teamName) {
         if (teamName == null || teamName.isEmpty()) {
             return teamName;
@@ -204,7 +394,7 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
         return cleaned;
     }
 
-    private void extractCompetition(WebDriverWait wait, String pageSource, MatchMetadata metadata) {
+    private void extractCompetition(WebDriver webDriver, String pageSource, MatchMetadata metadata) {
         try {
             // Try OneFootball JSON extraction
             String ofPattern = "\"competition\"\\s*:\\s*\\{[^}]*\"name\"\\s*:\\s*\"([^\"]+)\"";
@@ -229,6 +419,9 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
             }
 
             // Fallback to DOM
+            if (webDriver == null) {
+                return;
+            }
             String[] selectors = {
                 ".MatchHeader_competitionName__1_0_M",
                 "[data-testid='competition-name']"
@@ -250,7 +443,7 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
         }
     }
 
-    private void extractVenue(WebDriverWait wait, String pageSource, MatchMetadata metadata) {
+    private void extractVenue(WebDriver webDriver, String pageSource, MatchMetadata metadata) {
         try {
             // Try JSON extraction
             String pattern = "\"venue\"\\s*:\\s*\\{[^}]*\"name\"\\s*:\\s*\"([^\"]+)\"";
@@ -263,7 +456,19 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
                 return;
             }
 
+            // JSON-LD SportsEvent: location is a Place
+            Matcher placeMatcher = Pattern.compile("\"location\"\\s*:\\s*\\{[^}]*\"name\"\\s*:\\s*\"([^\"]+)\"")
+                .matcher(pageSource);
+            if (placeMatcher.find()) {
+                metadata.setVenue(placeMatcher.group(1));
+                log.debug("Venue from JSON-LD: {}", metadata.getVenue());
+                return;
+            }
+
             // Fallback to DOM
+            if (webDriver == null) {
+                return;
+            }
             String[] selectors = {
                 ".MatchHeader_venueName__1_0_M",
                 "[data-testid='venue-name']"
@@ -285,7 +490,7 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
         }
     }
 
-    private void extractMatchDate(WebDriverWait wait, String pageSource, MatchMetadata metadata) {
+    private void extractMatchDate(WebDriver webDriver, String pageSource, MatchMetadata metadata) {
         try {
             // Method 1: Extract from JSON (startDate in ISO 8601 format)
             String pattern = "\"startDate\"\\s*:\\s*\"([^\"]+)\"";
@@ -307,6 +512,9 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
             }
 
             // Method 2: Extract from DOM time[datetime] attribute
+            if (webDriver == null) {
+                return;
+            }
             try {
                 List<WebElement> timeElements = webDriver.findElements(By.cssSelector("time[datetime]"));
                 for (WebElement timeElement : timeElements) {
@@ -350,4 +558,18 @@ public class MatchMetadataServiceImpl implements MatchMetadataService {
             log.warn("Error detecting provider from URL: {}", e.getMessage());
         }
     }
+
+    private static final class CachedMetadata {
+        private final MatchMetadata metadata;
+        private final long expiresAt;
+
+        private CachedMetadata(MatchMetadata metadata, long expiresAt) {
+            this.metadata = metadata;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.bsmart.scoretracker.service.impl;
 
 import com.bsmart.scoretracker.dto.MatchDTO;
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
 import com.bsmart.scoretracker.exception.ResourceNotFoundException;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.MatchEvent;
@@ -13,6 +14,7 @@ import com.bsmart.scoretracker.service.MatchService;
 import com.bsmart.scoretracker.service.TrackingEngineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,8 @@ public class MatchServiceImpl implements MatchService {
     private final MatchRepository matchRepository;
     private final PhaseRepository phaseRepository;
     private final TrackingEngineService trackingEngineService;
+    private final TrackingSingleFlight trackingSingleFlight;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -87,6 +91,7 @@ public class MatchServiceImpl implements MatchService {
             .build();
 
         Match saved = matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(saved));
         log.info("Created match {}: {} vs {}", saved.getId(), saved.getHomeTeam(), saved.getAwayTeam());
         return toDTO(saved);
     }
@@ -151,6 +156,7 @@ public class MatchServiceImpl implements MatchService {
 
 
         Match savedMatch = matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(savedMatch));
         log.info("Saved match id={} externalId={} phaseId={} provider={}",
                 savedMatch.getId(), savedMatch.getExternalId(),
                 savedMatch.getPhase() != null ? savedMatch.getPhase().getId() : null,
@@ -197,6 +203,7 @@ public class MatchServiceImpl implements MatchService {
             }
 
             Match saved = matchRepository.save(created);
+            eventPublisher.publishEvent(MatchScheduleChangedEvent.of(saved));
             log.info("Created match {} via update (upsert)", saved.getId());
             return toDTO(saved);
         }
@@ -226,6 +233,7 @@ public class MatchServiceImpl implements MatchService {
         match.setTrackingEnabled(dto.getTrackingEnabled());
 
         Match updated = matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(updated));
         log.info("Updated match {}", updated.getId());
         return toDTO(updated);
     }
@@ -237,6 +245,7 @@ public class MatchServiceImpl implements MatchService {
             throw new ResourceNotFoundException("Match", id);
         }
         matchRepository.deleteById(id);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.deleted(id));
         log.info("Deleted match {}", id);
     }
 
@@ -248,6 +257,7 @@ public class MatchServiceImpl implements MatchService {
 
         match.setTrackingEnabled(true);
         matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(match));
         log.info("Enabled tracking for match {}", id);
     }
 
@@ -259,6 +269,7 @@ public class MatchServiceImpl implements MatchService {
 
         match.setTrackingEnabled(false);
         matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(match));
         log.info("Disabled tracking for match {}", id);
     }
 
@@ -268,7 +279,12 @@ public class MatchServiceImpl implements MatchService {
         Match match = matchRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Match", id));
 
-        trackingEngineService.trackMatch(match);
+        Match tracked = trackingSingleFlight.track(match, () -> trackingEngineService.trackMatch(match));
+        if (tracked != match) {
+            // Joined a scrape already running for this match: take its result instead of scraping again
+            copyTrackingState(tracked, match);
+            log.info("Refresh of match {} joined an in-flight tracking call", id);
+        }
         matchRepository.save(match);
 
         log.info("Manually refreshed match {}", id);
@@ -325,6 +341,7 @@ public class MatchServiceImpl implements MatchService {
         log.warn("Tracking for match {} has been disabled due to manual update.", id);
 
         Match updated = matchRepository.save(match);
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(updated));
         return toDTO(updated);
     }
 
@@ -338,6 +355,26 @@ public class MatchServiceImpl implements MatchService {
         }
     }
 
+    private void copyTrackingState(Match source, Match target) {
+        target.setStatus(source.getStatus());
+        target.setScoreHome(source.getScoreHome());
+        target.setScoreAway(source.getScoreAway());
+        target.setScoreHomeTAB(source.getScoreHomeTAB());
+        target.setScoreAwayTAB(source.getScoreAwayTAB());
+        target.setWinnerHomeTAB(source.getWinnerHomeTAB());
+        target.setWinnerAwayTAB(source.getWinnerAwayTAB());
+        target.setMinute(source.getMinute());
+        target.setRawStatus(source.getRawStatus());
+        target.setLastFetchUtc(source.getLastFetchUtc());
+        target.setErrorCount(source.getErrorCount());
+        target.setLastError(source.getLastError());
+        target.setTrackingEnabled(source.getTrackingEnabled());
+        target.setStatusCandidate(source.getStatusCandidate());
+        target.setConsecutiveSameCandidate(source.getConsecutiveSameCandidate());
+        target.setStatusCandidateSinceUtc(source.getStatusCandidateSinceUtc());
+        target.setHalfTimeSeen(source.getHalfTimeSeen());
+    }
+
     private MatchDTO toDTO(Match match) {
         return MatchDTO.builder()
             .id(match.getId())
@@ -3,6 +3,7 @@ package com.bsmart.scoretracker.service.impl;
 import com.bsmart.scoretracker.client.WecanpronoMatchApiClient;
 import com.bsmart.scoretracker.dto.external.ExternalMatchDTO;
 import com.bsmart.scoretracker.dto.external.ExternalPhaseDTO;
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
 import com.bsmart.scoretracker.model.Competition;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.Phase;
@@ -14,6 +15,7 @@ import com.bsmart.scoretracker.repository.PhaseRepository;
 import com.bsmart.scoretracker.service.PhaseMatchSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -32,6 +35,7 @@ public class PhaseMatchSyncServiceImpl implements PhaseMatchSyncService {
     private final CompetitionRepository competitionRepository;
     private final PhaseRepository phaseRepository;
     private final MatchRepository matchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -94,6 +98,9 @@ public class PhaseMatchSyncServiceImpl implements PhaseMatchSyncService {
 
         Match match = existingOpt.orElse(new Match());
         boolean isNewMatch = match.getId() == null;
+        LocalDateTime previousKickoff = match.getKickoffUtc();
+        MatchStatus previousStatus = match.getStatus();
+        Boolean previousTrackingEnabled = match.getTrackingEnabled();
 
         match.setPhase(phase);
         match.setExternalId(externalMatch.getId());
@@ -150,8 +157,15 @@ public class PhaseMatchSyncServiceImpl implements PhaseMatchSyncService {
             match.setTrackingEnabled(false); // Disabled by default until URL is configured
         }
 
-        matchRepository.save(match);
+        Match saved = matchRepository.save(match);
         log.debug("Synced match: {} vs {}", homeTeam, awayTeam);
+
+        // Only notify the tracking calendar when the sync changed something it cares about
+        if (isNewMatch || !Objects.equals(previousKickoff, saved.getKickoffUtc())
+                || previousStatus != saved.getStatus()
+                || !Objects.equals(previousTrackingEnabled, saved.getTrackingEnabled())) {
+            eventPublisher.publishEvent(MatchScheduleChangedEvent.of(saved));
+        }
     }
 
     private MatchStatus mapExternalStatus(String externalStatus, Boolean isEnd, Boolean isBegin) {
@@ -1,6 +1,8 @@
 package com.bsmart.scoretracker.service.impl;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
 import com.bsmart.scoretracker.exception.ScraperException;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.EventType;
@@ -9,16 +11,23 @@ import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.repository.MatchRepository;
 import com.bsmart.scoretracker.scraper.MatchScraperProvider;
 import com.bsmart.scoretracker.scraper.ScraperProviderFactory;
+import com.bsmart.scoretracker.scraper.parsing.MatchStatusClassifier;
 import com.bsmart.scoretracker.service.MatchEventService;
 import com.bsmart.scoretracker.service.TrackingEngineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +37,7 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
     private final ScraperProviderFactory scraperFactory;
     private final MatchRepository matchRepository;
     private final MatchEventService matchEventService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${tracking.anti-flapping.confirmations:3}")
     private int requiredConfirmations;
@@ -41,82 +51,181 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
         log.debug("Tracking match {}: {} vs {}",
             match.getId(), match.getHomeTeam(), match.getAwayTeam());
 
+        MatchSnapshot snapshot;
         try {
             // Fetch data from provider
             MatchScraperProvider provider = scraperFactory.getProvider(match.getProvider());
-            MatchSnapshot snapshot = provider.fetch(match.getMatchUrl());
+            snapshot = provider.fetch(match.getMatchUrl());
+        } catch (Exception e) {
+            trackFetched(match, null, e);
+            return;
+        }
+        trackFetched(match, snapshot, null);
+    }
+
+    @Override
+    public boolean fetchesAsync(Match match) {
+        return !scraperFactory.getProvider(match.getProvider()).usesBrowser(match.getMatchUrl());
+    }
+
+    @Override
+    public CompletableFuture<MatchSnapshot> fetchAsync(Match match, Executor worker) {
+        log.debug("Fetching match {}: {} vs {}",
+            match.getId(), match.getHomeTeam(), match.getAwayTeam());
+        try {
+            return scraperFactory.getProvider(match.getProvider()).fetchAsync(match.getMatchUrl(), worker);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            if (!snapshot.isFound()) {
-                handleScrapeFailed(match, "Match data not found");
+    @Override
+    @Transactional
+    public void trackFetched(Match match, MatchSnapshot snapshot, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+        if (cause == null) {
+            try {
+                apply(match, snapshot);
                 return;
+            } catch (Exception e) {
+                cause = e;
             }
+        }
 
-            // CRITICAL: Check if match has started
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime kickoff = match.getKickoffUtc();
-            boolean matchHasStarted = now.isAfter(kickoff);
+        if (cause instanceof ProviderSaturatedException) {
+            // Nothing was scraped: leave the error count alone and retry at the next poll
+            log.warn("SCRAPE_SKIPPED: Match {} - {}", match.getId(), cause.getMessage());
+        } else if (cause instanceof ScraperException) {
+            handleScrapeFailed(match, cause.getMessage());
+        } else {
+            log.error("Unexpected error tracking match {}: {}",
+                match.getId(), cause.getMessage(), cause);
+            handleScrapeFailed(match, "Unexpected error: " + cause.getMessage());
+        }
+    }
 
-            if (!matchHasStarted) {
-                // Match hasn't started yet - ignore scraped data, keep as SCHEDULED
-                log.info("Match {} hasn't started yet (kickoff: {}). Ignoring scraped data and keeping SCHEDULED status.",
-                    match.getId(), kickoff);
+    @Override
+    @Transactional
+    public void applySnapshot(Match match, MatchSnapshot snapshot) {
+        if (!snapshot.isFound()) {
+            return;
+        }
+        try {
+            apply(match, snapshot);
+        } catch (Exception e) {
+            // A bad pushed frame must not count as a scrape failure: the next poll re-reads the page
+            log.error("Could not apply pushed update to match {}: {}", match.getId(), e.getMessage(), e);
+        }
+    }
 
-                match.setLastFetchUtc(LocalDateTime.now());
-                match.setErrorCount(0);
-                match.setLastError(null);
+    @Override
+    public String listingSource(Match match) {
+        return scraperFactory.getProvider(match.getProvider()).listingSource(match);
+    }
 
-                // Keep status as SCHEDULED and scores as null
-                if (match.getStatus() == null) {
-                    match.setStatus(MatchStatus.SCHEDULED);
-                }
+    @Override
+    public Map<Long, MatchSnapshot> fetchBatch(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return Map.of();
+        }
+        MatchScraperProvider provider = scraperFactory.getProvider(matches.get(0).getProvider());
+        return provider.fetchBatch(matches);
+    }
 
-                matchRepository.save(match);
-                return;
-            }
+    private void apply(Match match, MatchSnapshot snapshot) {
+        if (!snapshot.isFound()) {
+            handleScrapeFailed(match, "Match data not found");
+            return;
+        }
 
-            // Match has started - process normally
-            // Normalize status
-            MatchStatus normalizedStatus = normalizeStatus(
-                snapshot.getStatus(), match.getProvider());
+        // CRITICAL: Check if match has started
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime kickoff = match.getKickoffUtc();
+        boolean matchHasStarted = now.isAfter(kickoff);
+
+        if (!matchHasStarted) {
+            // Match hasn't started yet - ignore scraped data, keep as SCHEDULED
+            log.info("Match {} hasn't started yet (kickoff: {}). Ignoring scraped data and keeping SCHEDULED status.",
+                match.getId(), kickoff);
 
-            // Update last fetch
             match.setLastFetchUtc(LocalDateTime.now());
-            match.setRawStatus(snapshot.getRawStatus());
-            match.setMinute(snapshot.getMinute());
             match.setErrorCount(0);
             match.setLastError(null);
 
-            // Process status change with anti-flapping
-            processStatusChange(match, normalizedStatus);
-
-            // Process score change (pass status to allow FINISHED corrections)
-            processScoreChange(match, snapshot.getHome(), snapshot.getAway(), normalizedStatus);
-
-            // Process penalty score change if present
-            if (snapshot.getPenaltyHome() != null && snapshot.getPenaltyAway() != null) {
-                processPenaltyScoreChange(match, snapshot.getPenaltyHome(), snapshot.getPenaltyAway());
+            // Keep status as SCHEDULED and scores as null
+            if (match.getStatus() == null) {
+                match.setStatus(MatchStatus.SCHEDULED);
             }
 
             matchRepository.save(match);
+            return;
+        }
 
-            if (snapshot.getPenaltyHome() != null && snapshot.getPenaltyAway() != null) {
-                log.info("SCRAPE_OK: Match {} - Status: {}, Score: {}:{}, Penalties: {}:{}",
-                    match.getId(), normalizedStatus, snapshot.getHome(), snapshot.getAway(),
-                    snapshot.getPenaltyHome(), snapshot.getPenaltyAway());
-            } else {
-                log.info("SCRAPE_OK: Match {} - Status: {}, Score: {}:{}",
-                    match.getId(), normalizedStatus, snapshot.getHome(), snapshot.getAway());
-            }
+        // Same page as the last poll and already reflected by the match: only the fetch time moves
+        if (snapshot.isUnchanged() && alreadyApplied(match, snapshot)) {
+            log.debug("SCRAPE_UNCHANGED: Match {} - page unchanged since last poll, nothing to apply",
+                match.getId());
+            match.setLastFetchUtc(now);
+            matchRepository.touchLastFetch(match.getId(), now);
+            return;
+        }
 
-        } catch (ScraperException e) {
-            handleScrapeFailed(match, e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error tracking match {}: {}",
-                match.getId(), e.getMessage(), e);
-            handleScrapeFailed(match, "Unexpected error: " + e.getMessage());
+        // Match has started - process normally
+        // Normalize status, unless the provider already classified it
+        MatchStatus normalizedStatus = snapshot.getMatchStatus() != null
+            ? snapshot.getMatchStatus()
+            : normalizeStatus(snapshot.getStatus(), match.getProvider());
+
+        // Update last fetch
+        match.setLastFetchUtc(LocalDateTime.now());
+        match.setRawStatus(snapshot.getRawStatus());
+        match.setMinute(snapshot.getMinute());
+        match.setErrorCount(0);
+        match.setLastError(null);
+
+        // Process status change with anti-flapping
+        processStatusChange(match, normalizedStatus);
+
+        // Process score change (pass status to allow FINISHED corrections)
+        processScoreChange(match, snapshot.getHome(), snapshot.getAway(), normalizedStatus);
+
+        // Process penalty score change if present
+        if (snapshot.getPenaltyHome() != null && snapshot.getPenaltyAway() != null) {
+            processPenaltyScoreChange(match, snapshot.getPenaltyHome(), snapshot.getPenaltyAway());
+        }
+
+        matchRepository.save(match);
+
+        if (snapshot.getPenaltyHome() != null && snapshot.getPenaltyAway() != null) {
+            log.info("SCRAPE_OK: Match {} - Status: {}, Score: {}:{}, Penalties: {}:{}",
+                match.getId(), normalizedStatus, snapshot.getHome(), snapshot.getAway(),
+                snapshot.getPenaltyHome(), snapshot.getPenaltyAway());
+        } else {
+            log.info("SCRAPE_OK: Match {} - Status: {}, Score: {}:{}",
+                match.getId(), normalizedStatus, snapshot.getHome(), snapshot.getAway());
         }
     }
 
+    /**
+     * Whether applying the snapshot would change nothing. A pending status candidate still
+     * needs the poll as a confirmation, and errors must be cleared.
+     */
+    private boolean alreadyApplied(Match match, MatchSnapshot snapshot) {
+        MatchStatus status = snapshot.getMatchStatus() != null
+            ? snapshot.getMatchStatus()
+            : normalizeStatus(snapshot.getStatus(), match.getProvider());
+        return match.getStatusCandidate() == null
+            && (match.getErrorCount() == null || match.getErrorCount() == 0)
+            && status == match.getStatus()
+            && Objects.equals(match.getScoreHome(), snapshot.getHome())
+            && Objects.equals(match.getScoreAway(), snapshot.getAway())
+            && Objects.equals(match.getMinute(), snapshot.getMinute())
+            && (snapshot.getPenaltyHome() == null || Objects.equals(match.getScoreHomeTAB(), snapshot.getPenaltyHome()))
+            && (snapshot.getPenaltyAway() == null || Objects.equals(match.getScoreAwayTAB(), snapshot.getPenaltyAway()));
+    }
+
     private void processStatusChange(Match match, MatchStatus newStatus) {
         MatchStatus currentStatus = match.getStatus();
 
@@ -141,6 +250,7 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
 
             log.info("Status changed for match {}: {} -> {} (AUTO-CORRECTED)",
                 match.getId(), currentStatus, newStatus);
+            eventPublisher.publishEvent(MatchScheduleChangedEvent.of(match));
             return;
         }
 
@@ -246,6 +356,8 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
             match.setTrackingEnabled(false);
             log.info("Tracking disabled for finished match {}", match.getId());
         }
+
+        eventPublisher.publishEvent(MatchScheduleChangedEvent.of(match));
     }
 
     private void processScoreChange(Match match, Integer newHome, Integer newAway, MatchStatus newStatus) {
@@ -358,66 +470,7 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
 
     @Override
     public MatchStatus normalizeStatus(String rawStatus, ProviderType providerType) {
-        if (rawStatus == null) {
-            return MatchStatus.SCHEDULED;
-        }
-
-        String normalized = rawStatus.toUpperCase().trim();
-
-        // Provider-specific normalization
-        switch (providerType) {
-            case ONE_FOOTBALL:
-                return normalizeOneFootballStatus(normalized);
-            case LIVE_SCORE:
-                return normalizeLiveScoreStatus(normalized);
-            default:
-                return MatchStatus.SCHEDULED;
-        }
-    }
-
-    private MatchStatus normalizeOneFootballStatus(String status) {
-        if (status.contains("FT") || status.contains("FINISHED") ||
-            status.contains("FULL TIME") || status.contains("FULLTIME")) {
-            return MatchStatus.FINISHED;
-        }
-        if (status.contains("HT") || status.contains("HALF TIME") ||
-            status.contains("HALFTIME")) {
-            return MatchStatus.PAUSED;
-        }
-        if (status.contains("LIVE") || status.contains("'") ||
-            status.matches(".*\\d+.*")) {
-            return MatchStatus.IN_PLAY;
-        }
-        return MatchStatus.SCHEDULED;
-    }
-
-    private MatchStatus normalizeLiveScoreStatus(String status) {
-        // Check HALFTIME before FT to avoid matching "FT" in "HALFTIME"
-        if (status.contains("HALFTIME") || status.contains("HALF TIME") ||
-            status.contains("HT")) {
-            return MatchStatus.PAUSED;
-        }
-        if (status.contains("AET") || status.contains("AFTER EXTRA TIME")) {
-            return MatchStatus.FINISHED;
-        }
-        if (status.contains("AP") || status.contains("AFTER PENALTIES")) {
-            return MatchStatus.FINISHED;
-        }
-        if (status.contains("EXTRA TIME") || status.matches(".*\\bET\\b.*")) {
-            return MatchStatus.IN_PLAY;
-        }
-        // Check for penalty shootout (still IN_PLAY/LIVE during penalties)
-        if (status.contains("PEN") || status.contains("PENALTIES")) {
-            return MatchStatus.IN_PLAY;
-        }
-        if (status.contains("FT") || status.contains("FINISHED") ||
-            status.contains("FULL TIME")) {
-            return MatchStatus.FINISHED;
-        }
-        if (status.contains("LIVE") || status.matches(".*\\d+'.*")) {
-            return MatchStatus.IN_PLAY;
-        }
-        return MatchStatus.SCHEDULED;
+        return MatchStatusClassifier.classify(rawStatus, providerType);
     }
 
     private void handleScrapeFailed(Match match, String errorMessage) {
@@ -433,6 +486,7 @@ public class TrackingEngineServiceImpl implements TrackingEngineService {
             matchEventService.createEvent(match, EventType.ERROR_DETECTED,
                 null, null, null, null, null, null,
                 null, errorMessage, "SCHEDULER");
+            eventPublisher.publishEvent(MatchScheduleChangedEvent.of(match));
         } else {
             log.warn("SCRAPE_FAIL: Match {} error ({}/{}): {}",
                 match.getId(), match.getErrorCount(), maxErrors, errorMessage);
@@ -0,0 +1,163 @@
+package com.bsmart.scoretracker.service.impl;
+
+import com.bsmart.scoretracker.model.Match;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry for match tracking, keyed by match id.
+ *
+ * The same match can be requested at the same time by the polling loop, the startup
+ * reconciliation and a manual refresh. The first caller runs the scrape; callers
+ * arriving while it is in flight wait for it and get the tracked match back instead
+ * of launching a second browser scrape and racing on save().
+ *
+ * Work that brings data of its own (a pushed snapshot) cannot be coalesced, or its data
+ * would be dropped: it waits for the in-flight call, then runs.
+ */
+@Component
+@Slf4j
+public class TrackingSingleFlight {
+
+    private final Map<Long, CompletableFuture<Match>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter waited;
+
+    public TrackingSingleFlight(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("tracking.singleflight.calls")
+            .description("trackMatch calls, executed or coalesced into an in-flight call")
+            .tag("result", "executed")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("tracking.singleflight.calls")
+            .description("trackMatch calls, executed or coalesced into an in-flight call")
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+        this.waited = Counter.builder("tracking.singleflight.calls")
+            .description("trackMatch calls, executed or coalesced into an in-flight call")
+            .tag("result", "waited")
+            .register(meterRegistry);
+        Gauge.builder("tracking.singleflight.in_flight", inFlight, Map::size)
+            .description("Matches currently being tracked")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code tracking} for the match unless the same match is already being tracked,
+     * in which case waits for the in-flight call.
+     *
+     * @param match    Match to track
+     * @param tracking Tracking work, executed only by the first caller
+     * @return the Match instance updated by the call that actually ran; differs from
+     *         {@code match} when the call was coalesced
+     */
+    public Match track(Match match, Runnable tracking) {
+        CompletableFuture<Match> call = new CompletableFuture<>();
+        CompletableFuture<Match> existing = inFlight.putIfAbsent(match.getId(), call);
+
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Match {} is already being tracked, joining in-flight call", match.getId());
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        executed.increment();
+        try {
+            tracking.run();
+            call.complete(match);
+            return match;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(match.getId(), call);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #track}: the slot is held until the future returned by {@code tracking}
+     * completes, and callers arriving meanwhile get the in-flight future instead of waiting on it.
+     *
+     * @param match    Match to track
+     * @param tracking Starts the tracking work, executed only by the first caller
+     * @return completes with the Match instance updated by the call that actually ran
+     */
+    public CompletableFuture<Match> trackAsync(Match match, Supplier<? extends CompletionStage<?>> tracking) {
+        CompletableFuture<Match> call = new CompletableFuture<>();
+        CompletableFuture<Match> existing = inFlight.putIfAbsent(match.getId(), call);
+
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Match {} is already being tracked, joining in-flight call", match.getId());
+            return existing;
+        }
+
+        executed.increment();
+        CompletionStage<?> work;
+        try {
+            work = tracking.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(match.getId(), call);
+            call.completeExceptionally(e);
+            return call;
+        }
+        work.whenComplete((ignored, failure) -> {
+            inFlight.remove(match.getId(), call);
+            if (failure != null) {
+                call.completeExceptionally(failure);
+            } else {
+                call.complete(match);
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Runs {@code tracking} for the match once no other call for it is in flight, waiting for
+     * the in-flight one if any. Never coalesces; callers arriving meanwhile join this call.
+     *
+     * @param match    Match to track
+     * @param tracking Tracking work, returning the Match instance it updated
+     * @return the Match instance returned by {@code tracking}
+     */
+    public Match trackAfterInFlight(Match match, Supplier<Match> tracking) {
+        CompletableFuture<Match> call = new CompletableFuture<>();
+        CompletableFuture<Match> existing;
+        while ((existing = inFlight.putIfAbsent(match.getId(), call)) != null) {
+            waited.increment();
+            log.debug("Match {} is being tracked, waiting for the in-flight call", match.getId());
+            // Its outcome does not matter: this call runs either way
+            existing.handle((tracked, failure) -> tracked).join();
+        }
+
+        executed.increment();
+        try {
+            Match tracked = tracking.get();
+            call.complete(tracked);
+            return tracked;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(match.getId(), call);
+        }
+    }
+
+    public boolean isInFlight(Long matchId) {
+        return inFlight.containsKey(matchId);
+    }
+}
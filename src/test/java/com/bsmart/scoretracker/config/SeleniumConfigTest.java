@@ -0,0 +1,97 @@
+package com.bsmart.scoretracker.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.CapabilityType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SeleniumConfigTest {
+
+    private static final List<String> BLOCKED_URLS = List.of("*.png", "*doubleclick.net*");
+
+    @Test
+    @DisplayName("En mode lean, Chrome rend la main au DOMContentLoaded et ne charge pas les images")
+    void testLeanOptions() {
+        ChromeOptions options = config(true).buildChromeOptions();
+
+        assertEquals(PageLoadStrategy.EAGER.toString(),
+            String.valueOf(options.getCapability(CapabilityType.PAGE_LOAD_STRATEGY)));
+        assertTrue(arguments(options).contains("--blink-settings=imagesEnabled=false"));
+        assertEquals(Map.of("profile.managed_default_content_settings.images", 2), chromeOptions(options).get("prefs"));
+    }
+
+    @Test
+    @DisplayName("Hors mode lean, les options Chrome restent celles d'un chargement complet")
+    void testDefaultOptionsWithoutLean() {
+        ChromeOptions options = config(false).buildChromeOptions();
+
+        assertNull(options.getCapability(CapabilityType.PAGE_LOAD_STRATEGY));
+        assertFalse(arguments(options).contains("--blink-settings=imagesEnabled=false"));
+        assertNull(chromeOptions(options).get("prefs"));
+    }
+
+    @Test
+    @DisplayName("Les motifs configurés sont bloqués par CDP pour toute la session")
+    void testBlocksConfiguredResources() {
+        HasCdp driver = mock(HasCdp.class);
+
+        config(true).blockResources(driver);
+
+        verify(driver).executeCdpCommand("Network.enable", Map.of());
+        verify(driver).executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED_URLS));
+    }
+
+    @Test
+    @DisplayName("Un échec CDP n'empêche pas la création de la session")
+    void testBlockingFailureIsSwallowed() {
+        HasCdp driver = mock(HasCdp.class);
+        when(driver.executeCdpCommand(anyString(), anyMap())).thenThrow(new IllegalStateException("CDP unavailable"));
+
+        assertDoesNotThrow(() -> config(true).blockResources(driver));
+    }
+
+    @Test
+    @DisplayName("En local, chaque session a son propre profil sous selenium.fleet.profile-dir")
+    void testLocalSessionsGetTheirOwnProfile() {
+        SeleniumConfig config = config(false);
+        ReflectionTestUtils.setField(config, "mode", "local");
+        ReflectionTestUtils.setField(config, "profileDir", "/tmp/score-tracker-chrome");
+
+        List<String> first = arguments(config.buildChromeOptions());
+        List<String> second = arguments(config.buildChromeOptions());
+
+        String profile = first.stream().filter(argument -> argument.startsWith("--user-data-dir=")).findFirst().orElseThrow();
+        assertTrue(profile.startsWith("--user-data-dir=/tmp/score-tracker-chrome/session-"));
+        assertFalse(second.contains(profile));
+    }
+
+    private static SeleniumConfig config(boolean lean) {
+        SeleniumConfig config = new SeleniumConfig();
+        ReflectionTestUtils.setField(config, "mode", "remote");
+        ReflectionTestUtils.setField(config, "windowSize", "1920,1080");
+        ReflectionTestUtils.setField(config, "lean", lean);
+        ReflectionTestUtils.setField(config, "blockedUrls", BLOCKED_URLS);
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> chromeOptions(ChromeOptions options) {
+        return (Map<String, Object>) options.asMap().get(ChromeOptions.CAPABILITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> arguments(ChromeOptions options) {
+        return (List<String>) chromeOptions(options).get("args");
+    }
+}
@@ -0,0 +1,107 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollingPolicyTest {
+
+    private AdaptivePollingPolicy policy;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        policy = new AdaptivePollingPolicy(10000, 5000, 45000, 30000, 600000, 300000);
+        now = LocalDateTime.of(2025, 12, 21, 20, 0);
+    }
+
+    @Test
+    @DisplayName("IN_PLAY: 10s en temps normal, 5s autour de 45' et après 85'")
+    void testInPlayCadence() {
+        assertEquals(Duration.ofSeconds(10), delay(match(MatchStatus.IN_PLAY, "23'", -25)));
+        assertEquals(Duration.ofSeconds(5), delay(match(MatchStatus.IN_PLAY, "44'", -46)));
+        assertEquals(Duration.ofSeconds(5), delay(match(MatchStatus.IN_PLAY, "45+2'", -48)));
+        assertEquals(Duration.ofSeconds(5), delay(match(MatchStatus.IN_PLAY, "88'", -105)));
+        assertEquals(Duration.ofSeconds(5), delay(match(MatchStatus.IN_PLAY, "Pen", -140)));
+    }
+
+    @Test
+    @DisplayName("PAUSED: 45s au début de la mi-temps, 10s à l'approche de la reprise")
+    void testHalfTimeCadence() {
+        assertEquals(Duration.ofSeconds(45), delay(match(MatchStatus.PAUSED, "HT", -48)));
+        assertEquals(Duration.ofSeconds(10), delay(match(MatchStatus.PAUSED, "HT", -60)));
+    }
+
+    @Test
+    @DisplayName("SCHEDULED: 10 min loin du coup d'envoi, 30s à l'approche, réveil à l'ouverture de la fenêtre")
+    void testScheduledCadence() {
+        assertEquals(Duration.ofMinutes(10), delay(match(MatchStatus.SCHEDULED, null, 180)));
+        assertEquals(Duration.ofMinutes(5), delay(match(MatchStatus.SCHEDULED, null, 15)));
+        assertEquals(Duration.ofSeconds(30), delay(match(MatchStatus.SCHEDULED, null, 5)));
+        assertEquals(Duration.ofSeconds(30), delay(match(MatchStatus.SCHEDULED, null, -30)));
+    }
+
+    @Test
+    @DisplayName("Matches hors fenêtre, terminés ou désactivés: plus de polling")
+    void testNoPolling() {
+        assertNull(policy.nextPoll(match(MatchStatus.SCHEDULED, null, 60 * 48), now));
+        assertNull(policy.nextPoll(match(MatchStatus.SCHEDULED, null, -60 * 5), now));
+        assertNull(policy.nextPoll(match(MatchStatus.FINISHED, "FT", -120), now));
+
+        Match disabled = match(MatchStatus.IN_PLAY, "10'", -10);
+        disabled.setTrackingEnabled(false);
+        assertNull(policy.nextPoll(disabled, now));
+    }
+
+    @Test
+    @DisplayName("Erreurs répétées: back-off exponentiel plafonné")
+    void testErrorBackoff() {
+        Match match = match(MatchStatus.IN_PLAY, "23'", -25);
+
+        match.setErrorCount(1);
+        assertEquals(Duration.ofSeconds(20), delay(match));
+
+        match.setErrorCount(3);
+        assertEquals(Duration.ofSeconds(80), delay(match));
+
+        match.setErrorCount(8);
+        assertEquals(Duration.ofMinutes(5), delay(match));
+    }
+
+    @Test
+    @DisplayName("Entrée dans la file: garde la cadence du dernier fetch")
+    void testInitialPollKeepsLastFetchCadence() {
+        Match neverFetched = match(MatchStatus.IN_PLAY, "23'", -25);
+        assertEquals(now, policy.initialPoll(neverFetched, now));
+
+        Match recentlyFetched = match(MatchStatus.SCHEDULED, null, 180);
+        recentlyFetched.setLastFetchUtc(now.minusMinutes(4));
+        assertEquals(now.plusMinutes(6), policy.initialPoll(recentlyFetched, now));
+    }
+
+    private Duration delay(Match match) {
+        return Duration.between(now, policy.nextPoll(match, now));
+    }
+
+    private Match match(MatchStatus status, String minute, long kickoffInMinutes) {
+        return Match.builder()
+            .id(1L)
+            .homeTeam("PSG")
+            .awayTeam("Lyon")
+            .provider(ProviderType.LIVE_SCORE)
+            .matchUrl("https://www.livescore.com/match/1")
+            .kickoffUtc(now.plusMinutes(kickoffInMinutes))
+            .status(status)
+            .minute(minute)
+            .trackingEnabled(true)
+            .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.model.Competition;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.Phase;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.repository.CompetitionRepository;
+import com.bsmart.scoretracker.repository.MatchRepository;
+import com.bsmart.scoretracker.repository.PhaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the lease queue against a real PostgreSQL: FOR UPDATE SKIP LOCKED and the
+ * owner-guarded updates are native queries that no in-memory database reproduces.
+ * Each step commits on its own, like two replicas would.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class LeasePollingQueueTest {
+
+    private static final long LEASE_MS = 120000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PhaseRepository phaseRepository;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private LeasePollingQueue nodeA;
+    private LeasePollingQueue nodeB;
+    private LocalDateTime now;
+    private Match match1;
+    private Match match2;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        nodeA = new LeasePollingQueue(matchRepository, new NodeIdentity("node-a"), 20, LEASE_MS);
+        nodeB = new LeasePollingQueue(matchRepository, new NodeIdentity("node-b"), 20, LEASE_MS);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Competition competition = competitionRepository.save(Competition.builder()
+            .code("LIGUE1")
+            .name("Ligue 1")
+            .build());
+        Phase phase = phaseRepository.save(Phase.builder()
+            .competition(competition)
+            .name("Journée 1")
+            .build());
+        match1 = matchRepository.save(match(phase, "PSG", "Lyon"));
+        match2 = matchRepository.save(match(phase, "Nice", "Lens"));
+
+        tx.executeWithoutResult(status -> {
+            nodeA.schedule(match1.getId(), now.minusSeconds(2));
+            nodeA.schedule(match2.getId(), now.minusSeconds(1));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll();
+        phaseRepository.deleteAll();
+        competitionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Un match réclamé par une réplique n'est pas réclamé par une autre tant que le bail court")
+    void testClaimIsExclusiveWhileLeased() {
+        List<DuePoll> claimedByA = tx.execute(status -> nodeA.pollDue(now));
+        List<DuePoll> claimedByB = tx.execute(status -> nodeB.pollDue(now.plusSeconds(1)));
+
+        assertEquals(List.of(match1.getId(), match2.getId()), claimedByA.stream().map(DuePoll::matchId).toList());
+        assertTrue(claimedByB.isEmpty());
+        assertEquals("node-a", reload(match1).getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("Sous charge, les matchs en jeu à une minute critique sont réclamés avant les plus anciens")
+    void testClaimsMostValuableFirst() {
+        Match scheduled = match(match1.getPhase(), "Lille", "Rennes");
+        scheduled.setStatus(MatchStatus.SCHEDULED);
+        matchRepository.save(scheduled);
+        match2.setMinute("88'");
+        matchRepository.save(match2);
+        tx.executeWithoutResult(status -> nodeA.schedule(scheduled.getId(), now.minusHours(1)));
+        LeasePollingQueue oneAtATime = new LeasePollingQueue(matchRepository, new NodeIdentity("node-c"), 1, LEASE_MS);
+
+        List<Long> order = List.of(
+            tx.execute(status -> oneAtATime.pollDue(now)).get(0).matchId(),
+            tx.execute(status -> oneAtATime.pollDue(now)).get(0).matchId(),
+            tx.execute(status -> oneAtATime.pollDue(now)).get(0).matchId());
+
+        assertEquals(List.of(match2.getId(), match1.getId(), scheduled.getId()), order);
+    }
+
+    @Test
+    @DisplayName("Les lignes verrouillées par une transaction en cours sont sautées, pas attendues")
+    void testLockedRowsAreSkipped() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<MatchRepository.DueMatchRow>> first = CompletableFuture.supplyAsync(() ->
+            tx.execute(status -> {
+                List<MatchRepository.DueMatchRow> rows = matchRepository.lockDueMatches(now, 1);
+                locked.countDown();
+                await(release);
+                return rows;
+            }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        List<MatchRepository.DueMatchRow> second = tx.execute(status -> matchRepository.lockDueMatches(now, 10));
+        release.countDown();
+
+        assertEquals(1, first.get(10, TimeUnit.SECONDS).size());
+        assertEquals(1, second.size());
+        assertNotEquals(first.get().get(0).getId(), second.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Un bail expiré est repris par une autre réplique")
+    void testExpiredLeaseIsReclaimed() {
+        tx.execute(status -> nodeA.pollDue(now));
+
+        List<DuePoll> claimedByB = tx.execute(status -> nodeB.pollDue(now.plus(LEASE_MS + 1000, ChronoUnit.MILLIS)));
+
+        assertEquals(2, claimedByB.size());
+        assertEquals("node-b", reload(match1).getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("Seul le détenteur du bail replanifie ou retire le match")
+    void testOnlyOwnerReleases() {
+        tx.execute(status -> nodeA.pollDue(now));
+        LocalDateTime later = now.plusMinutes(5);
+
+        tx.executeWithoutResult(status -> {
+            nodeB.schedule(match1.getId(), later);
+            nodeB.remove(match2.getId());
+        });
+        assertEquals("node-a", reload(match1).getLeaseOwner());
+        assertNotEquals(later, reload(match1).getNextPollUtc());
+        assertNotNull(reload(match2).getNextPollUtc());
+
+        tx.executeWithoutResult(status -> {
+            nodeA.schedule(match1.getId(), later);
+            nodeA.remove(match2.getId());
+        });
+        Match rescheduled = reload(match1);
+        assertEquals(later, rescheduled.getNextPollUtc());
+        assertNull(rescheduled.getLeaseOwner());
+        assertNull(rescheduled.getLeaseExpiresUtc());
+        assertNull(reload(match2).getNextPollUtc());
+        assertEquals(1, nodeB.size());
+    }
+
+    @Test
+    @DisplayName("Ouvrir une fenêtre déjà ouverte par une autre réplique ne repousse pas l'échéance")
+    void testAdmitKeepsEarlierDueTime() {
+        tx.execute(status -> nodeA.pollDue(now));
+        Match opening = match(match1.getPhase(), "Lille", "Rennes");
+        opening.setStatus(MatchStatus.SCHEDULED);
+        matchRepository.save(opening);
+
+        tx.executeWithoutResult(status -> {
+            nodeB.admit(match1.getId(), now.plusSeconds(30));
+            nodeB.admit(opening.getId(), now.plusSeconds(30));
+            nodeA.admit(opening.getId(), now.plusMinutes(1));
+        });
+
+        assertEquals(now.minusSeconds(2), reload(match1).getNextPollUtc());
+        assertEquals("node-a", reload(match1).getLeaseOwner());
+        assertEquals(now.plusSeconds(30), reload(opening).getNextPollUtc());
+    }
+
+    private Match reload(Match match) {
+        return tx.execute(status -> matchRepository.findById(match.getId()).orElseThrow());
+    }
+
+    private static Match match(Phase phase, String home, String away) {
+        return Match.builder()
+            .phase(phase)
+            .homeTeam(home)
+            .awayTeam(away)
+            .kickoffUtc(LocalDateTime.now().minusMinutes(30))
+            .provider(ProviderType.ONE_FOOTBALL)
+            .matchUrl("https://onefootball.com/match/" + home + "-" + away)
+            .trackingEnabled(true)
+            .status(MatchStatus.IN_PLAY)
+            .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.bsmart.scoretracker.scheduler;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.repository.MatchRepository;
+import com.bsmart.scoretracker.scraper.LiveUpdateSource;
+import com.bsmart.scoretracker.service.TrackingEngineService;
+import com.bsmart.scoretracker.service.impl.TrackingSingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateSubscriberTest {
+
+    @Mock
+    private ObjectProvider<LiveUpdateSource> liveUpdateSources;
+
+    @Mock
+    private LiveUpdateSource liveScoreSource;
+
+    @Mock
+    private LiveUpdateSource.Subscription subscription;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private TrackingEngineService trackingEngine;
+
+    @Mock
+    private SchedulerLeaderElection leaderElection;
+
+    @Captor
+    private ArgumentCaptor<Consumer<MatchSnapshot>> listenerCaptor;
+
+    private TrackingSingleFlight singleFlight;
+    private LiveUpdateSubscriber subscriber;
+    private Match liveMatch;
+
+    @BeforeEach
+    void setUp() {
+        when(liveScoreSource.supports()).thenReturn(ProviderType.LIVE_SCORE);
+        when(liveUpdateSources.orderedStream()).thenReturn(Stream.of(liveScoreSource));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new TrackingSingleFlight(meterRegistry);
+        subscriber = new LiveUpdateSubscriber(liveUpdateSources, matchRepository, trackingEngine, singleFlight,
+            leaderElection, meterRegistry, 300000);
+        liveMatch = match(1L, ProviderType.LIVE_SCORE);
+    }
+
+    @Test
+    @DisplayName("Le leader s'abonne aux matchs en jeu dont le provider a un flux")
+    void testLeaderSubscribesLiveMatches() {
+        asLeader();
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList()))
+            .thenReturn(List.of(liveMatch, match(2L, ProviderType.ONE_FOOTBALL)));
+        when(liveScoreSource.subscribe(eq(liveMatch.getMatchUrl()), any())).thenReturn(subscription);
+        when(subscription.isConnected()).thenReturn(true);
+
+        subscriber.refreshSubscriptions();
+        subscriber.refreshSubscriptions();
+
+        verify(liveScoreSource, times(1)).subscribe(eq(liveMatch.getMatchUrl()), any());
+        assertTrue(subscriber.isStreaming(1L));
+        assertFalse(subscriber.isStreaming(2L));
+    }
+
+    @Test
+    @DisplayName("Les abonnements sont fermés quand le match n'est plus suivi ou que le leadership est perdu")
+    void testSubscriptionsClosed() {
+        asLeader();
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList())).thenReturn(List.of(liveMatch));
+        when(liveScoreSource.subscribe(anyString(), any())).thenReturn(subscription);
+        subscriber.refreshSubscriptions();
+
+        doReturn(false).when(leaderElection).runIfLeader(eq(LiveUpdateSubscriber.JOB), any());
+        subscriber.refreshSubscriptions();
+
+        verify(subscription).close();
+        assertFalse(subscriber.isStreaming(1L));
+    }
+
+    @Test
+    @DisplayName("Une trame reçue pendant un poll attend sa fin puis est appliquée sur l'état qu'il a sauvé")
+    void testFrameWaitsForInFlightPollThenApplies() throws Exception {
+        Consumer<MatchSnapshot> listener = subscribe();
+        Match savedByPoll = match(1L, ProviderType.LIVE_SCORE);
+        when(matchRepository.findById(1L)).thenReturn(Optional.of(liveMatch))
+            .thenReturn(Optional.of(savedByPoll));
+        MatchSnapshot frame = MatchSnapshot.builder().status("LIVE").home(2).away(1).minute("67'").found(true).build();
+        CountDownLatch polling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Match> poll = CompletableFuture.supplyAsync(() ->
+            singleFlight.track(liveMatch, () -> {
+                polling.countDown();
+                await(release);
+            }));
+        assertTrue(polling.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> delivery = CompletableFuture.runAsync(() -> listener.accept(frame));
+        Thread.sleep(100);
+        verify(trackingEngine, never()).applySnapshot(any(), any());
+        release.countDown();
+
+        poll.get(5, TimeUnit.SECONDS);
+        delivery.get(5, TimeUnit.SECONDS);
+        verify(trackingEngine).applySnapshot(savedByPoll, frame);
+    }
+
+    @Test
+    @DisplayName("Sans poll en cours, la trame est appliquée directement")
+    void testFrameAppliedWhenIdle() {
+        Consumer<MatchSnapshot> listener = subscribe();
+        when(matchRepository.findById(1L)).thenReturn(Optional.of(liveMatch));
+        MatchSnapshot frame = MatchSnapshot.builder().status("FT").home(3).away(1).found(true).build();
+
+        listener.accept(frame);
+
+        verify(trackingEngine).applySnapshot(liveMatch, frame);
+        assertFalse(singleFlight.isInFlight(1L));
+    }
+
+    private Consumer<MatchSnapshot> subscribe() {
+        asLeader();
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList())).thenReturn(List.of(liveMatch));
+        when(liveScoreSource.subscribe(eq(liveMatch.getMatchUrl()), listenerCaptor.capture())).thenReturn(subscription);
+        subscriber.refreshSubscriptions();
+        return listenerCaptor.getValue();
+    }
+
+    private void asLeader() {
+        when(leaderElection.runIfLeader(eq(LiveUpdateSubscriber.JOB), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    private static Match match(Long id, ProviderType provider) {
+        return Match.builder()
+            .id(id)
+            .homeTeam("Home " + id)
+            .awayTeam("Away " + id)
+            .kickoffUtc(LocalDateTime.now().minusMinutes(40))
+            .provider(provider)
+            .matchUrl("https://example.com/match/" + id)
+            .trackingEnabled(true)
+            .status(MatchStatus.IN_PLAY)
+            .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
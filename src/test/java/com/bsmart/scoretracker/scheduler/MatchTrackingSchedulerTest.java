@@ -1,5 +1,7 @@
 package com.bsmart.scoretracker.scheduler;
 
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.event.MatchScheduleChangedEvent;
 import com.bsmart.scoretracker.model.Competition;
 import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.MatchStatus;
@@ -7,11 +9,13 @@ import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.model.Phase;
 import com.bsmart.scoretracker.repository.MatchRepository;
 import com.bsmart.scoretracker.service.TrackingEngineService;
+import com.bsmart.scoretracker.service.impl.TrackingSingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -19,8 +23,11 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -34,8 +41,13 @@ class MatchTrackingSchedulerTest {
     @Mock
     private TrackingEngineService trackingEngine;
 
-    @InjectMocks
+    @Mock
+    private LiveUpdateSubscriber liveUpdates;
+
     private MatchTrackingScheduler scheduler;
+    private InMemoryPollingQueue pollingQueue;
+    private KickoffCalendar kickoffCalendar;
+    private SimpleMeterRegistry meterRegistry;
 
     private Competition competition;
     private Match liveMatch1;
@@ -46,6 +58,17 @@ class MatchTrackingSchedulerTest {
 
     @BeforeEach
     void setUp() {
+        // Run tracking tasks on the calling thread so that assertions are deterministic
+        meterRegistry = new SimpleMeterRegistry();
+        TrackingExecutor trackingExecutor = new TrackingExecutor(trackingEngine,
+            new TrackingSingleFlight(meterRegistry), meterRegistry, Runnable::run);
+        pollingQueue = new InMemoryPollingQueue();
+        kickoffCalendar = new KickoffCalendar();
+        AdaptivePollingPolicy pollingPolicy =
+            new AdaptivePollingPolicy(10000, 5000, 45000, 30000, 600000, 300000);
+        scheduler = new MatchTrackingScheduler(matchRepository, trackingExecutor,
+            pollingPolicy, pollingQueue, kickoffCalendar, liveUpdates, meterRegistry);
+
         competition = Competition.builder()
             .id(1L)
             .code("LIGUE1")
@@ -122,217 +145,372 @@ class MatchTrackingSchedulerTest {
     }
 
     @Test
-    void testTrackLiveMatches_Success() {
+    void testResyncQueue_QueuesAllTrackableMatches() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY)))
-            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
-        doNothing().when(trackingEngine).trackMatch(any(Match.class));
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(
+            Arrays.asList(MatchStatus.IN_PLAY, MatchStatus.PAUSED)))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2, halfTimeMatch));
+        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(
+            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class)))
+            .thenReturn(Arrays.asList(scheduledMatchNear, scheduledMatchFar));
 
         // When
-        scheduler.trackLiveMatches();
+        scheduler.resyncQueue();
 
         // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY));
-        verify(trackingEngine).trackMatch(liveMatch1);
-        verify(trackingEngine).trackMatch(liveMatch2);
-        verify(trackingEngine, times(2)).trackMatch(any(Match.class));
+        assertEquals(5, pollingQueue.size());
+        verify(trackingEngine, never()).trackMatch(any());
     }
 
     @Test
-    void testTrackLiveMatches_NoMatches() {
+    void testResyncQueue_UsesScheduledWindow() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY)))
+        ArgumentCaptor<LocalDateTime> afterCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        Match nextWeekMatch = Match.builder()
+            .id(6L)
+            .kickoffUtc(LocalDateTime.now().plusDays(7))
+            .provider(ProviderType.ONE_FOOTBALL)
+            .trackingEnabled(true)
+            .status(MatchStatus.SCHEDULED)
+            .build();
+
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList()))
+            .thenReturn(Collections.emptyList());
+        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(
+            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class)))
+            .thenReturn(Arrays.asList(scheduledMatchNear, nextWeekMatch));
+
+        // When
+        scheduler.resyncQueue();
+
+        // Then - window starts 4h ago, kickoffs beyond 24h wait in the calendar
+        verify(matchRepository).findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(
+            eq(MatchStatus.SCHEDULED), afterCaptor.capture());
+
+        long minutesFromStart = java.time.Duration.between(afterCaptor.getValue(), LocalDateTime.now()).toMinutes();
+        assertEquals(240, minutesFromStart, 1);
+        assertTrue(pollingQueue.contains(scheduledMatchNear.getId()));
+        assertFalse(pollingQueue.contains(nextWeekMatch.getId()));
+        assertTrue(kickoffCalendar.contains(nextWeekMatch.getId()));
+    }
+
+    @Test
+    void testResyncQueue_RebuildsKickoffCalendar() {
+        // Given - a stale entry, e.g. a match deleted outside of the application
+        kickoffCalendar.put(99L, LocalDateTime.now().plusDays(3));
+        Match nextWeekMatch = Match.builder()
+            .id(6L)
+            .kickoffUtc(LocalDateTime.now().plusDays(7))
+            .provider(ProviderType.ONE_FOOTBALL)
+            .trackingEnabled(true)
+            .status(MatchStatus.SCHEDULED)
+            .build();
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList()))
             .thenReturn(Collections.emptyList());
+        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(any(), any()))
+            .thenReturn(Arrays.asList(nextWeekMatch));
 
         // When
-        scheduler.trackLiveMatches();
+        scheduler.resyncQueue();
 
         // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY));
-        verify(trackingEngine, never()).trackMatch(any());
+        assertFalse(kickoffCalendar.contains(99L));
+        assertTrue(kickoffCalendar.contains(nextWeekMatch.getId()));
+        assertEquals(1, meterRegistry.get("tracking.calendar.size").gauge().value());
     }
 
     @Test
-    void testTrackLiveMatches_ErrorHandling() {
+    void testResyncQueue_KeepsExistingDueTimes() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY)))
-            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
+        LocalDateTime later = LocalDateTime.now().plusMinutes(5);
+        pollingQueue.schedule(liveMatch1.getId(), later);
 
-        // First match throws exception
-        doThrow(new RuntimeException("Scraping failed"))
-            .when(trackingEngine).trackMatch(liveMatch1);
-        doNothing().when(trackingEngine).trackMatch(liveMatch2);
+        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList()))
+            .thenReturn(Arrays.asList(liveMatch1));
+        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcAfter(any(), any()))
+            .thenReturn(Collections.emptyList());
 
         // When
-        scheduler.trackLiveMatches();
+        scheduler.resyncQueue();
 
-        // Then - Should continue processing other matches
-        verify(trackingEngine).trackMatch(liveMatch1);
-        verify(trackingEngine).trackMatch(liveMatch2);
-        verify(trackingEngine, times(2)).trackMatch(any(Match.class));
+        // Then
+        assertEquals(1, pollingQueue.size());
+        assertEquals(later, pollingQueue.nextDue());
     }
 
     @Test
-    void testTrackHalfTimeMatches_Success() {
+    void testDispatchDueMatches_StreamedMatchPolledAsSafetyNet() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.PAUSED)))
-            .thenReturn(Arrays.asList(halfTimeMatch));
-        doNothing().when(trackingEngine).trackMatch(any(Match.class));
+        pollingQueue.schedule(liveMatch1.getId(), LocalDateTime.now().minusSeconds(1));
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1));
+        when(liveUpdates.isStreaming(liveMatch1.getId())).thenReturn(true);
 
         // When
-        scheduler.trackHalfTimeMatches();
+        scheduler.dispatchDueMatches();
 
-        // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.PAUSED));
-        verify(trackingEngine).trackMatch(halfTimeMatch);
+        // Then - next poll a minute away instead of the in-play 10s
+        verify(trackingEngine).trackMatch(liveMatch1);
+        assertTrue(pollingQueue.nextDue().isAfter(LocalDateTime.now().plusSeconds(50)));
     }
 
     @Test
-    void testTrackHalfTimeMatches_NoMatches() {
+    void testDispatchDueMatches_TracksAndReschedules() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.PAUSED)))
-            .thenReturn(Collections.emptyList());
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
 
         // When
-        scheduler.trackHalfTimeMatches();
+        scheduler.dispatchDueMatches();
 
         // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.PAUSED));
-        verify(trackingEngine, never()).trackMatch(any());
+        verify(trackingEngine).trackMatch(liveMatch1);
+        verify(trackingEngine).trackMatch(liveMatch2);
+        assertEquals(2, pollingQueue.size());
+        assertTrue(pollingQueue.nextDue().isAfter(LocalDateTime.now()));
     }
 
     @Test
-    void testTrackScheduledMatchesNearKickoff_Success() {
-        // Given
-        ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        ArgumentCaptor<LocalDateTime> endCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+    void testDispatchDueMatches_AsyncFetchDoesNotHoldWorker() {
+        // Given - a provider fetching without a browser, first page still downloading
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
+        when(trackingEngine.fetchesAsync(any(Match.class))).thenReturn(true);
+        CompletableFuture<MatchSnapshot> download = new CompletableFuture<>();
+        MatchSnapshot snapshot = MatchSnapshot.builder().found(true).status("67'").home(1).away(0).build();
+        when(trackingEngine.fetchAsync(eq(liveMatch1), any())).thenReturn(download);
+        when(trackingEngine.fetchAsync(eq(liveMatch2), any())).thenReturn(CompletableFuture.completedFuture(snapshot));
 
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(scheduledMatchNear));
+        // When
+        scheduler.dispatchDueMatches();
 
-        doNothing().when(trackingEngine).trackMatch(any(Match.class));
+        // Then - the second match is tracked while the first page is in flight
+        verify(trackingEngine).trackFetched(liveMatch2, snapshot, null);
+        verify(trackingEngine, never()).trackFetched(eq(liveMatch1), any(), any());
+        verify(trackingEngine, never()).trackMatch(any());
+
+        download.complete(snapshot);
+        verify(trackingEngine).trackFetched(liveMatch1, snapshot, null);
+        assertEquals(2, pollingQueue.size());
+    }
+
+    @Test
+    void testDispatchDueMatches_NothingDueSkipsDatabase() {
+        // Given
+        pollingQueue.schedule(scheduledMatchFar.getId(), LocalDateTime.now().plusMinutes(10));
 
         // When
-        scheduler.trackScheduledMatchesNearKickoff();
+        scheduler.dispatchDueMatches();
 
         // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), startCaptor.capture(), endCaptor.capture());
-        verify(trackingEngine).trackMatch(scheduledMatchNear);
+        verifyNoInteractions(matchRepository);
+        verify(trackingEngine, never()).trackMatch(any());
+    }
 
-        // Verify time window (now-10min to now+1h)
-        LocalDateTime start = startCaptor.getValue();
-        LocalDateTime end = endCaptor.getValue();
-        LocalDateTime now = LocalDateTime.now();
+    @Test
+    void testDispatchDueMatches_ErrorHandling() {
+        // Given
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
+
+        // First match throws exception
+        doThrow(new RuntimeException("Scraping failed"))
+            .when(trackingEngine).trackMatch(liveMatch1);
 
-        // Allow some tolerance for test execution time (5 seconds)
-        long minutesFromStart = java.time.Duration.between(start, now).toMinutes();
-        long minutesToEnd = java.time.Duration.between(now, end).toMinutes();
+        // When
+        scheduler.dispatchDueMatches();
 
-        assertEquals(240, minutesFromStart, 1); // Should be ~240 minutes before now
-        assertEquals(60, minutesToEnd, 1); // Should be ~60 minutes after now
+        // Then - Should continue processing other matches and keep both queued
+        verify(trackingEngine).trackMatch(liveMatch1);
+        verify(trackingEngine).trackMatch(liveMatch2);
+        assertTrue(pollingQueue.contains(liveMatch1.getId()));
+        assertTrue(pollingQueue.contains(liveMatch2.getId()));
     }
 
     @Test
-    void testTrackScheduledMatchesNearKickoff_NoMatches() {
+    void testDispatchDueMatches_DropsFinishedAndDisabledMatches() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
+        liveMatch1.setStatus(MatchStatus.FINISHED);
+        liveMatch2.setTrackingEnabled(false);
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
 
         // When
-        scheduler.trackScheduledMatchesNearKickoff();
+        scheduler.dispatchDueMatches();
 
         // Then
         verify(trackingEngine, never()).trackMatch(any());
+        assertEquals(0, pollingQueue.size());
     }
 
     @Test
-    void testTrackScheduledMatchesFarFromKickoff_Success() {
+    void testDispatchDueMatches_MatchFinishingLeavesQueue() {
         // Given
-        ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        ArgumentCaptor<LocalDateTime> endCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        pollingQueue.schedule(liveMatch1.getId(), LocalDateTime.now().minusSeconds(1));
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1));
+        doAnswer(invocation -> {
+            Match match = invocation.getArgument(0);
+            match.setStatus(MatchStatus.FINISHED);
+            match.setTrackingEnabled(false);
+            return null;
+        }).when(trackingEngine).trackMatch(liveMatch1);
 
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(scheduledMatchFar));
+        // When
+        scheduler.dispatchDueMatches();
 
-        doNothing().when(trackingEngine).trackMatch(any(Match.class));
+        // Then
+        assertFalse(pollingQueue.contains(liveMatch1.getId()));
+    }
+
+    @Test
+    void testDispatchDueMatches_AdmitsCalendarMatchWhenWindowOpens() {
+        // Given - window (24h ahead) has just opened for this kickoff
+        kickoffCalendar.put(scheduledMatchFar.getId(), LocalDateTime.now().plusHours(23));
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(scheduledMatchFar));
 
         // When
-        scheduler.trackScheduledMatchesFarFromKickoff();
+        scheduler.dispatchDueMatches();
 
         // Then
-        verify(matchRepository).findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), startCaptor.capture(), endCaptor.capture());
+        assertFalse(kickoffCalendar.contains(scheduledMatchFar.getId()));
         verify(trackingEngine).trackMatch(scheduledMatchFar);
+        assertTrue(pollingQueue.contains(scheduledMatchFar.getId()));
+    }
 
-        // Verify time window (now+1h to now+24h)
-        LocalDateTime start = startCaptor.getValue();
-        LocalDateTime end = endCaptor.getValue();
-        LocalDateTime now = LocalDateTime.now();
+    @Test
+    void testDispatchDueMatches_IdleCalendarSkipsDatabase() {
+        // Given
+        kickoffCalendar.put(scheduledMatchFar.getId(), LocalDateTime.now().plusDays(3));
 
-        long hoursToStart = java.time.Duration.between(now, start).toHours();
-        long hoursToEnd = java.time.Duration.between(now, end).toHours();
+        // When
+        scheduler.dispatchDueMatches();
 
-        // Allow some tolerance due to test execution time
-        assertTrue(hoursToStart >= 0 && hoursToStart <= 2,
-            () -> "Start should be ~1 hour from now, got: " + hoursToStart);
-        assertTrue(hoursToEnd >= 23 && hoursToEnd <= 25,
-            () -> "End should be ~24 hours from now, got: " + hoursToEnd);
+        // Then
+        verifyNoInteractions(matchRepository);
+        assertTrue(kickoffCalendar.contains(scheduledMatchFar.getId()));
     }
 
     @Test
-    void testTrackScheduledMatchesFarFromKickoff_NoMatches() {
+    void testOnMatchScheduleChanged_KickoffMovedFarAway() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
+        pollingQueue.schedule(scheduledMatchNear.getId(), LocalDateTime.now().plusMinutes(1));
+        scheduledMatchNear.setKickoffUtc(LocalDateTime.now().plusDays(2));
 
         // When
-        scheduler.trackScheduledMatchesFarFromKickoff();
+        scheduler.onMatchScheduleChanged(MatchScheduleChangedEvent.of(scheduledMatchNear));
 
         // Then
-        verify(trackingEngine, never()).trackMatch(any());
+        assertFalse(pollingQueue.contains(scheduledMatchNear.getId()));
+        assertTrue(kickoffCalendar.contains(scheduledMatchNear.getId()));
     }
 
     @Test
-    void testTrackScheduledMatchesFarFromKickoff_ErrorHandling() {
+    void testOnMatchScheduleChanged_KickoffMovedIntoWindow() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            eq(MatchStatus.SCHEDULED), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Arrays.asList(scheduledMatchFar));
-
-        doThrow(new RuntimeException("Network error"))
-            .when(trackingEngine).trackMatch(scheduledMatchFar);
+        kickoffCalendar.put(scheduledMatchFar.getId(), LocalDateTime.now().plusDays(2));
 
         // When
-        scheduler.trackScheduledMatchesFarFromKickoff();
+        scheduler.onMatchScheduleChanged(MatchScheduleChangedEvent.of(scheduledMatchFar));
 
-        // Then - Should not crash, just log error
-        verify(trackingEngine).trackMatch(scheduledMatchFar);
+        // Then
+        assertFalse(kickoffCalendar.contains(scheduledMatchFar.getId()));
+        assertTrue(pollingQueue.contains(scheduledMatchFar.getId()));
     }
 
     @Test
-    void testAllScheduledMethodsCallCorrectRepositoryQueries() {
+    void testOnMatchScheduleChanged_DisabledOrDeletedMatchLeaves() {
         // Given
-        when(matchRepository.findByTrackingEnabledTrueAndStatusIn(anyList()))
-            .thenReturn(Collections.emptyList());
-        when(matchRepository.findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            any(), any(), any()))
-            .thenReturn(Collections.emptyList());
+        pollingQueue.schedule(liveMatch1.getId(), LocalDateTime.now().plusSeconds(10));
+        kickoffCalendar.put(scheduledMatchFar.getId(), LocalDateTime.now().plusDays(2));
+        liveMatch1.setTrackingEnabled(false);
 
         // When
-        scheduler.trackLiveMatches();
-        scheduler.trackHalfTimeMatches();
-        scheduler.trackScheduledMatchesNearKickoff();
-        scheduler.trackScheduledMatchesFarFromKickoff();
+        scheduler.onMatchScheduleChanged(MatchScheduleChangedEvent.of(liveMatch1));
+        scheduler.onMatchScheduleChanged(MatchScheduleChangedEvent.deleted(scheduledMatchFar.getId()));
 
         // Then
-        verify(matchRepository, times(1)).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.IN_PLAY));
-        verify(matchRepository, times(1)).findByTrackingEnabledTrueAndStatusIn(Arrays.asList(MatchStatus.PAUSED));
-        verify(matchRepository, times(2)).findByTrackingEnabledTrueAndStatusAndKickoffUtcBetween(
-            any(), any(), any());
+        assertFalse(pollingQueue.contains(liveMatch1.getId()));
+        assertFalse(kickoffCalendar.contains(scheduledMatchFar.getId()));
+    }
+
+    @Test
+    void testDispatchDueMatches_MostValuableMatchesFirst() {
+        // Given - repository order is not priority order
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        liveMatch1.setMinute("88'");
+        liveMatch2.setMinute("20'");
+        competition.setIsFeatured(true);
+        pollingQueue.schedule(scheduledMatchNear.getId(), past);
+        pollingQueue.schedule(halfTimeMatch.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(scheduledMatchNear, halfTimeMatch, liveMatch2, liveMatch1));
+
+        // When
+        scheduler.dispatchDueMatches();
+
+        // Then - IN_PLAY at a critical minute, IN_PLAY, PAUSED, SCHEDULED
+        InOrder inOrder = inOrder(trackingEngine);
+        inOrder.verify(trackingEngine).trackMatch(liveMatch1);
+        inOrder.verify(trackingEngine).trackMatch(liveMatch2);
+        inOrder.verify(trackingEngine).trackMatch(halfTimeMatch);
+        inOrder.verify(trackingEngine).trackMatch(scheduledMatchNear);
+    }
+
+    @Test
+    void testDispatchDueMatches_ShedsFarScheduledPollsWhenLagging() {
+        // Given - polls due 10s ago, above the 5s lag threshold
+        LocalDateTime lateDue = LocalDateTime.now().minusSeconds(10);
+        pollingQueue.schedule(liveMatch1.getId(), lateDue);
+        pollingQueue.schedule(scheduledMatchFar.getId(), lateDue);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(scheduledMatchFar, liveMatch1));
+
+        // When
+        scheduler.dispatchDueMatches();
+
+        // Then - the live match is tracked, the far SCHEDULED poll is deferred
+        verify(trackingEngine).trackMatch(liveMatch1);
+        verify(trackingEngine, never()).trackMatch(scheduledMatchFar);
+        assertTrue(pollingQueue.contains(scheduledMatchFar.getId()));
+    }
+
+    @Test
+    void testDispatchDueMatches_SharedListingFetchedOnce() {
+        // Given - both matches are on the same listing page, only the first one is found there
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        pollingQueue.schedule(liveMatch1.getId(), past);
+        pollingQueue.schedule(liveMatch2.getId(), past);
+        when(matchRepository.findAllWithCompetitionByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(liveMatch1, liveMatch2));
+        String listing = "https://onefootball.com/matches?date=2026-10-17";
+        when(trackingEngine.listingSource(any(Match.class))).thenReturn(listing);
+        MatchSnapshot snapshot = MatchSnapshot.builder().found(true).status("67'").home(1).away(0).build();
+        when(trackingEngine.fetchBatch(anyList())).thenReturn(Map.of(liveMatch1.getId(), snapshot));
+
+        // When
+        scheduler.dispatchDueMatches();
+
+        // Then - one listing fetch, the missing match falls back to its own page
+        verify(trackingEngine, times(1)).fetchBatch(anyList());
+        verify(trackingEngine).applySnapshot(liveMatch1, snapshot);
+        verify(trackingEngine, never()).trackMatch(liveMatch1);
+        verify(trackingEngine).trackMatch(liveMatch2);
+        assertEquals(2, pollingQueue.size());
     }
 }
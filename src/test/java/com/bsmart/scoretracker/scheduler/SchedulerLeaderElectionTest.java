@@ -0,0 +1,91 @@
+package com.bsmart.scoretracker.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the election against a real PostgreSQL: advisory locks belong to the session,
+ * which is what the election relies on.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchedulerLeaderElectionTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final AtomicInteger sessionsOpenedByA = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerLeaderElection nodeA;
+    private SchedulerLeaderElection nodeB;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nodeA = new SchedulerLeaderElection(() -> {
+            sessionsOpenedByA.incrementAndGet();
+            return open();
+        }, meterRegistry, new NodeIdentity("node-a"), true);
+        nodeB = new SchedulerLeaderElection(SchedulerLeaderElectionTest::open,
+            new SimpleMeterRegistry(), new NodeIdentity("node-b"), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    @Test
+    @DisplayName("Le leader tient les verrous de tous ses jobs sur une seule session")
+    void testLeaderHoldsAllJobsOnOneSession() {
+        assertTrue(nodeA.runIfLeader("competition-sync", () -> { }));
+        assertTrue(nodeA.runIfLeader("phase-match-sync", () -> { }));
+        assertTrue(nodeA.runIfLeader("live-updates", () -> { }));
+        assertTrue(nodeA.runIfLeader("competition-sync", () -> { }));
+
+        assertEquals(1, sessionsOpenedByA.get());
+        assertTrue(nodeA.isLeader("live-updates"));
+        assertEquals(1, meterRegistry.get("scheduler.leader").tag("job", "phase-match-sync").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Une autre réplique saute le job tant que le leader tient sa session")
+    void testOtherNodeSkipsWhileLeaderHoldsSession() {
+        AtomicInteger runs = new AtomicInteger();
+        nodeA.runIfLeader("competition-sync", runs::incrementAndGet);
+
+        assertFalse(nodeB.runIfLeader("competition-sync", runs::incrementAndGet));
+        assertTrue(nodeB.runIfLeader("phase-match-sync", runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("Fermer la session du leader libère ses jobs pour la réplique suivante")
+    void testLeadershipMovesWhenLeaderSessionEnds() {
+        nodeA.runIfLeader("competition-sync", () -> { });
+        nodeA.runIfLeader("live-updates", () -> { });
+
+        nodeA.destroy();
+
+        assertFalse(nodeA.isLeader("competition-sync"));
+        assertTrue(nodeB.runIfLeader("competition-sync", () -> { }));
+        assertTrue(nodeB.runIfLeader("live-updates", () -> { }));
+    }
+
+    private static Connection open() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
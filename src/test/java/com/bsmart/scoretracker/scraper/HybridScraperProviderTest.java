@@ -0,0 +1,165 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HybridScraperProviderTest {
+
+    private static final String URL = "https://www.livescore.com/en/football/match/1";
+
+    private MatchScraperProvider jsoup;
+    private MatchScraperProvider browser;
+    private SimpleMeterRegistry meterRegistry;
+    private HybridScraperProvider hybrid;
+
+    @BeforeEach
+    void setUp() {
+        jsoup = mock(MatchScraperProvider.class);
+        browser = mock(MatchScraperProvider.class);
+        when(jsoup.supports()).thenReturn(ProviderType.LIVE_SCORE);
+        meterRegistry = new SimpleMeterRegistry();
+        hybrid = new HybridScraperProvider(jsoup, browser, meterRegistry, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Une page complète en HTTP simple n'ouvre pas de navigateur")
+    void testStaticResultIsEnough() {
+        MatchSnapshot live = snapshot("67'", MatchStatus.IN_PLAY, 1, 0);
+        when(jsoup.fetch(URL)).thenReturn(live);
+
+        assertSame(live, hybrid.fetch(URL));
+        verifyNoInteractions(browser);
+        assertEquals(1, meterRegistry.get("scraper.hybrid.fetch").tag("path", "static").counter().count());
+    }
+
+    @Test
+    @DisplayName("Tirs au but sans leur score : le navigateur prend le relais")
+    void testEscalatesForMissingPenalties() {
+        when(jsoup.fetch(URL)).thenReturn(snapshot("Pen", MatchStatus.IN_PLAY, 1, 1));
+        MatchSnapshot full = snapshot("Pen", MatchStatus.IN_PLAY, 1, 1);
+        full.setPenaltyHome(4);
+        full.setPenaltyAway(3);
+        when(browser.fetch(URL)).thenReturn(full);
+
+        assertSame(full, hybrid.fetch(URL));
+        assertEquals(1, meterRegistry.get("scraper.hybrid.fetch")
+            .tag("reason", "missing-penalties").counter().count());
+    }
+
+    @Test
+    @DisplayName("Une URL qui échoue en HTTP simple va directement au navigateur, avec un nouvel essai périodique")
+    void testStickyBrowserPathWithReprobe() {
+        when(jsoup.fetch(URL)).thenReturn(MatchSnapshot.builder().found(false).build());
+        when(browser.fetch(URL)).thenReturn(snapshot("67'", MatchStatus.IN_PLAY, 1, 0));
+
+        for (int poll = 0; poll < 5; poll++) {
+            hybrid.fetch(URL);
+        }
+
+        // 2 failures, then 2 browser-only polls, then the 3rd one retries Jsoup
+        verify(jsoup, times(3)).fetch(URL);
+        verify(browser, times(5)).fetch(URL);
+    }
+
+    @Test
+    @DisplayName("Sans session navigateur libre, le résultat partiel est conservé")
+    void testKeepsPartialResultWhenBrowserSaturated() {
+        MatchSnapshot partial = snapshot("Pen", MatchStatus.IN_PLAY, 1, 1);
+        when(jsoup.fetch(URL)).thenReturn(partial);
+        when(browser.fetch(anyString())).thenThrow(new ProviderSaturatedException("pool full", null));
+
+        assertSame(partial, hybrid.fetch(URL));
+    }
+
+    @Test
+    @DisplayName("En asynchrone, une page complète est rendue sans occuper de worker")
+    void testAsyncStaticResultIsEnough() {
+        MatchSnapshot live = snapshot("67'", MatchStatus.IN_PLAY, 1, 0);
+        when(jsoup.fetchAsync(eq(URL), any())).thenReturn(CompletableFuture.completedFuture(live));
+        List<Runnable> worker = new ArrayList<>();
+
+        assertSame(live, hybrid.fetchAsync(URL, worker::add).join());
+        assertTrue(worker.isEmpty());
+        verifyNoInteractions(browser);
+    }
+
+    @Test
+    @DisplayName("En asynchrone, l'escalade vers le navigateur passe par un worker")
+    void testAsyncEscalationRunsOnWorker() {
+        when(jsoup.fetchAsync(eq(URL), any()))
+            .thenReturn(CompletableFuture.completedFuture(snapshot("Pen", MatchStatus.IN_PLAY, 1, 1)));
+        MatchSnapshot full = snapshot("Pen", MatchStatus.IN_PLAY, 1, 1);
+        full.setPenaltyHome(4);
+        full.setPenaltyAway(3);
+        when(browser.fetch(URL)).thenReturn(full);
+        List<Runnable> worker = new ArrayList<>();
+
+        CompletableFuture<MatchSnapshot> result = hybrid.fetchAsync(URL, worker::add);
+
+        assertFalse(result.isDone());
+        verifyNoInteractions(browser);
+        worker.forEach(Runnable::run);
+        assertSame(full, result.join());
+    }
+
+    @Test
+    @DisplayName("Seules les URL collées au navigateur sont annoncées comme telles")
+    void testUsesBrowserOnlyForStickyUrls() {
+        when(jsoup.fetch(URL)).thenReturn(MatchSnapshot.builder().found(false).build());
+        when(browser.fetch(URL)).thenReturn(snapshot("67'", MatchStatus.IN_PLAY, 1, 0));
+
+        assertFalse(hybrid.usesBrowser(URL));
+        hybrid.fetch(URL);
+        assertFalse(hybrid.usesBrowser(URL));
+        hybrid.fetch(URL);
+        // 2 failures: the next 2 polls skip Jsoup, the one after retries it
+        assertTrue(hybrid.usesBrowser(URL));
+        hybrid.fetch(URL);
+        assertTrue(hybrid.usesBrowser(URL));
+        hybrid.fetch(URL);
+        assertFalse(hybrid.usesBrowser(URL));
+    }
+
+    @Test
+    @DisplayName("Un lot ne garde que les entrées complètes : les autres matchs passent par leur page")
+    void testBatchDropsIncompleteEntries() {
+        MatchSnapshot live = snapshot("67'", MatchStatus.IN_PLAY, 1, 0);
+        when(jsoup.fetchBatch(anyCollection())).thenReturn(Map.of(
+            1L, live,
+            2L, snapshot("Pen", MatchStatus.IN_PLAY, 2, 2)));
+
+        Map<Long, MatchSnapshot> batch = hybrid.fetchBatch(List.of());
+
+        assertEquals(Map.of(1L, live), batch);
+        verifyNoInteractions(browser);
+        assertEquals(1, meterRegistry.get("scraper.hybrid.fetch")
+            .tag("path", "listing").tag("reason", "missing-penalties").counter().count());
+    }
+
+    private static MatchSnapshot snapshot(String status, MatchStatus matchStatus, Integer home, Integer away) {
+        return MatchSnapshot.builder()
+            .found(true)
+            .status(status)
+            .matchStatus(matchStatus)
+            .home(home)
+            .away(away)
+            .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.providers.jsoup.LiveScoreJsoupProvider;
+import com.bsmart.scoretracker.scraper.providers.jsoup.OneFootballJsoupProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lecture en lot des pages de liste (compétition LiveScore, matchs du jour OneFootball)
+ */
+class JsoupListingParsingTest {
+
+    private static final String LIVESCORE = "https://www.livescore.com/en/football/africa/africa-cup-of-nations/";
+    private static final String ONEFOOTBALL = "https://onefootball.com/en/match/";
+
+    private final LiveScoreJsoupProvider liveScore = new LiveScoreJsoupProvider(null, new SimpleMeterRegistry());
+    private final OneFootballJsoupProvider oneFootball = new OneFootballJsoupProvider(null, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("LiveScore : chaque match de la compétition est lu sur la page de liste")
+    void testLiveScoreListing() throws IOException {
+        Document doc = load("fixtures/livescore-competition-listing.html", LIVESCORE);
+        Match live = match(1L, ProviderType.LIVE_SCORE, LIVESCORE + "mali-vs-tunisia/1234567/", -70);
+        Match halfTime = match(2L, ProviderType.LIVE_SCORE, LIVESCORE + "senegal-vs-dr-congo/1234568/", -50);
+        Match shootout = match(3L, ProviderType.LIVE_SCORE, LIVESCORE + "morocco-vs-zambia/1234569/", -150);
+        Match absent = match(4L, ProviderType.LIVE_SCORE, LIVESCORE + "nigeria-vs-ghana/7654321/", -30);
+
+        Map<Long, MatchSnapshot> snapshots = liveScore.parseListing(doc, List.of(live, halfTime, shootout, absent));
+
+        assertEquals(3, snapshots.size());
+        MatchSnapshot first = snapshots.get(1L);
+        assertEquals(2, first.getHome());
+        assertEquals(1, first.getAway());
+        assertEquals("67", first.getMinute());
+        assertEquals(MatchStatus.IN_PLAY, first.getMatchStatus());
+        assertEquals(MatchStatus.PAUSED, snapshots.get(2L).getMatchStatus());
+        assertEquals(MatchStatus.FINISHED, snapshots.get(3L).getMatchStatus());
+        assertEquals(4, snapshots.get(3L).getPenaltyHome());
+        assertEquals(3, snapshots.get(3L).getPenaltyAway());
+        assertFalse(snapshots.containsKey(4L));
+    }
+
+    @Test
+    @DisplayName("LiveScore : une entrée sans score n'est SCHEDULED qu'avant le coup d'envoi")
+    void testLiveScoreEntryWithoutScore() throws IOException {
+        Document doc = load("fixtures/livescore-competition-listing.html", LIVESCORE);
+        String url = LIVESCORE + "egypt-vs-south-africa/1234570/";
+
+        MatchSnapshot upcoming = liveScore.parseListing(doc, List.of(match(1L, ProviderType.LIVE_SCORE, url, 60))).get(1L);
+        Map<Long, MatchSnapshot> started = liveScore.parseListing(doc, List.of(match(1L, ProviderType.LIVE_SCORE, url, -5)));
+
+        assertEquals(MatchStatus.SCHEDULED, upcoming.getMatchStatus());
+        assertTrue(upcoming.isFound());
+        // Absent du lot : le match est lu sur sa propre page
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    @DisplayName("OneFootball : chaque match du jour est lu sur la page de liste")
+    void testOneFootballListing() throws IOException {
+        Document doc = load("fixtures/onefootball-matches-listing.html", "https://onefootball.com/en/matches?date=2025-12-22");
+        Match live = match(1L, ProviderType.ONE_FOOTBALL, ONEFOOTBALL + "2412345", -45);
+        Match finished = match(2L, ProviderType.ONE_FOOTBALL, ONEFOOTBALL + "2412346", -150);
+        Match upcoming = match(3L, ProviderType.ONE_FOOTBALL, ONEFOOTBALL + "2412347", 60);
+
+        Map<Long, MatchSnapshot> snapshots = oneFootball.parseListing(doc, List.of(live, finished, upcoming));
+
+        assertEquals(3, snapshots.size());
+        assertEquals(1, snapshots.get(1L).getHome());
+        assertEquals(0, snapshots.get(1L).getAway());
+        assertEquals("45+2", snapshots.get(1L).getMinute());
+        assertEquals(MatchStatus.IN_PLAY, snapshots.get(1L).getMatchStatus());
+        assertEquals(MatchStatus.FINISHED, snapshots.get(2L).getMatchStatus());
+        assertEquals(MatchStatus.SCHEDULED, snapshots.get(3L).getMatchStatus());
+    }
+
+    @Test
+    @DisplayName("OneFootball : une entrée sans score après le coup d'envoi renvoie à la page du match")
+    void testOneFootballStartedEntryWithoutScore() throws IOException {
+        Document doc = load("fixtures/onefootball-matches-listing.html", "https://onefootball.com/en/matches?date=2025-12-22");
+
+        Map<Long, MatchSnapshot> snapshots = oneFootball.parseListing(doc,
+            List.of(match(1L, ProviderType.ONE_FOOTBALL, ONEFOOTBALL + "2412347", -5)));
+
+        assertTrue(snapshots.isEmpty());
+    }
+
+    /**
+     * @param kickoffInMinutes coup d'envoi par rapport à maintenant, négatif s'il est passé
+     */
+    private static Match match(Long id, ProviderType provider, String url, long kickoffInMinutes) {
+        return Match.builder()
+            .id(id)
+            .homeTeam("Home " + id)
+            .awayTeam("Away " + id)
+            .kickoffUtc(LocalDateTime.now().plusMinutes(kickoffInMinutes))
+            .provider(provider)
+            .matchUrl(url)
+            .trackingEnabled(true)
+            .status(kickoffInMinutes > 0 ? MatchStatus.SCHEDULED : MatchStatus.IN_PLAY)
+            .build();
+    }
+
+    private static Document load(String fixture, String baseUri) throws IOException {
+        return Jsoup.parse(Files.readString(Paths.get("src/test/resources/" + fixture)), baseUri);
+    }
+}
@@ -2,6 +2,8 @@ package com.bsmart.scoretracker.scraper;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
 import com.bsmart.scoretracker.scraper.providers.LiveScoreScraperProvider;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.openqa.selenium.WebElement;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,7 +40,8 @@ class LiveScoreScraperIntegrationTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         // Wrap the mock WebDriver in a Provider
-        scraper = new LiveScoreScraperProvider(() -> webDriver);
+        scraper = new LiveScoreScraperProvider(() -> webDriver, new PayloadCapture("next-data", List.of()),
+            new SimpleMeterRegistry());
         // Mock the quit() method to do nothing, as it will be called in the finally block
         doNothing().when(webDriver).quit();
     }
@@ -1,6 +1,9 @@
 package com.bsmart.scoretracker.scraper;
 
+import com.bsmart.scoretracker.dto.MatchSnapshot;
 import com.bsmart.scoretracker.scraper.providers.LiveScoreScraperProvider;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -8,27 +11,26 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class LiveScoreScraperParsingTest {
 
     private final LiveScoreScraperProvider scraper =
-        new LiveScoreScraperProvider(() -> null);
+        new LiveScoreScraperProvider(() -> null, new PayloadCapture("next-data", List.of()),
+            new SimpleMeterRegistry());
 
     @Test
     @DisplayName("Parsing LiveScore: Penalty shootout scores are extracted")
     void testExtractPenaltyScoresFromFixture() throws Exception {
         String htmlContent = loadFixture("fixtures/livescore-penalty-shootout.html");
 
-        String minute = (String) invokePrivate(scraper, "extractMinuteFromPage",
-            new Class<?>[]{String.class}, htmlContent);
-        String status = (String) invokePrivate(scraper, "extractStatusFromPage",
-            new Class<?>[]{String.class, String.class}, htmlContent, minute);
-        Integer penaltyHome = (Integer) invokePrivate(scraper, "extractPenaltyHomeScoreFromPage",
-            new Class<?>[]{String.class}, htmlContent);
-        Integer penaltyAway = (Integer) invokePrivate(scraper, "extractPenaltyAwayScoreFromPage",
-            new Class<?>[]{String.class}, htmlContent);
+        MatchSnapshot snapshot = extractSnapshot(htmlContent);
+        String minute = snapshot.getMinute();
+        String status = snapshot.getStatus();
+        Integer penaltyHome = snapshot.getPenaltyHome();
+        Integer penaltyAway = snapshot.getPenaltyAway();
 
         assertEquals("Pen", minute);
         assertEquals("LIVE", status);
@@ -44,15 +46,13 @@ class LiveScoreScraperParsingTest {
         String aetPageSource = "{\"status\":\"AET\",\"eventStatus\":\"EventScheduled\"}";
         String etPageSource = "{\"status\":\"ET\",\"eventStatus\":\"EventScheduled\"}";
 
-        String aetMinute = (String) invokePrivate(scraper, "extractMinuteFromPage",
-            new Class<?>[]{String.class}, aetPageSource);
-        String aetStatus = (String) invokePrivate(scraper, "extractStatusFromPage",
-            new Class<?>[]{String.class, String.class}, aetPageSource, aetMinute);
+        MatchSnapshot aet = extractSnapshot(aetPageSource);
+        String aetMinute = aet.getMinute();
+        String aetStatus = aet.getStatus();
 
-        String etMinute = (String) invokePrivate(scraper, "extractMinuteFromPage",
-            new Class<?>[]{String.class}, etPageSource);
-        String etStatus = (String) invokePrivate(scraper, "extractStatusFromPage",
-            new Class<?>[]{String.class, String.class}, etPageSource, etMinute);
+        MatchSnapshot et = extractSnapshot(etPageSource);
+        String etMinute = et.getMinute();
+        String etStatus = et.getStatus();
 
         assertEquals("AET", aetMinute);
         assertEquals("FT", aetStatus);
@@ -60,6 +60,10 @@ class LiveScoreScraperParsingTest {
         assertEquals("LIVE", etStatus);
     }
 
+    private MatchSnapshot extractSnapshot(String pageSource) throws Exception {
+        return (MatchSnapshot) invokePrivate(scraper, "extractSnapshot", new Class<?>[]{String.class}, pageSource);
+    }
+
     private static Object invokePrivate(Object target, String methodName,
                                         Class<?>[] types, Object... args) throws Exception {
         Method method = target.getClass().getDeclaredMethod(methodName, types);
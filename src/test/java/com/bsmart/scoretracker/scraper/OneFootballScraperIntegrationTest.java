@@ -2,6 +2,9 @@ package com.bsmart.scoretracker.scraper;
 
 import com.bsmart.scoretracker.dto.MatchSnapshot;
 import com.bsmart.scoretracker.scraper.providers.OneFootballScraperProvider;
+import com.bsmart.scoretracker.scraper.webdriver.LiveTabSessionManager;
+import com.bsmart.scoretracker.scraper.webdriver.PayloadCapture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +18,7 @@ import org.openqa.selenium.WebElement;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,7 +42,8 @@ class OneFootballScraperIntegrationTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         // Wrap the mock WebDriver in a Provider and mock the quit() method
-        scraper = new OneFootballScraperProvider(() -> webDriver);
+        scraper = new OneFootballScraperProvider(() -> webDriver, new PayloadCapture("next-data", List.of()),
+            LiveTabSessionManager.disabled(), new SimpleMeterRegistry());
         doNothing().when(webDriver).quit();
     }
 
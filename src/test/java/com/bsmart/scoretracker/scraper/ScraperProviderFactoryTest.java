@@ -0,0 +1,70 @@
+package com.bsmart.scoretracker.scraper;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScraperProviderFactoryTest {
+
+    @Test
+    @DisplayName("Un provider saturé ne bloque pas l'autre provider")
+    void testSaturatedProviderDoesNotAffectOther() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+
+        MatchScraperProvider slowOneFootball = new StubProvider(ProviderType.ONE_FOOTBALL, () -> {
+            slowStarted.countDown();
+            releaseSlow.await(5, TimeUnit.SECONDS);
+        });
+        MatchScraperProvider liveScore = new StubProvider(ProviderType.LIVE_SCORE, () -> { });
+
+        ScraperProviderFactory factory = new ScraperProviderFactory(
+            List.of(slowOneFootball, liveScore), BulkheadRegistry.ofDefaults(), new SimpleMeterRegistry(), 1, 0, 3, 10);
+
+        CompletableFuture<MatchSnapshot> hanging = CompletableFuture.supplyAsync(() ->
+            factory.getProvider(ProviderType.ONE_FOOTBALL).fetch("https://onefootball.com/match/1"));
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+        // OneFootball has no free slot: fail fast instead of queueing behind the slow page
+        assertThrows(ProviderSaturatedException.class, () ->
+            factory.getProvider(ProviderType.ONE_FOOTBALL).fetch("https://onefootball.com/match/2"));
+        // LiveScore keeps its own slot
+        assertTrue(factory.getProvider(ProviderType.LIVE_SCORE).fetch("https://livescore.com/match/3").isFound());
+
+        releaseSlow.countDown();
+        assertTrue(hanging.get(5, TimeUnit.SECONDS).isFound());
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private record StubProvider(ProviderType type, Body body) implements MatchScraperProvider {
+
+        @Override
+        public ProviderType supports() {
+            return type;
+        }
+
+        @Override
+        public MatchSnapshot fetch(String url) {
+            try {
+                body.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return MatchSnapshot.builder().found(true).build();
+        }
+    }
+}
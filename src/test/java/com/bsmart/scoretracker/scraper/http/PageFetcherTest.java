@@ -0,0 +1,125 @@
+package com.bsmart.scoretracker.scraper.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du client HTTP partagé contre un serveur local
+ */
+class PageFetcherTest {
+
+    private static final String PAGE = "<html><body><div id=\"score-or-time\">2 - 1</div>"
+        + "<div id=\"SEV__status\">Mi-temps</div></body></html>";
+
+    private HttpServer server;
+    private PageFetcher fetcher;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/match", exchange -> {
+            byte[] body = gzip(PAGE.getBytes(StandardCharsets.ISO_8859_1));
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=ISO-8859-1");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/etag", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fetcher = new PageFetcher(new SimpleMeterRegistry(), "test-agent",
+            Duration.ofSeconds(2), Duration.ofSeconds(5), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetcher.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Les pages compressées sont décodées puis parsées avec leur charset")
+    void testDecodesCompressedPage() throws IOException {
+        PageFetcher.Page page = fetcher.fetch(baseUrl + "/match/1");
+
+        assertEquals("ISO-8859-1", page.charset());
+        assertEquals("2 - 1", page.document().select("#score-or-time").text());
+        assertEquals("Mi-temps", page.document().select("#SEV__status").text());
+    }
+
+    @Test
+    @DisplayName("Plusieurs pages sont téléchargées en parallèle sur peu de threads")
+    void testFetchesConcurrently() {
+        List<CompletableFuture<PageFetcher.Page>> pages = IntStream.range(0, 20)
+            .mapToObj(i -> fetcher.fetchAsync(baseUrl + "/match/" + i))
+            .toList();
+
+        for (CompletableFuture<PageFetcher.Page> page : pages) {
+            assertEquals(200, page.join().statusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Une requête conditionnelle renvoie l'ETag reçu et accepte un 304 sans corps")
+    void testConditionalGet() throws IOException {
+        assertFalse(fetcher.fetch(baseUrl + "/etag", true).notModified());
+
+        PageFetcher.Page page = fetcher.fetch(baseUrl + "/etag", true);
+        assertTrue(page.notModified());
+        assertEquals(0, page.body().length);
+        // Sans condition, la page est toujours renvoyée en entier
+        assertFalse(fetcher.fetch(baseUrl + "/etag").notModified());
+    }
+
+    @Test
+    @DisplayName("Une réponse en erreur HTTP échoue avec une IOException")
+    void testHttpErrorIsIOException() {
+        IOException error = assertThrows(IOException.class, () -> fetcher.fetch(baseUrl + "/missing"));
+        assertTrue(error.getMessage().contains("404"));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListingPageTest {
+
+    @Test
+    @DisplayName("L'identifiant du match est le dernier segment numérique de son URL")
+    void testMatchIdFromUrl() {
+        assertEquals("1234567",
+            ListingPage.matchId("https://www.livescore.com/en/football/africa/cup/mali-vs-tunisia/1234567/"));
+        assertEquals("2412345", ListingPage.matchId("/en/match/2412345"));
+        assertNull(ListingPage.matchId("https://onefootball.com/en/match/mali-zambia"));
+        assertNull(ListingPage.matchId(null));
+    }
+
+    @Test
+    @DisplayName("Chaque match est retrouvé par son identifiant, objet englobant d'abord")
+    void testFindsEntriesById() throws IOException {
+        String json = nextData("fixtures/livescore-competition-listing.html");
+
+        // 4401 est l'identifiant d'une équipe, pas d'un match
+        Map<String, JsonNode> entries = ListingPage.entries(json, Set.of("1234567", "1234570", "4401", "42"));
+
+        assertEquals(2, entries.size());
+        assertEquals("67'", ListingPage.text(entries.get("1234567"), "status"));
+        assertEquals(2, ListingPage.integer(entries.get("1234567"), "homeTeamScore"));
+        assertNull(ListingPage.integer(entries.get("1234570"), "awayTeamScore"));
+        assertFalse(entries.containsKey("4401"));
+        assertFalse(entries.containsKey("42"));
+    }
+
+    @Test
+    @DisplayName("Un match sans identifiant est retrouvé par le lien vers sa page")
+    void testFindsEntriesByLink() throws IOException {
+        String json = nextData("fixtures/onefootball-matches-listing.html");
+
+        Map<String, JsonNode> entries = ListingPage.entries(json, Set.of("2412345", "2412347"));
+
+        assertEquals(2, entries.size());
+        assertEquals(1, ListingPage.integer(entries.get("2412345").path("homeTeam"), "score"));
+        assertNull(ListingPage.integer(entries.get("2412347").path("homeTeam"), "score"));
+    }
+
+    @Test
+    @DisplayName("Un contenu qui n'est pas du JSON ne donne aucun match")
+    void testInvalidJson() {
+        assertTrue(ListingPage.entries("<html></html>", Set.of("1")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("La minute garde le temps additionnel sans coller les chiffres")
+    void testMinute() {
+        assertEquals("67", ListingPage.minute("67'"));
+        assertEquals("45+2", ListingPage.minute("45+2'"));
+        assertEquals("90+4", ListingPage.minute("90 + 4'"));
+        assertNull(ListingPage.minute("HT"));
+        assertNull(ListingPage.minute(null));
+    }
+
+    private static String nextData(String fixture) throws IOException {
+        String html = Files.readString(Paths.get("src/test/resources/" + fixture));
+        return Jsoup.parse(html).getElementById("__NEXT_DATA__").data();
+    }
+}
@@ -0,0 +1,47 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.bsmart.scoretracker.model.enums.MatchStatus;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchStatusClassifierTest {
+
+    @Test
+    @DisplayName("Les règles sont appliquées dans l'ordre de chaque fournisseur")
+    void testRulesAreOrderedPerProvider() {
+        // HALFTIME contient FT : LiveScore teste la mi-temps en premier
+        assertEquals(MatchStatus.PAUSED, MatchStatusClassifier.classify("Halftime", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.IN_PLAY, MatchStatusClassifier.classify("Pen", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.FINISHED, MatchStatusClassifier.classify("AP", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.IN_PLAY, MatchStatusClassifier.classify("90+3'", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.SCHEDULED, MatchStatusClassifier.classify("20:00", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.IN_PLAY, MatchStatusClassifier.classify("20:00", ProviderType.ONE_FOOTBALL));
+        assertEquals(MatchStatus.IN_PLAY, MatchStatusClassifier.classify(" et ", ProviderType.LIVE_SCORE));
+        assertEquals(MatchStatus.SCHEDULED, MatchStatusClassifier.classify("BETTING", ProviderType.LIVE_SCORE));
+    }
+
+    @Test
+    @DisplayName("Les noms canoniques passent tels quels, quel que soit le fournisseur")
+    void testCanonicalNames() {
+        for (ProviderType provider : ProviderType.values()) {
+            for (MatchStatus status : MatchStatus.values()) {
+                assertEquals(status, MatchStatusClassifier.classify(status.name(), provider));
+            }
+            assertEquals(MatchStatus.SCHEDULED, MatchStatusClassifier.classify(null, provider));
+        }
+    }
+
+    @Test
+    @DisplayName("Le cache des statuts reste borné")
+    void testMemoIsBounded() {
+        for (int i = 0; i < MatchStatusClassifier.MEMO_SIZE * 2; i++) {
+            assertEquals(MatchStatus.IN_PLAY,
+                MatchStatusClassifier.classify("LIVE " + i, ProviderType.ONE_FOOTBALL));
+        }
+        assertEquals(MatchStatusClassifier.MEMO_SIZE, MatchStatusClassifier.memoized(ProviderType.ONE_FOOTBALL));
+        assertEquals(MatchStatus.FINISHED, MatchStatusClassifier.classify("Full time", ProviderType.ONE_FOOTBALL));
+    }
+}
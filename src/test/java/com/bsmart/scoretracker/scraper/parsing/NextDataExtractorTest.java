@@ -0,0 +1,50 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NextDataExtractorTest {
+
+    private static final Set<String> FIELDS = Set.of("status", "homeTeamScore", "awayTeamScore", "matchScore");
+
+    @Test
+    @DisplayName("Seul le script __NEXT_DATA__ de la page est lu")
+    void testReadsOnlyNextDataScript() {
+        String page = "<html><script>var x = {\"status\": \"decoy\"};</script>"
+            + "<script id=\"__NEXT_DATA__\" type=\"application/json\">"
+            + "{\"props\": {\"event\": {\"status\": \"\", \"homeTeamScore\": \"2\", \"awayTeamScore\": \"-\","
+            + " \"matchScore\": {\"status\": \"67'\"}}}}</script></html>";
+
+        NextDataExtractor.NextData data = NextDataExtractor.extract(page, FIELDS);
+
+        assertEquals("67'", data.first("status"));
+        assertTrue(data.has("status", ""));
+        assertEquals(2, data.integer("homeTeamScore"));
+        assertNull(data.integer("awayTeamScore"));
+        assertTrue(data.contains("matchScore"));
+    }
+
+    @Test
+    @DisplayName("Plusieurs documents JSON capturés sont lus à la suite")
+    void testReadsConcatenatedJson() {
+        String payload = "{\"homeTeamScore\": 1}\n{\"awayTeamScore\": \"3\"}";
+
+        NextDataExtractor.NextData data = NextDataExtractor.extract(payload, FIELDS);
+
+        assertEquals(1, data.integer("homeTeamScore"));
+        assertEquals(3, data.integer("awayTeamScore"));
+        assertNull(data.first("status"));
+    }
+
+    @Test
+    @DisplayName("Une page sans JSON est lue par expressions régulières")
+    void testFallsBackToRegexScan() {
+        String page = "<div data-x='{\"status\":\"HT\"}'></div>";
+
+        assertEquals("HT", NextDataExtractor.extract(page, FIELDS).first("status"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.bsmart.scoretracker.scraper.parsing;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFingerprintsTest {
+
+    private static final String URL = "https://www.livescore.com/en/football/match/1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Seul le bloc __NEXT_DATA__ compte : le reste de la page peut changer")
+    void testOnlyNextDataRegionCounts() {
+        String first = page("nonce-1", "{\"homeTeamScore\":\"1\",\"awayTeamScore\":\"0\"}");
+        String second = page("nonce-2", "{\"homeTeamScore\":\"1\",\"awayTeamScore\":\"0\"}");
+        String goal = page("nonce-3", "{\"homeTeamScore\":\"2\",\"awayTeamScore\":\"0\"}");
+
+        assertEquals(SnapshotFingerprints.fingerprint(first), SnapshotFingerprints.fingerprint(second));
+        assertNotEquals(SnapshotFingerprints.fingerprint(first), SnapshotFingerprints.fingerprint(goal));
+        assertEquals(SnapshotFingerprints.fingerprint(first.getBytes(StandardCharsets.UTF_8)),
+            SnapshotFingerprints.fingerprint(second.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(SnapshotFingerprints.NONE, SnapshotFingerprints.fingerprint("<html><body>2 - 1</body></html>"));
+    }
+
+    @Test
+    @DisplayName("Une page inchangée rend une copie du dernier snapshot marquée unchanged")
+    void testUnchangedPageGivesFlaggedCopy() {
+        SnapshotFingerprints fingerprints = new SnapshotFingerprints("test", meterRegistry);
+        MatchSnapshot parsed = MatchSnapshot.builder().found(true).status("LIVE").home(1).away(0).build();
+        long fingerprint = SnapshotFingerprints.fingerprint(page("a", "{\"homeTeamScore\":\"1\"}"));
+
+        assertNull(fingerprints.unchanged(URL, fingerprint));
+        fingerprints.remember(URL, fingerprint, parsed);
+
+        MatchSnapshot same = fingerprints.unchanged(URL, fingerprint);
+        assertTrue(same.isUnchanged());
+        assertEquals(1, same.getHome());
+        assertFalse(parsed.isUnchanged());
+        assertNull(fingerprints.unchanged(URL, SnapshotFingerprints.fingerprint(page("a", "{\"homeTeamScore\":\"2\"}"))));
+        assertTrue(fingerprints.notModified(URL).isUnchanged());
+        assertEquals(1, meterRegistry.get("scraper.poll.unchanged").tag("via", "fingerprint").counter().count());
+        assertEquals(1, meterRegistry.get("scraper.poll.unchanged").tag("via", "not-modified").counter().count());
+    }
+
+    private static String page(String nonce, String nextData) {
+        return "<html><head><script nonce=\"" + nonce + "\"></script></head><body>"
+            + "<script id=\"__NEXT_DATA__\" type=\"application/json\">" + nextData + "</script></body></html>";
+    }
+}
@@ -0,0 +1,170 @@
+package com.bsmart.scoretracker.scraper.push;
+
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.LiveUpdateSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du flux SSE contre un serveur de flux local
+ */
+class SseLiveUpdateSourceTest {
+
+    private static final String MATCH_URL = "https://www.livescore.com/en/football/match/1";
+
+    private HttpServer server;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicReference<String> requestedQuery = new AtomicReference<>();
+    private volatile List<String> events = List.of();
+    private final CountDownLatch serverStop = new CountDownLatch(1);
+
+    private SseLiveUpdateSource source;
+    private LiveUpdateSource.Subscription subscription;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stream", exchange -> {
+            connections.incrementAndGet();
+            requestedQuery.set(exchange.getRequestURI().getRawQuery());
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (String event : events) {
+                    body.write(event.getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                }
+            }
+        });
+        server.createContext("/silent", exchange -> {
+            connections.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().flush();
+            // Keeps the connection open without sending anything, like a stalled proxy
+            try {
+                serverStop.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        source = source("/stream", Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (subscription != null) {
+            subscription.close();
+        }
+        source.destroy();
+        serverStop.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Chaque événement du flux devient un snapshot")
+    void testEventsBecomeSnapshots() throws InterruptedException {
+        events = List.of(
+            ": heartbeat\n\n",
+            "event: score\ndata: {\"status\": \"LIVE\", \"home\": 1, \"away\": 0, \"minute\": \"23'\"}\n\n",
+            "data: {\"status\": \"LIVE\",\ndata:  \"home\": 2, \"away\": 0, \"minute\": \"67'\"}\n\n");
+        BlockingQueue<MatchSnapshot> received = new LinkedBlockingQueue<>();
+
+        subscription = source.subscribe(MATCH_URL, received::add);
+
+        MatchSnapshot first = received.poll(5, TimeUnit.SECONDS);
+        MatchSnapshot second = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertTrue(first.isFound());
+        assertEquals("LIVE", first.getRawStatus());
+        assertEquals(1, first.getHome());
+        assertEquals("23'", first.getMinute());
+        assertEquals(2, second.getHome());
+        assertEquals("67'", second.getMinute());
+        assertEquals("match=https%3A%2F%2Fwww.livescore.com%2Fen%2Ffootball%2Fmatch%2F1", requestedQuery.get());
+    }
+
+    @Test
+    @DisplayName("Les trames invalides ou vides sont ignorées")
+    void testInvalidFramesAreSkipped() throws InterruptedException {
+        events = List.of(
+            "data: not json\n\n",
+            "data: {\"type\": \"ping\"}\n\n",
+            "data: {\"status\": \"FT\", \"home\": 3, \"away\": 1}\n\n");
+        BlockingQueue<MatchSnapshot> received = new LinkedBlockingQueue<>();
+
+        subscription = source.subscribe(MATCH_URL, received::add);
+
+        MatchSnapshot snapshot = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(snapshot);
+        assertEquals("FT", snapshot.getStatus());
+    }
+
+    @Test
+    @DisplayName("Le flux se reconnecte après une coupure, jusqu'à la fermeture")
+    void testReconnectsUntilClosed() throws InterruptedException {
+        events = List.of("data: {\"status\": \"LIVE\", \"home\": 0, \"away\": 0}\n\n");
+        BlockingQueue<MatchSnapshot> received = new LinkedBlockingQueue<>();
+
+        subscription = source.subscribe(MATCH_URL, received::add);
+
+        // The stand-in server ends the stream after each event: every snapshot means a new connection
+        assertNotNull(received.poll(5, TimeUnit.SECONDS));
+        assertNotNull(received.poll(5, TimeUnit.SECONDS));
+        assertTrue(connections.get() >= 2);
+
+        subscription.close();
+        Thread.sleep(300);
+        int afterClose = connections.get();
+        Thread.sleep(300);
+        assertEquals(afterClose, connections.get());
+    }
+
+    @Test
+    @DisplayName("Un flux muet au-delà de idle-timeout est coupé puis reconnecté")
+    void testSilentStreamIsReconnected() throws InterruptedException {
+        source.destroy();
+        source = source("/silent", Duration.ofMillis(300));
+
+        subscription = source.subscribe(MATCH_URL, snapshot -> { });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (connections.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(connections.get() >= 2);
+    }
+
+    private SseLiveUpdateSource source(String path, Duration idleTimeout) {
+        return new SseLiveUpdateSource(ProviderType.LIVE_SCORE, HttpClient.newHttpClient(),
+            "http://127.0.0.1:" + server.getAddress().getPort() + path + "?match={url}",
+            new JsonSnapshotFrameParser(new ObjectMapper()), Duration.ofMillis(100), idleTimeout);
+    }
+}
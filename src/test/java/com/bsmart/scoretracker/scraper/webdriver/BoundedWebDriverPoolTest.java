@@ -0,0 +1,151 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import com.bsmart.scoretracker.exception.ProviderSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedWebDriverPoolTest {
+
+    private final List<WebDriver> createdDrivers = new ArrayList<>();
+    private BoundedWebDriverPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Une session rendue est réutilisée au lieu de relancer Chrome")
+    void testSessionIsReused() {
+        pool = newPool(2, 10, Duration.ofMinutes(5));
+
+        WebDriver first = pool.borrow();
+        pool.release(first, true);
+        WebDriver second = pool.borrow();
+
+        assertSame(first, second);
+        assertEquals(1, createdDrivers.size());
+        verify(first, never()).quit();
+        verify(first).get("about:blank");
+    }
+
+    @Test
+    @DisplayName("Une session est recyclée après max-uses scrapes")
+    void testSessionRecycledAfterMaxUses() {
+        pool = newPool(2, 2, Duration.ofMinutes(5));
+
+        WebDriver driver = pool.borrow();
+        pool.release(driver, true);
+        assertSame(driver, pool.borrow());
+        pool.release(driver, true);
+
+        verify(driver).quit();
+        assertNotSame(driver, pool.borrow());
+    }
+
+    @Test
+    @DisplayName("Une session morte ou en échec n'est pas rendue à l'appelant suivant")
+    void testDeadOrFailedSessionsAreDiscarded() {
+        pool = newPool(2, 10, Duration.ofMinutes(5));
+
+        WebDriver failed = pool.borrow();
+        pool.release(failed, false);
+        verify(failed).quit();
+
+        WebDriver dead = pool.borrow();
+        pool.release(dead, true);
+        when(dead.getWindowHandle()).thenThrow(new NoSuchSessionException("gone"));
+
+        WebDriver next = pool.borrow();
+        assertNotSame(dead, next);
+        verify(dead).quit();
+    }
+
+    @Test
+    @DisplayName("Le pool est borné : pas de session au-delà de max-size")
+    void testPoolIsBounded() {
+        pool = newPool(1, 10, Duration.ofMinutes(5));
+
+        WebDriver driver = pool.borrow();
+        assertThrows(ProviderSaturatedException.class, () -> pool.borrow());
+
+        pool.release(driver, true);
+        assertSame(driver, pool.borrow());
+    }
+
+    @Test
+    @DisplayName("Les sessions inactives sont fermées après idle-timeout")
+    void testIdleSessionsAreEvicted() throws Exception {
+        pool = newPool(2, 10, Duration.ofMillis(1));
+
+        WebDriver driver = pool.borrow();
+        pool.release(driver, true);
+        Thread.sleep(5);
+        pool.evictIdle();
+
+        assertEquals(0, pool.idleCount());
+        verify(driver).quit();
+    }
+
+    @Test
+    @DisplayName("Les sessions min-idle sont pré-démarrées et survivent à l'éviction")
+    void testMinIdleSessionsAreKeptWarm() throws Exception {
+        pool = new BoundedWebDriverPool(this::newDriver, null, new SimpleMeterRegistry(),
+            4, 2, 10, 0, Duration.ofMillis(1), Duration.ofMillis(50));
+
+        pool.topUp();
+        assertEquals(2, pool.idleCount());
+
+        Thread.sleep(5);
+        pool.evictIdle();
+
+        assertEquals(2, pool.idleCount());
+        assertEquals(2, createdDrivers.size());
+    }
+
+    @Test
+    @DisplayName("Une session dépassant la mémoire maximale est recyclée à son retour")
+    void testSessionRecycledAboveMemoryLimit() {
+        BrowserProcessTracker processes = mock(BrowserProcessTracker.class);
+        when(processes.start(any())).thenAnswer(invocation -> newDriver());
+        pool = new BoundedWebDriverPool(this::newDriver, processes, new SimpleMeterRegistry(),
+            2, 0, 10, 1000, Duration.ofMinutes(5), Duration.ofMillis(50));
+
+        WebDriver light = pool.borrow();
+        when(processes.residentBytes(light)).thenReturn(500L);
+        pool.release(light, true);
+        assertSame(light, pool.borrow());
+
+        when(processes.residentBytes(light)).thenReturn(5000L);
+        pool.release(light, true);
+
+        verify(light).quit();
+        verify(processes).stopped(light);
+        assertEquals(0, pool.idleCount());
+    }
+
+    private BoundedWebDriverPool newPool(int maxSize, int maxUses, Duration idleTimeout) {
+        return new BoundedWebDriverPool(this::newDriver, new SimpleMeterRegistry(), maxSize, maxUses, idleTimeout,
+            Duration.ofMillis(50));
+    }
+
+    private WebDriver newDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        createdDrivers.add(driver);
+        return driver;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reaper tests against a fake process table: only processes carrying our profile marker are killed
+ */
+class BrowserProcessTrackerTest {
+
+    private static final String CHROME = "/opt/google/chrome/chrome";
+    private static final String CHROMEDRIVER = "/usr/local/bin/chromedriver";
+
+    @TempDir
+    Path profileRoot;
+
+    private final List<ProcessHandle> processes = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Un Chrome lancé par ce service dont le chromedriver est mort est tué, et son profil supprimé")
+    void testKillsOurBrowserWithoutChromedriver() throws Exception {
+        Path profile = Files.createDirectories(profileRoot.resolve("session-1"));
+        ProcessHandle browser = process(100, CHROME, init(), "--test-type=webdriver", "--user-data-dir=" + profile);
+
+        assertEquals(1, tracker(true).killOrphans());
+
+        verify(browser).destroyForcibly();
+        assertFalse(Files.exists(profile));
+        assertEquals(1, meterRegistry.get("webdriver.fleet.killed").tag("reason", "orphan").counter().count());
+    }
+
+    @Test
+    @DisplayName("Un Chrome WebDriver d'un autre programme n'est jamais tué")
+    void testLeavesForeignBrowsersAlone() {
+        ProcessHandle unmarked = process(100, CHROME, init(), "--remote-debugging-port=9222");
+        ProcessHandle otherProfile = process(101, CHROME, init(), "--test-type=webdriver",
+            "--user-data-dir=/home/dev/.config/chrome-tests");
+
+        assertEquals(0, tracker(true).killOrphans());
+
+        verify(unmarked, never()).destroyForcibly();
+        verify(otherProfile, never()).destroyForcibly();
+    }
+
+    @Test
+    @DisplayName("Un Chrome dont le chromedriver est vivant n'est pas orphelin")
+    void testLeavesLiveSessionsAlone() {
+        ProcessHandle jvm = process(50, "/usr/bin/java", init());
+        ProcessHandle chromedriver = process(60, CHROMEDRIVER, jvm);
+        ProcessHandle browser = process(61, CHROME, chromedriver, "--test-type=webdriver",
+            "--user-data-dir=" + profileRoot.resolve("session-2"));
+        when(chromedriver.descendants()).thenAnswer(invocation -> Stream.of(browser));
+
+        assertEquals(0, tracker(true).killOrphans());
+
+        verify(chromedriver, never()).destroyForcibly();
+        verify(browser, never()).destroyForcibly();
+    }
+
+    @Test
+    @DisplayName("Un chromedriver adopté par init n'est tué que si son Chrome porte notre profil")
+    void testKillsAdoptedChromedriverOnlyWithOurBrowser() {
+        ProcessHandle ours = process(60, CHROMEDRIVER, init());
+        ProcessHandle ourBrowser = process(61, CHROME, ours, "--test-type=webdriver",
+            "--user-data-dir=" + profileRoot.resolve("session-3"));
+        when(ours.descendants()).thenAnswer(invocation -> Stream.of(ourBrowser));
+        ProcessHandle foreign = process(70, CHROMEDRIVER, init());
+        ProcessHandle foreignBrowser = process(71, CHROME, foreign, "--test-type=webdriver");
+        when(foreign.descendants()).thenAnswer(invocation -> Stream.of(foreignBrowser));
+
+        assertEquals(1, tracker(true).killOrphans());
+
+        verify(ours).destroyForcibly();
+        verify(ourBrowser).destroyForcibly();
+        verify(foreign, never()).destroyForcibly();
+        verify(foreignBrowser, never()).destroyForcibly();
+    }
+
+    @Test
+    @DisplayName("Un parent qui ne rend aucune information n'est pas pris pour un chromedriver")
+    void testParentWithoutInfo() {
+        ProcessHandle parent = mock(ProcessHandle.class);
+        when(parent.pid()).thenReturn(42L);
+        ProcessHandle browser = process(100, CHROME, parent, "--test-type=webdriver",
+            "--user-data-dir=" + profileRoot.resolve("session-5"));
+
+        assertEquals(1, tracker(true).killOrphans());
+
+        verify(browser).destroyForcibly();
+    }
+
+    @Test
+    @DisplayName("Le nettoyage est désactivé par défaut")
+    void testDisabled() {
+        ProcessHandle browser = process(100, CHROME, init(), "--test-type=webdriver",
+            "--user-data-dir=" + profileRoot.resolve("session-4"));
+
+        assertEquals(0, tracker(false).killOrphans());
+
+        verify(browser, never()).destroyForcibly();
+    }
+
+    private BrowserProcessTracker tracker(boolean killOrphans) {
+        return new BrowserProcessTracker(meterRegistry, killOrphans, profileRoot, processes::stream);
+    }
+
+    private static ProcessHandle init() {
+        ProcessHandle.Info info = mock(ProcessHandle.Info.class);
+        when(info.command()).thenReturn(Optional.of("/sbin/init"));
+        when(info.arguments()).thenReturn(Optional.empty());
+        ProcessHandle init = mock(ProcessHandle.class);
+        when(init.pid()).thenReturn(1L);
+        when(init.info()).thenReturn(info);
+        return init;
+    }
+
+    private ProcessHandle process(long pid, String command, ProcessHandle parent, String... arguments) {
+        ProcessHandle.Info info = mock(ProcessHandle.Info.class);
+        when(info.user()).thenReturn(ProcessHandle.current().info().user());
+        when(info.command()).thenReturn(Optional.of(command));
+        when(info.arguments()).thenReturn(Optional.of(arguments));
+        ProcessHandle process = mock(ProcessHandle.class);
+        when(process.pid()).thenReturn(pid);
+        when(process.info()).thenReturn(info);
+        when(process.parent()).thenReturn(Optional.of(parent));
+        when(process.descendants()).thenAnswer(invocation -> Stream.empty());
+        when(process.onExit()).thenReturn(CompletableFuture.completedFuture(process));
+        processes.add(process);
+        return process;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du placement des sessions contre un /status de Grid local
+ */
+class GridCapacityTest {
+
+    // node-a : 1 slot libre sur 2, node-b : 2 libres sur 2, node-c : DOWN
+    private static final String STATUS = """
+        {"value": {"ready": true, "nodes": [
+          {"uri": "http://node-a:5555", "availability": "UP", "maxSessions": 2, "slots": [
+            {"session": {"sessionId": "s1"}, "stereotype": {"browserName": "chrome", "bsmart:node": "a"}},
+            {"session": null, "stereotype": {"browserName": "chrome", "bsmart:node": "a"}}]},
+          {"uri": "http://node-b:5555", "availability": "UP", "maxSessions": 2, "slots": [
+            {"session": null, "stereotype": {"browserName": "chrome", "bsmart:node": "b"}},
+            {"session": null, "stereotype": {"browserName": "chrome", "bsmart:node": "b"}}]},
+          {"uri": "http://node-c:5555", "availability": "DOWN", "maxSessions": 4, "slots": []}
+        ]}}
+        """;
+
+    private HttpServer server;
+    private GridCapacity grid;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/wd/hub/status", exchange -> {
+            byte[] body = STATUS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        URI statusUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub/status");
+        grid = new GridCapacity(HttpClient.newHttpClient(), statusUri, new ObjectMapper(),
+            new SimpleMeterRegistry(), "bsmart:node", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Les sessions vont au noeud le moins chargé, les noeuds DOWN sont ignorés")
+    void testPlacesOnLeastLoadedNode() {
+        try (GridCapacity.Placement placement = grid.place()) {
+            assertFalse(placement.isQueued());
+            assertEquals(Map.of("bsmart:node", "b"), placement.capabilities());
+        }
+        assertEquals(2, grid.nodes().size());
+    }
+
+    @Test
+    @DisplayName("Les créations en cours réservent leur slot jusqu'à la fermeture du placement")
+    void testConcurrentPlacementsSpreadThenQueue() {
+        GridCapacity.Placement first = grid.place();
+        GridCapacity.Placement second = grid.place();
+        GridCapacity.Placement third = grid.place();
+        GridCapacity.Placement fourth = grid.place();
+
+        assertEquals("b", first.capabilities().get("bsmart:node"));
+        assertFalse(third.isQueued());
+        assertTrue(fourth.isQueued());
+
+        first.close();
+        try (GridCapacity.Placement next = grid.place()) {
+            assertFalse(next.isQueued());
+        }
+        second.close();
+        third.close();
+        fourth.close();
+    }
+}
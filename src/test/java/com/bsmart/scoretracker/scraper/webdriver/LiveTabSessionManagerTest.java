@@ -0,0 +1,168 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LiveTabSessionManagerTest {
+
+    private static final String URL = "https://livescore.com/match/1";
+
+    private WebDriver browser;
+    private WebDriver.TargetLocator targetLocator;
+    private AtomicInteger browsersStarted;
+    private LiveTabSessionManager liveTabs;
+
+    @BeforeEach
+    void setUp() {
+        browser = mock(WebDriver.class);
+        targetLocator = mock(WebDriver.TargetLocator.class);
+        when(browser.switchTo()).thenReturn(targetLocator);
+        when(browser.getWindowHandle()).thenReturn("tab-1");
+        when(browser.getWindowHandles()).thenReturn(Set.of("tab-1"));
+        browsersStarted = new AtomicInteger();
+        liveTabs = new LiveTabSessionManager(() -> {
+            browsersStarted.incrementAndGet();
+            return browser;
+        }, new SimpleMeterRegistry(), true, 2, Duration.ofMinutes(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveTabs.destroy();
+    }
+
+    @Test
+    @DisplayName("Un onglet ouvert est relu sans nouvelle navigation")
+    void testReadDoesNotNavigate() {
+        assertTrue(liveTabs.open(URL));
+
+        Optional<String> first = liveTabs.read(URL, driver -> "1-0");
+        Optional<String> second = liveTabs.read(URL, driver -> "2-0");
+
+        assertEquals(Optional.of("1-0"), first);
+        assertEquals(Optional.of("2-0"), second);
+        verify(targetLocator).newWindow(WindowType.TAB);
+        verify(browser, times(1)).get(URL);
+        verify(targetLocator, times(2)).window("tab-1");
+        assertEquals(1, browsersStarted.get());
+    }
+
+    @Test
+    @DisplayName("L'ouverture lance le chargement de la page sans l'attendre")
+    void testOpenDoesNotAwaitPageLoad() {
+        WebDriver javascriptBrowser = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(javascriptBrowser.switchTo()).thenReturn(targetLocator);
+        when(javascriptBrowser.getWindowHandle()).thenReturn("tab-1");
+        liveTabs.destroy();
+        liveTabs = new LiveTabSessionManager(() -> javascriptBrowser, new SimpleMeterRegistry(), true, 2,
+            Duration.ofMinutes(3));
+
+        assertTrue(liveTabs.open(URL));
+
+        verify((JavascriptExecutor) javascriptBrowser).executeScript(anyString(), eq(URL));
+        verify(javascriptBrowser, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Le démarrage du navigateur ne bloque pas les lectures des autres onglets")
+    void testBrowserStartDoesNotBlockReads() throws Exception {
+        CountDownLatch starting = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        liveTabs.destroy();
+        liveTabs = new LiveTabSessionManager(() -> {
+            starting.countDown();
+            await(started);
+            return browser;
+        }, new SimpleMeterRegistry(), true, 2, Duration.ofMinutes(3));
+        CompletableFuture<Boolean> opening = CompletableFuture.supplyAsync(() -> liveTabs.open(URL));
+        assertTrue(starting.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Optional<String>> read = CompletableFuture.supplyAsync(() -> liveTabs.read(URL + "b", driver -> "1-0"));
+
+        assertTrue(read.get(5, TimeUnit.SECONDS).isEmpty());
+        started.countDown();
+        assertTrue(opening.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Sans onglet ouvert, la lecture ne fait rien")
+    void testReadWithoutTab() {
+        assertTrue(liveTabs.read(URL, driver -> "1-0").isEmpty());
+        assertEquals(0, browsersStarted.get());
+    }
+
+    @Test
+    @DisplayName("L'onglet est fermé à la fin du match")
+    void testCloseTab() {
+        liveTabs.open(URL);
+        liveTabs.close(URL);
+
+        assertFalse(liveTabs.isOpen(URL));
+        verify(browser).close();
+        verify(browser, never()).quit();
+    }
+
+    @Test
+    @DisplayName("Le nombre d'onglets est borné")
+    void testMaxTabs() {
+        assertTrue(liveTabs.open(URL + "a"));
+        assertTrue(liveTabs.open(URL + "b"));
+
+        assertFalse(liveTabs.open(URL + "c"));
+        assertEquals(2, liveTabs.openTabs());
+    }
+
+    @Test
+    @DisplayName("Si le navigateur est mort, les onglets sont abandonnés et le navigateur relancé")
+    void testDeadBrowserIsReplaced() {
+        liveTabs.open(URL);
+        when(browser.getWindowHandles()).thenThrow(new NoSuchSessionException("gone"));
+
+        assertTrue(liveTabs.read(URL, driver -> { throw new NoSuchSessionException("gone"); }).isEmpty());
+
+        assertEquals(0, liveTabs.openTabs());
+        verify(browser).quit();
+        liveTabs.open(URL);
+        assertEquals(2, browsersStarted.get());
+    }
+
+    @Test
+    @DisplayName("Un onglet non lu depuis idle-timeout est fermé")
+    void testIdleTabsAreClosed() {
+        liveTabs.destroy();
+        liveTabs = new LiveTabSessionManager(() -> browser, new SimpleMeterRegistry(), true, 2, Duration.ZERO);
+        liveTabs.open(URL);
+
+        liveTabs.closeIdleTabs();
+
+        assertFalse(liveTabs.isOpen(URL));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PageLoadAccountingTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PageLoadAccounting accounting;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accounting = new PageLoadAccounting("liveScore", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Le temps, les octets et le nombre de ressources de la page sont enregistrés")
+    void testRecordsTimeAndWeight() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(List.of(48000L, 12L));
+
+        accounting.record(driver, System.nanoTime());
+
+        assertEquals(1, meterRegistry.get("scraper.page.time").tag("provider", "liveScore").timer().count());
+        assertEquals(48000, meterRegistry.get("scraper.page.bytes").summary().totalAmount());
+        assertEquals(12, meterRegistry.get("scraper.page.resources").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Sans JavaScript, seul le temps de chargement est enregistré")
+    void testRecordsTimeOnlyWithoutJavascript() {
+        accounting.record(mock(WebDriver.class), System.nanoTime());
+
+        assertEquals(1, meterRegistry.get("scraper.page.time").timer().count());
+        assertEquals(0, meterRegistry.get("scraper.page.bytes").summary().count());
+    }
+
+    @Test
+    @DisplayName("Une mesure du poids en échec ne fait pas échouer le scrape")
+    void testWeightFailureIsSwallowed() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenThrow(new JavascriptException("no performance API"));
+
+        assertDoesNotThrow(() -> accounting.record(driver, System.nanoTime()));
+        assertEquals(1, meterRegistry.get("scraper.page.time").timer().count());
+        assertEquals(0, meterRegistry.get("scraper.page.resources").summary().count());
+    }
+}
@@ -0,0 +1,53 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PayloadCaptureTest {
+
+    private static final String NEXT_DATA = "{\"homeTeamScore\": \"1\"}";
+
+    @Test
+    @DisplayName("Le mode next-data ne transfère que le JSON __NEXT_DATA__")
+    void testNextDataModeSkipsPageSource() {
+        WebDriver driver = javascriptDriver();
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(NEXT_DATA);
+
+        String payload = new PayloadCapture("next-data", List.of()).start(driver).payload();
+
+        assertEquals(NEXT_DATA, payload);
+        verify(driver, never()).getPageSource();
+    }
+
+    @Test
+    @DisplayName("Sans __NEXT_DATA__, le code source de la page est utilisé")
+    void testFallsBackToPageSource() {
+        WebDriver driver = javascriptDriver();
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(null);
+        when(driver.getPageSource()).thenReturn("<html></html>");
+
+        assertEquals("<html></html>", new PayloadCapture("next-data", List.of()).start(driver).payload());
+    }
+
+    @Test
+    @DisplayName("Le mode page-source conserve le comportement historique")
+    void testPageSourceMode() {
+        WebDriver driver = javascriptDriver();
+        when(driver.getPageSource()).thenReturn("<html></html>");
+
+        assertEquals("<html></html>", new PayloadCapture("page-source", List.of()).start(driver).payload());
+        verify((JavascriptExecutor) driver, never()).executeScript(anyString());
+    }
+
+    private static WebDriver javascriptDriver() {
+        return mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bsmart.scoretracker.scraper.webdriver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RenderProbeTest {
+
+    private static final String READY_SCRIPT = "return true;";
+
+    @Test
+    @DisplayName("Le probe rend la main dès que la condition JavaScript est vraie")
+    void testReturnsAsSoonAsReady() {
+        WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(false, false, true);
+        RenderProbe probe = newProbe(Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        assertTrue(probe.awaitReady(driver));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        verify((JavascriptExecutor) driver, times(3)).executeScript(READY_SCRIPT);
+    }
+
+    @Test
+    @DisplayName("Sans JavaScript, le probe cherche le marqueur dans le code source")
+    void testFallsBackToPageSourceMarker() {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.getPageSource()).thenReturn("<html></html>", "<script id=\"__NEXT_DATA__\">{}</script>");
+
+        assertTrue(newProbe(Duration.ofSeconds(5)).awaitReady(driver));
+    }
+
+    @Test
+    @DisplayName("Le timeout se resserre quand les pages sont rapides et s'élargit après un timeout")
+    void testTimeoutAdaptsToRenderTimes() {
+        WebDriver ready = mock(WebDriver.class);
+        when(ready.getPageSource()).thenReturn("__NEXT_DATA__");
+        WebDriver neverReady = mock(WebDriver.class);
+        when(neverReady.getPageSource()).thenReturn("<html></html>");
+        RenderProbe probe = newProbe(Duration.ofSeconds(2));
+
+        Duration initial = probe.currentTimeout();
+        for (int i = 0; i < 20; i++) {
+            probe.awaitReady(ready);
+        }
+        Duration learned = probe.currentTimeout();
+        assertTrue(learned.compareTo(initial) < 0);
+        assertEquals(Duration.ofMillis(200), learned);
+
+        assertFalse(probe.awaitReady(neverReady));
+        assertTrue(probe.currentTimeout().compareTo(learned) > 0);
+    }
+
+    @Test
+    @DisplayName("Les attentes sont mesurées dans le registre fourni")
+    void testRecordsWaitsInGivenRegistry() {
+        WebDriver driver = mock(WebDriver.class);
+        when(driver.getPageSource()).thenReturn("__NEXT_DATA__");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RenderProbe probe = newProbe(meterRegistry, Duration.ofSeconds(5));
+
+        probe.awaitReady(driver);
+
+        assertEquals(1, meterRegistry.get("scraper.render.wait").tag("outcome", "ready").timer().count());
+        assertEquals(probe.currentTimeout().toMillis(),
+            meterRegistry.get("scraper.render.timeout").tag("probe", "test").gauge().value());
+    }
+
+    private static RenderProbe newProbe(Duration maxTimeout) {
+        return newProbe(new SimpleMeterRegistry(), maxTimeout);
+    }
+
+    private static RenderProbe newProbe(SimpleMeterRegistry meterRegistry, Duration maxTimeout) {
+        return new RenderProbe("test", READY_SCRIPT, "__NEXT_DATA__", meterRegistry,
+            Duration.ofMillis(200), maxTimeout, Duration.ofMillis(500), 3.0, 0.5, Duration.ofMillis(10));
+    }
+}
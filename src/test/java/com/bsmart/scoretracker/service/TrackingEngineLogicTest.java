@@ -1,13 +1,20 @@
 package com.bsmart.scoretracker.service;
 
+import com.bsmart.scoretracker.dto.MatchSnapshot;
+import com.bsmart.scoretracker.model.Match;
 import com.bsmart.scoretracker.model.enums.MatchStatus;
 import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.repository.MatchRepository;
 import com.bsmart.scoretracker.service.impl.TrackingEngineServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests unitaires pour la logique métier du TrackingEngine
@@ -21,7 +28,7 @@ class TrackingEngineLogicTest {
     void setUp() {
         // On testera les méthodes publiques via reflection ou en extrayant la logique
         // Pour l'instant, on va créer des tests pour normalizeStatus qui est public
-        trackingEngine = new TrackingEngineServiceImpl(null, null, null);
+        trackingEngine = new TrackingEngineServiceImpl(null, null, null, null);
     }
 
     @Test
@@ -107,4 +114,37 @@ class TrackingEngineLogicTest {
         MatchStatus result = trackingEngine.normalizeStatus("UNKNOWN_STATUS", ProviderType.ONE_FOOTBALL);
         assertEquals(MatchStatus.SCHEDULED, result);
     }
+
+    @Test
+    @DisplayName("Page inchangée : seule la date du dernier fetch est écrite, sans save du match")
+    void testUnchangedPageOnlyTouchesLastFetch() {
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        TrackingEngineServiceImpl engine = new TrackingEngineServiceImpl(null, matchRepository, null, null);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+        Match match = Match.builder()
+            .id(1L)
+            .kickoffUtc(LocalDateTime.now().minusMinutes(70))
+            .provider(ProviderType.LIVE_SCORE)
+            .status(MatchStatus.IN_PLAY)
+            .scoreHome(1)
+            .scoreAway(0)
+            .minute("67")
+            .lastFetchUtc(before)
+            .build();
+        MatchSnapshot snapshot = MatchSnapshot.builder()
+            .found(true)
+            .unchanged(true)
+            .status("67'")
+            .matchStatus(MatchStatus.IN_PLAY)
+            .home(1)
+            .away(0)
+            .minute("67")
+            .build();
+
+        engine.applySnapshot(match, snapshot);
+
+        assertTrue(match.getLastFetchUtc().isAfter(before));
+        verify(matchRepository).touchLastFetch(1L, match.getLastFetchUtc());
+        verify(matchRepository, never()).save(any());
+    }
 }
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 
@@ -41,13 +42,16 @@ class TrackingScenarioTest {
     @Mock
     private MatchEventService matchEventService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private TrackingEngineServiceImpl trackingEngine;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         trackingEngine = new TrackingEngineServiceImpl(
-            scraperFactory, matchRepository, matchEventService
+            scraperFactory, matchRepository, matchEventService, eventPublisher
         );
 
         // Configure le factory pour retourner notre mock
@@ -0,0 +1,77 @@
+package com.bsmart.scoretracker.service.impl;
+
+import com.bsmart.scoretracker.dto.MatchMetadata;
+import com.bsmart.scoretracker.model.enums.ProviderType;
+import com.bsmart.scoretracker.scraper.webdriver.WebDriverPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MatchMetadataServiceImplTest {
+
+    private static final String URL = "https://onefootball.com/en/match/2461111";
+
+    private static final String JSON_LD_PAGE = """
+        <html><head><title>PSG vs OM</title>
+        <script type="application/ld+json">
+        {"@context":"https://schema.org","@type":"SportsEvent",
+         "homeTeam":{"@type":"SportsTeam","name":"Paris Saint-Germain"},
+         "awayTeam":{"@type":"SportsTeam","name":"Olympique de Marseille"},
+         "startDate":"2025-12-21T19:00:00Z",
+         "location":{"@type":"Place","name":"Parc des Princes"}}
+        </script></head><body></body></html>
+        """;
+
+    @Test
+    @DisplayName("Le JSON-LD de la page statique suffit, sans navigateur")
+    void testExtractFromJsonLd() {
+        MatchMetadataServiceImpl service = service(() -> fail("no browser expected"));
+
+        MatchMetadata metadata = service.extractFromDocument(URL, Jsoup.parse(JSON_LD_PAGE));
+
+        assertEquals("Paris Saint-Germain", metadata.getHomeTeam());
+        assertEquals("Olympique de Marseille", metadata.getAwayTeam());
+        assertEquals("Parc des Princes", metadata.getVenue());
+        assertEquals(LocalDateTime.of(2025, 12, 21, 19, 0), metadata.getKickoffUtc());
+        assertEquals(ProviderType.ONE_FOOTBALL, metadata.getProvider());
+    }
+
+    @Test
+    @DisplayName("Une même URL n'est extraite qu'une fois pendant la durée du cache")
+    void testResultIsCachedPerUrl() {
+        AtomicInteger borrows = new AtomicInteger();
+        WebDriver webDriver = mock(WebDriver.class);
+        when(webDriver.getPageSource()).thenReturn(
+            "<script id=\"__NEXT_DATA__\">{\"homeTeamName\": \"Lyon\", \"awayTeamName\": \"Lille\"}</script>");
+        MatchMetadataServiceImpl service = service(() -> {
+            borrows.incrementAndGet();
+            return webDriver;
+        });
+
+        MatchMetadata first = service.extractMetadataFromUrl(URL);
+        MatchMetadata second = service.extractMetadataFromUrl(URL);
+
+        assertEquals("Lyon", first.getHomeTeam());
+        assertEquals("Lille", first.getAwayTeam());
+        assertSame(first, second);
+        assertEquals(1, borrows.get());
+    }
+
+    private static MatchMetadataServiceImpl service(WebDriverPool pool) {
+        ObjectProvider<WebDriverPool> provider = new StaticListableBeanFactory(Map.of("webDriverPool", pool))
+            .getBeanProvider(WebDriverPool.class);
+        // Static fetch disabled: no network in tests
+        return new MatchMetadataServiceImpl(provider, new SimpleMeterRegistry(), false, 1000, 60000, 10);
+    }
+}
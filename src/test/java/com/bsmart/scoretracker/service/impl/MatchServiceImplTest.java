@@ -10,12 +10,15 @@ import com.bsmart.scoretracker.model.enums.ProviderType;
 import com.bsmart.scoretracker.repository.PhaseRepository;
 import com.bsmart.scoretracker.repository.MatchRepository;
 import com.bsmart.scoretracker.service.TrackingEngineService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -38,6 +41,12 @@ class MatchServiceImplTest {
     @Mock
     private TrackingEngineService trackingEngineService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TrackingSingleFlight trackingSingleFlight = new TrackingSingleFlight(new SimpleMeterRegistry());
+
     @InjectMocks
     private MatchServiceImpl matchService;
 
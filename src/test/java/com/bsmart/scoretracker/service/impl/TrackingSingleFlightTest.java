@@ -0,0 +1,156 @@
+package com.bsmart.scoretracker.service.impl;
+
+import com.bsmart.scoretracker.model.Match;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackingSingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrackingSingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new TrackingSingleFlight(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Un second appel pendant un tracking en cours rejoint l'appel existant")
+    void testConcurrentCallsAreCoalesced() throws Exception {
+        Match leaderMatch = Match.builder().id(1L).build();
+        Match followerMatch = Match.builder().id(1L).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger scrapes = new AtomicInteger();
+
+        CompletableFuture<Match> leader = CompletableFuture.supplyAsync(() ->
+            singleFlight.track(leaderMatch, () -> {
+                scrapes.incrementAndGet();
+                started.countDown();
+                await(release);
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Match> follower = CompletableFuture.supplyAsync(() ->
+            singleFlight.track(followerMatch, scrapes::incrementAndGet));
+        // Let the follower register on the in-flight call before releasing the leader
+        while (coalescedCount() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(leaderMatch, leader.get(5, TimeUnit.SECONDS));
+        assertSame(leaderMatch, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, scrapes.get());
+        assertFalse(singleFlight.isInFlight(1L));
+    }
+
+    @Test
+    @DisplayName("Un tracking asynchrone garde le slot jusqu'à sa fin, sans bloquer les appels concurrents")
+    void testAsyncCallHoldsSlotUntilCompletion() {
+        Match match = Match.builder().id(1L).build();
+        CompletableFuture<Void> download = new CompletableFuture<>();
+        AtomicInteger scrapes = new AtomicInteger();
+
+        CompletableFuture<Match> leader = singleFlight.trackAsync(match, () -> {
+            scrapes.incrementAndGet();
+            return download;
+        });
+        CompletableFuture<Match> follower = singleFlight.trackAsync(Match.builder().id(1L).build(), () -> {
+            scrapes.incrementAndGet();
+            return download;
+        });
+
+        assertTrue(singleFlight.isInFlight(1L));
+        assertFalse(follower.isDone());
+        download.complete(null);
+
+        assertSame(match, leader.join());
+        assertSame(match, follower.join());
+        assertEquals(1, scrapes.get());
+        assertEquals(1, coalescedCount());
+        assertFalse(singleFlight.isInFlight(1L));
+    }
+
+    @Test
+    @DisplayName("Les appels successifs relancent un tracking")
+    void testSequentialCallsAreExecuted() {
+        Match match = Match.builder().id(1L).build();
+        AtomicInteger scrapes = new AtomicInteger();
+
+        singleFlight.track(match, scrapes::incrementAndGet);
+        singleFlight.track(match, scrapes::incrementAndGet);
+
+        assertEquals(2, scrapes.get());
+        assertEquals(0, coalescedCount());
+    }
+
+    @Test
+    @DisplayName("L'erreur du tracking est propagée et libère le slot")
+    void testFailureReleasesSlot() {
+        Match match = Match.builder().id(1L).build();
+
+        assertThrows(IllegalStateException.class, () ->
+            singleFlight.track(match, () -> { throw new IllegalStateException("scrape failed"); }));
+
+        assertFalse(singleFlight.isInFlight(1L));
+        assertSame(match, singleFlight.track(match, () -> { }));
+    }
+
+    @Test
+    @DisplayName("Un appel non fusionnable attend l'appel en cours puis s'exécute à son tour")
+    void testTrackAfterInFlightWaitsThenRuns() throws Exception {
+        Match match = Match.builder().id(1L).build();
+        Match reloaded = Match.builder().id(1L).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Match> poll = CompletableFuture.supplyAsync(() ->
+            singleFlight.track(match, () -> {
+                started.countDown();
+                await(release);
+                runs.incrementAndGet();
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Match> push = CompletableFuture.supplyAsync(() ->
+            singleFlight.trackAfterInFlight(match, () -> {
+                // Runs strictly after the poll
+                assertEquals(2, runs.incrementAndGet());
+                return reloaded;
+            }));
+        while (meterRegistry.get("tracking.singleflight.calls").tag("result", "waited").counter().count() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(match, poll.get(5, TimeUnit.SECONDS));
+        assertSame(reloaded, push.get(5, TimeUnit.SECONDS));
+        assertEquals(2, runs.get());
+        assertEquals(0, coalescedCount());
+        assertFalse(singleFlight.isInFlight(1L));
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get("tracking.singleflight.calls").tag("result", "coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}